@@ -0,0 +1,141 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Realistic mixes of values as they are found in clinical data, i.e. mostly complete values in extended format,
+ * with a share of basic format, partial and zone-bearing values.
+ */
+final class Datasets {
+
+    static final int SIZE = 1024;
+
+    static final String[] DATES = {
+        "2023-08-18",
+        "2023-08-18",
+        "2023-08-18",
+        "1987-11-30",
+        "2024-02-29",
+        "20230818",
+        "19991231",
+        "2023-08",
+        "202308",
+        "2023",
+        "2023-08-18T+02:00",
+        "20230818T-0500",
+    };
+
+    /**
+     * e.g. from lab instruments, including the last day of leap years
+     */
+    static final String[] ORDINAL_DATES = {
+        "2023-230",
+        "2023230",
+        "2024-060",
+        "2024-366",
+        "2023-001T+02:00",
+    };
+
+    static final String[] INVALID_DATES = {
+        "2023-02-30",
+        "2023-13",
+        "2023-",
+        "20",
+        "abcd",
+        "2023/08/18",
+        "18.08.2023",
+        "99999",
+    };
+
+    static final String[] DATE_TIMES = {
+        "2023-07-28T16:22:34",
+        "2023-07-28T16:22:34",
+        "2023-07-28T16:22:34.123+02:00",
+        "2023-07-28T16:22:34.123456Z",
+        "2023-07-28T16:22:34,5−03:00",
+        "2023-07-28T16:22",
+        "2023-07-28T16",
+        "20230728T162234Z",
+        "20230728T1622+0530",
+        "2023-07-28",
+        "2023-07",
+        "2023-??-28",
+    };
+
+    static final String[] INVALID_DATE_TIMES = {
+        "2023-07-28T24:00",
+        "2023-07-28T16:23.4",
+        "2023-07-28 16:22:34",
+        "2023-07-28T16a22",
+        "2023-W30-3",
+        "2023-02-30T12:00",
+        "2023-07-28T16:22:34+06a00",
+        "2023-07-2816:22",
+    };
+
+    static final String[] TIMES = {
+        "14:37:23",
+        "14:37:23.508",
+        "14:37:23,508549+02:00",
+        "12:37:23Z",
+        "T14:37",
+        "14",
+        "143723.5+0200",
+        "T1237Z",
+    };
+
+    static final String[] INVALID_TIMES = {
+        "24:50",
+        "14a39r",
+        "14:3924",
+        "14a39a22",
+        "14:39:22+06a00",
+        "14.5.44",
+        "16,25:23:48,444",
+        "14:37:23+19:00",
+    };
+
+    static final String[] DURATIONS = {
+        "P3Y6M4DT12H30M5S",
+        "PT8H",
+        "PT8H",
+        "P1D",
+        "PT30M",
+        "PT42S",
+        "PT42,5S",
+        "PT0.25S",
+        "P12W",
+        "P12MT42M",
+    };
+
+    static final String[] TIMEZONES = {
+        "Z",
+        "+02:00",
+        "+02:00",
+        "+01:00",
+        "-05:00",
+        "+05:30",
+        "+0530",
+        "-0300",
+        "+14",
+        "−03:00",
+    };
+
+    private Datasets() {
+    }
+
+    /**
+     * @return the given values repeated to {@link #SIZE} entries in a random but reproducible order
+     */
+    static String[] mix(String[] values) {
+        List<String> result = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            result.add(values[i % values.length]);
+        }
+        Collections.shuffle(result, new Random(42));
+        return result.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,55 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateTimeArraysBenchmark {
+
+    private EhrDateTime[] values;
+
+    private long[] sortedKeys;
+
+    private EhrDateTime from;
+
+    @Setup
+    public void setUp() {
+        values = Arrays.stream(Datasets.mix(Datasets.DATE_TIMES)).map(EhrDateTime::new).toArray(EhrDateTime[]::new);
+        sortedKeys = DateTimeArrays.sortKeys(values);
+        Arrays.sort(sortedKeys);
+        from = new EhrDateTime("2023-07");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public int[] sortedOrder() {
+        return DateTimeArrays.sortedOrder(values);
+    }
+
+    /**
+     * Baseline for {@link #sortedOrder()}
+     */
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public EhrDateTime[] sortWithComparator() {
+        EhrDateTime[] result = values.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public int countInPeriod() {
+        return DateTimeArrays.upperBound(sortedKeys, from) - DateTimeArrays.lowerBound(sortedKeys, from);
+    }
+}
@@ -0,0 +1,131 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EhrDateBenchmark {
+
+    private String[] values;
+
+    private EhrDate[] dates;
+
+    private String[] ordinalValues;
+
+    /**
+     * The same values, with every fourth one made invalid like in a legacy feed
+     */
+    private String[] partlyInvalidValues;
+
+    @Setup
+    public void setUp() {
+        values = Datasets.mix(Datasets.DATES);
+        dates = Arrays.stream(values).map(EhrDate::new).toArray(EhrDate[]::new);
+        ordinalValues = Datasets.mix(Datasets.ORDINAL_DATES);
+        partlyInvalidValues = values.clone();
+        for (int i = 0; i < partlyInvalidValues.length; i += 4) {
+            partlyInvalidValues[i] = partlyInvalidValues[i].substring(0, 3) + "x";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void construct(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(new EhrDate(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void constructOrdinal(Blackhole blackhole) {
+        for (String value : ordinalValues) {
+            blackhole.consume(new EhrDate(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void constructPartlyInvalid(Blackhole blackhole) {
+        for (String value : partlyInvalidValues) {
+            try {
+                blackhole.consume(new EhrDate(value));
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void tryParsePartlyInvalid(Blackhole blackhole) {
+        for (String value : partlyInvalidValues) {
+            blackhole.consume(EhrDate.tryParse(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void accessors(Blackhole blackhole) {
+        for (EhrDate date : dates) {
+            blackhole.consume(date.year());
+            blackhole.consume(date.month());
+            blackhole.consume(date.day());
+            blackhole.consume(date.timezone());
+            blackhole.consume(date.monthUnknown());
+            blackhole.consume(date.dayUnknown());
+            blackhole.consume(date.isPartial());
+            blackhole.consume(date.isExtended());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void asString(Blackhole blackhole) {
+        for (EhrDate date : dates) {
+            blackhole.consume(date.asString());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void formatToBytes(Blackhole blackhole) {
+        byte[] bytes = new byte[Iso8601Formattable.MAX_LENGTH];
+        for (EhrDate date : dates) {
+            blackhole.consume(date.formatTo(bytes, 0));
+        }
+        blackhole.consume(bytes);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void compare(Blackhole blackhole) {
+        EhrDate previous = dates[dates.length - 1];
+        for (EhrDate date : dates) {
+            blackhole.consume(date.lessThan(previous));
+            previous = date;
+        }
+    }
+
+    /**
+     * Includes copying the array, so that every invocation sorts the same unsorted data
+     */
+    @Benchmark
+    public EhrDate[] sort() {
+        EhrDate[] result = dates.clone();
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EhrDateTimeBenchmark {
+
+    private String[] values;
+
+    private EhrDateTime[] dateTimes;
+
+    private ParseCache<EhrDateTime> cache;
+
+    @Setup
+    public void setUp() {
+        values = Datasets.mix(Datasets.DATE_TIMES);
+        cache = ParseCache.forDateTimes(Datasets.SIZE);
+        dateTimes = Arrays.stream(values).map(EhrDateTime::new).toArray(EhrDateTime[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void construct(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(new EhrDateTime(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void constructLazy(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(EhrDateTime.lazy(value));
+        }
+    }
+
+    /**
+     * Every value of the dataset repeats, so this measures the hits after the first invocation
+     */
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void constructCached(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(cache.get(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void accessors(Blackhole blackhole) {
+        for (EhrDateTime dateTime : dateTimes) {
+            blackhole.consume(dateTime.year());
+            blackhole.consume(dateTime.month());
+            blackhole.consume(dateTime.day());
+            blackhole.consume(dateTime.hour());
+            blackhole.consume(dateTime.minute());
+            blackhole.consume(dateTime.second());
+            blackhole.consume(dateTime.fractionalSecond());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void primitiveAccessors(Blackhole blackhole) {
+        for (EhrDateTime dateTime : dateTimes) {
+            blackhole.consume(dateTime.yearAsInt());
+            blackhole.consume(dateTime.monthAsInt());
+            blackhole.consume(dateTime.dayAsInt());
+            blackhole.consume(dateTime.hourAsInt());
+            blackhole.consume(dateTime.minuteAsInt());
+            blackhole.consume(dateTime.secondAsInt());
+            blackhole.consume(dateTime.nanoAsInt());
+        }
+    }
+
+    /**
+     * The accessors which are called on every value when normalizing data
+     */
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void partialAndTimezone(Blackhole blackhole) {
+        for (EhrDateTime dateTime : dateTimes) {
+            blackhole.consume(dateTime.isPartial());
+            blackhole.consume(dateTime.timezone());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void compare(Blackhole blackhole) {
+        EhrDateTime previous = dateTimes[dateTimes.length - 1];
+        for (EhrDateTime dateTime : dateTimes) {
+            blackhole.consume(dateTime.lessThan(previous));
+            previous = dateTime;
+        }
+    }
+
+    /**
+     * Includes copying the array, so that every invocation sorts the same unsorted data
+     */
+    @Benchmark
+    public EhrDateTime[] sort() {
+        EhrDateTime[] result = dateTimes.clone();
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EhrDateTimeColumnBenchmark {
+
+    private String[] values;
+
+    private EhrDateTimeColumn column;
+
+    private EhrDateTime from;
+
+    private EhrDateTime to;
+
+    @Setup
+    public void setUp() {
+        values = Datasets.mix(Datasets.DATE_TIMES);
+        column = add();
+        from = new EhrDateTime("2023-07-28T12:00Z");
+        to = new EhrDateTime("2023-07-28T18:00Z");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public EhrDateTimeColumn add() {
+        EhrDateTimeColumn result = new EhrDateTimeColumn(values.length);
+        for (String value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int indexOfMax() {
+        return column.indexOfMax();
+    }
+
+    @Benchmark
+    public int countInRange() {
+        return column.countInRange(from, to);
+    }
+
+    /**
+     * Includes adding the values, so that every invocation sorts the same unsorted data
+     */
+    @Benchmark
+    public EhrDateTimeColumn sort() {
+        EhrDateTimeColumn result = add();
+        result.sort();
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EhrDurationBenchmark {
+
+    private String[] values;
+
+    private EhrDuration[] durations;
+
+    @Setup
+    public void setUp() {
+        values = Datasets.mix(Datasets.DURATIONS);
+        durations = Arrays.stream(values).map(EhrDuration::new).toArray(EhrDuration[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void construct(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(new EhrDuration(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void accessors(Blackhole blackhole) {
+        for (EhrDuration duration : durations) {
+            blackhole.consume(duration.years());
+            blackhole.consume(duration.months());
+            blackhole.consume(duration.weeks());
+            blackhole.consume(duration.days());
+            blackhole.consume(duration.hours());
+            blackhole.consume(duration.minutes());
+            blackhole.consume(duration.seconds());
+            blackhole.consume(duration.fractionalSeconds());
+            blackhole.consume(duration.isDecimalSignComma());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EhrTimeBenchmark {
+
+    private String[] values;
+
+    private EhrTime[] times;
+
+    private final EhrDuration duration = new EhrDuration("PT1H30M");
+
+    @Setup
+    public void setUp() {
+        values = Datasets.mix(Datasets.TIMES);
+        times = Arrays.stream(values).map(EhrTime::new).toArray(EhrTime[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void construct(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(new EhrTime(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void asString(Blackhole blackhole) {
+        for (EhrTime time : times) {
+            blackhole.consume(time.asString());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void add(Blackhole blackhole) {
+        for (EhrTime time : times) {
+            blackhole.consume(time.add(duration));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void compare(Blackhole blackhole) {
+        EhrTime previous = times[times.length - 1];
+        for (EhrTime time : times) {
+            blackhole.consume(time.compareTo(previous));
+            previous = time;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EhrTimeDefinitionsBenchmark {
+
+    private final EhrTimeDefinitions timeDefinitions = new EhrTimeDefinitions();
+
+    private String[] validDates;
+
+    private String[] invalidDates;
+
+    private String[] validTimes;
+
+    private String[] invalidTimes;
+
+    private String[] validDateTimes;
+
+    private String[] invalidDateTimes;
+
+    private Integer[] years;
+
+    private Integer[] months;
+
+    private Integer[] days;
+
+    @Setup
+    public void setUp() {
+        validDates = Datasets.mix(new String[]{"2023-08-18", "20230818", "2023-08", "202308", "2023", "2023-230"});
+        invalidDates = Datasets.mix(Datasets.INVALID_DATES);
+        validTimes = Datasets.mix(Datasets.TIMES);
+        invalidTimes = Datasets.mix(Datasets.INVALID_TIMES);
+        validDateTimes = Datasets.mix(new String[]{
+            "2023-07-28T16:22:34", "2023-07-28T16:22:34.123+02:00", "20230728T162234Z", "2023-07-28T16:22", "2023-07-28",
+        });
+        invalidDateTimes = Datasets.mix(Datasets.INVALID_DATE_TIMES);
+        years = new Integer[Datasets.SIZE];
+        months = new Integer[Datasets.SIZE];
+        days = new Integer[Datasets.SIZE];
+        for (int i = 0; i < Datasets.SIZE; i++) {
+            // Mostly valid days, with the invalid ones at the ends of the months
+            years[i] = 1900 + i % 200;
+            months[i] = 1 + i % 12;
+            days[i] = 1 + i % 31;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void validDays(Blackhole blackhole) {
+        for (int i = 0; i < Datasets.SIZE; i++) {
+            blackhole.consume(timeDefinitions.validDay(years[i], months[i], days[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void validDates(Blackhole blackhole) {
+        for (String value : validDates) {
+            blackhole.consume(timeDefinitions.validIso8601Date(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void invalidDates(Blackhole blackhole) {
+        for (String value : invalidDates) {
+            blackhole.consume(timeDefinitions.validIso8601Date(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void validTimes(Blackhole blackhole) {
+        for (String value : validTimes) {
+            blackhole.consume(timeDefinitions.validIso8601Time(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void invalidTimes(Blackhole blackhole) {
+        for (String value : invalidTimes) {
+            blackhole.consume(timeDefinitions.validIso8601Time(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void validDateTimes(Blackhole blackhole) {
+        for (String value : validDateTimes) {
+            blackhole.consume(timeDefinitions.validIso8601DateTime(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void invalidDateTimes(Blackhole blackhole) {
+        for (String value : invalidDateTimes) {
+            blackhole.consume(timeDefinitions.validIso8601DateTime(value));
+        }
+    }
+}
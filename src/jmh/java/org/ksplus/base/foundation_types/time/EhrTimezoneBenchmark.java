@@ -0,0 +1,68 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EhrTimezoneBenchmark {
+
+    private String[] values;
+
+    private EhrTimezone[] timezones;
+
+    @Setup
+    public void setUp() {
+        values = Datasets.mix(Datasets.TIMEZONES);
+        timezones = Arrays.stream(values).map(EhrTimezone::new).toArray(EhrTimezone[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void construct(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(new EhrTimezone(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void accessors(Blackhole blackhole) {
+        for (EhrTimezone timezone : timezones) {
+            blackhole.consume(timezone.sign());
+            blackhole.consume(timezone.hour());
+            blackhole.consume(timezone.minute());
+            blackhole.consume(timezone.minuteUnknown());
+            blackhole.consume(timezone.isGmt());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void asString(Blackhole blackhole) {
+        for (EhrTimezone timezone : timezones) {
+            blackhole.consume(timezone.asString());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void compare(Blackhole blackhole) {
+        EhrTimezone previous = timezones[timezones.length - 1];
+        for (EhrTimezone timezone : timezones) {
+            blackhole.consume(timezone.lessThan(previous));
+            previous = timezone;
+        }
+    }
+}
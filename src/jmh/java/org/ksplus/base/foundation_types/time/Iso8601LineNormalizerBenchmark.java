@@ -0,0 +1,41 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Iso8601LineNormalizerBenchmark {
+
+    private byte[] lines;
+
+    private Iso8601LineNormalizer normalizer;
+
+    @Setup
+    public void setUp() {
+        lines = (String.join("\n", Datasets.mix(Datasets.DATE_TIMES)) + "\n").getBytes(StandardCharsets.UTF_8);
+        normalizer = Iso8601LineNormalizer.forDateTimes().withBufferSize(1 << 16);
+    }
+
+    /**
+     * Per line, including the allocation of the buffers, which is amortized over the lines of a large file
+     */
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public Iso8601LineNormalizer.Statistics normalize() throws IOException {
+        return normalizer.normalize(new ByteArrayInputStream(lines), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,68 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Overhead of the instrumentation on the construction of date/times, compared to {@link EhrDateTimeBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParseInstrumentationBenchmark {
+
+    @Param({"disabled", "counted", "timed"})
+    public String metrics;
+
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        values = Datasets.mix(Datasets.DATE_TIMES);
+        ParseStatistics statistics = new ParseStatistics();
+        ParseInstrumentation.setMetrics(switch (metrics) {
+            case "counted" -> new ParseMetrics() {
+                @Override
+                public void parsed(Type type, int length, long nanos) {
+                    statistics.parsed(type, length, nanos);
+                }
+
+                @Override
+                public void failed(Type type, int length, long nanos, RuntimeException exception) {
+                    statistics.failed(type, length, nanos, exception);
+                }
+
+                @Override
+                public boolean timed() {
+                    return false;
+                }
+            };
+            case "timed" -> statistics;
+            default -> null;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        ParseInstrumentation.setMetrics(null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Datasets.SIZE)
+    public void construct(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(new EhrDateTime(value));
+        }
+    }
+}
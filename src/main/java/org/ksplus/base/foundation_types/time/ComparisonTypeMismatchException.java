@@ -0,0 +1,8 @@
+package org.ksplus.base.foundation_types.time;
+
+class ComparisonTypeMismatchException extends RuntimeException {
+
+    ComparisonTypeMismatchException(String subject, Class<?> other) {
+        super("Cannot compare " + subject + " with object of type: " + other.getName());
+    }
+}
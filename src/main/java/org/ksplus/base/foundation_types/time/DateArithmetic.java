@@ -0,0 +1,53 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Calendar arithmetic on year, month and day fields and on the number of days since 1970-01-01, so that no
+ * <code>java.time</code> objects need to be created for a calculation. The results are packed in the layout of
+ * {@link PackedDateTime}.
+ */
+final class DateArithmetic {
+
+    private DateArithmetic() {
+    }
+
+    /**
+     * Adds months to a date. If the day does not exist in the resulting month, the last day of that month is used,
+     * e.g. 2023-01-31 plus one month is 2023-02-28.
+     *
+     * @param day the day of the month, or 0 if the day is unknown
+     * @throws ArithmeticException if the result is before year 0 or after year 9999
+     */
+    static long plusMonths(int year, int month, int day, long months) {
+        long totalMonths = Math.addExact(year * 12L + month - 1, months);
+        int resultYear = checkYear(Math.floorDiv(totalMonths, 12));
+        int resultMonth = Math.floorMod(totalMonths, 12) + 1;
+        int resultDay = Math.min(day, IsoCalendar.lengthOfMonth(resultYear, resultMonth));
+        return PackedDateTime.fields(resultYear, resultMonth, resultDay, 0, 0, 0, 0);
+    }
+
+    /**
+     * @throws ArithmeticException if the result is before year 0 or after year 9999
+     */
+    static long plusDays(int year, int month, int day, long days) {
+        return ofEpochDay(Math.addExact(IsoCalendar.epochDay(year, month, day), days));
+    }
+
+    /**
+     * Converts the number of days since 1970-01-01 into a date, see {@link IsoCalendar#ofEpochDay(long)}.
+     *
+     * @throws ArithmeticException if the result is before year 0 or after year 9999
+     */
+    static long ofEpochDay(long epochDay) {
+        if (epochDay < IsoCalendar.MIN_EPOCH_DAY || epochDay > IsoCalendar.MAX_EPOCH_DAY) {
+            throw new ArithmeticException("Resulting date is out of range: " + epochDay + " days since 1970-01-01");
+        }
+        return IsoCalendar.ofEpochDay(epochDay);
+    }
+
+    private static int checkYear(long year) {
+        if (year < IsoCalendar.MIN_YEAR || year > IsoCalendar.MAX_YEAR) {
+            throw new ArithmeticException("Resulting year is out of range: " + year);
+        }
+        return (int) year;
+    }
+}
@@ -0,0 +1,302 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+
+import org.openehr.base.foundation_types.time.Iso8601Date;
+import org.openehr.base.foundation_types.time.Iso8601DateTime;
+
+import lombok.NonNull;
+
+/**
+ * Sorting and binary search for large arrays of dates and date/times, which work on the chronological ordering keys
+ * (see {@link PackedDateTime#sortKey(long, long)}) instead of comparing the objects.
+ *
+ * <p>The keys of dates and date/times are comparable with each other, i.e. a date is ordered like a date/time which
+ * consists of the date part only. The keys have microsecond resolution. Sorting the values themselves also takes
+ * the remaining nanoseconds into account, so that the order is the same as the one of <code>compareTo</code>.</p>
+ *
+ * <p>The sorting is a radix sort of the indexes, which is stable and takes linear time, e.g. a few seconds for 50
+ * million values. Besides the result, it needs 24 bytes per value.</p>
+ */
+public final class DateTimeArrays {
+
+    private static final long MICROS_IN_SECOND = 1_000_000;
+
+    private static final long MICROS_IN_MINUTE = 60 * MICROS_IN_SECOND;
+
+    private static final long MICROS_IN_HOUR = 60 * MICROS_IN_MINUTE;
+
+    private static final long MICROS_IN_DAY = 24 * MICROS_IN_HOUR;
+
+    private DateTimeArrays() {
+    }
+
+    /**
+     * @throws ComparisonTypeMismatchException if the date/time is not an {@link EhrDateTime}, a lazy one or a view of
+     *     a column
+     */
+    public static long sortKey(@NonNull Iso8601DateTime dateTime) {
+        return packed(dateTime).sortKey();
+    }
+
+    /**
+     * @throws ComparisonTypeMismatchException if the date is not an {@link EhrDate}
+     */
+    public static long sortKey(@NonNull Iso8601Date date) {
+        return ehrDate(date).sortKey();
+    }
+
+    public static long[] sortKeys(@NonNull EhrDateTime[] values) {
+        long[] keys = new long[values.length];
+        Arrays.parallelSetAll(keys, i -> values[i].sortKey());
+        return keys;
+    }
+
+    public static long[] sortKeys(@NonNull EhrDate[] values) {
+        long[] keys = new long[values.length];
+        Arrays.parallelSetAll(keys, i -> values[i].sortKey());
+        return keys;
+    }
+
+    /**
+     * @return the indexes of the keys in ascending order of the keys, with equal keys in the order of their indexes
+     */
+    public static int[] sortedOrder(@NonNull long[] keys) {
+        return sortedOrder(keys, null, keys.length);
+    }
+
+    /**
+     * @return the indexes of the values in the order of {@link EhrDateTime#compareTo(EhrDateTime)}, with equal values
+     *     in the order of their indexes
+     */
+    public static int[] sortedOrder(@NonNull EhrDateTime[] values) {
+        long[] nanosAndOffsets = new long[values.length];
+        Arrays.parallelSetAll(nanosAndOffsets, i -> values[i].nanosAndOffset());
+        return sortedOrder(sortKeys(values), nanosAndOffsets, values.length);
+    }
+
+    /**
+     * @return the indexes of the values in the order of {@link EhrDate#compareTo(EhrDate)}, with equal values in the
+     *     order of their indexes
+     */
+    public static int[] sortedOrder(@NonNull EhrDate[] values) {
+        return sortedOrder(sortKeys(values), null, values.length);
+    }
+
+    /**
+     * Sorts the values chronologically, in the same order as {@link EhrDateTime#compareTo(EhrDateTime)}.
+     */
+    public static void sort(@NonNull EhrDateTime[] values) {
+        permute(values, sortedOrder(values));
+    }
+
+    /**
+     * Sorts the values chronologically, in the same order as {@link EhrDate#compareTo(EhrDate)}.
+     */
+    public static void sort(@NonNull EhrDate[] values) {
+        permute(values, sortedOrder(values));
+    }
+
+    private static <T> void permute(T[] values, int[] order) {
+        T[] copy = values.clone();
+        Arrays.parallelSetAll(values, i -> copy[order[i]]);
+    }
+
+    /**
+     * Radix sort of the indexes, starting with the least significant digit, i.e. the nanoseconds which are not
+     * covered by the sort keys, followed by the bytes of the sort keys. Each pass keeps the order of the previous
+     * ones. The keys are moved together with the indexes, so that every pass reads them sequentially.
+     *
+     * @param nanosAndOffsets <code>null</code> if only the keys are to be sorted, see {@link PackedDateTime}
+     */
+    static int[] sortedOrder(long[] keys, long[] nanosAndOffsets, int size) {
+        int[] order = new int[size];
+        int[] orderBuffer = new int[size];
+        long[] sortedKeys = new long[size];
+        long[] keyBuffer = new long[size];
+
+        // The counts do not depend on the order, so they are all taken in a single pass
+        int[] subMicroOffsets = new int[1000];
+        int[][] offsets = new int[Long.BYTES][256];
+        for (int i = 0; i < size; i++) {
+            // Flipping the sign bit, so that the bytes can be compared unsigned
+            long key = keys[i] ^ Long.MIN_VALUE;
+            sortedKeys[i] = key;
+            order[i] = i;
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                offsets[pass][(int) (key >>> pass * Byte.SIZE) & 0xFF]++;
+            }
+            if (nanosAndOffsets != null) {
+                subMicroOffsets[subMicroNanos(nanosAndOffsets[i])]++;
+            }
+        }
+
+        if (nanosAndOffsets != null && toOffsets(subMicroOffsets, size)) {
+            for (int i = 0; i < size; i++) {
+                int target = subMicroOffsets[subMicroNanos(nanosAndOffsets[i])]++;
+                keyBuffer[target] = sortedKeys[i];
+                orderBuffer[target] = i;
+            }
+            long[] keySwap = sortedKeys;
+            sortedKeys = keyBuffer;
+            keyBuffer = keySwap;
+            int[] swap = order;
+            order = orderBuffer;
+            orderBuffer = swap;
+        }
+
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            if (!toOffsets(offsets[pass], size)) {
+                continue;
+            }
+            scatter(sortedKeys, order, keyBuffer, orderBuffer, offsets[pass], pass * Byte.SIZE, size);
+            long[] keySwap = sortedKeys;
+            sortedKeys = keyBuffer;
+            keyBuffer = keySwap;
+            int[] swap = order;
+            order = orderBuffer;
+            orderBuffer = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Turns the counts of the digits into the offsets of their first values.
+     *
+     * @return false if all values have the same digit, so that the pass can be skipped, e.g. for the upper bytes
+     */
+    private static boolean toOffsets(int[] counts, int size) {
+        int offset = 0;
+        boolean distinct = true;
+        for (int digit = 0; digit < counts.length; digit++) {
+            int count = counts[digit];
+            distinct &= count != size;
+            counts[digit] = offset;
+            offset += count;
+        }
+        return distinct;
+    }
+
+    private static void scatter(long[] keys, int[] order, long[] keyTarget, int[] orderTarget, int[] offsets, int shift,
+        int size) {
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            int target = offsets[(int) (key >>> shift) & 0xFF]++;
+            keyTarget[target] = key;
+            orderTarget[target] = order[i];
+        }
+    }
+
+    private static int subMicroNanos(long nanosAndOffset) {
+        return PackedDateTime.nano(nanosAndOffset) % 1000;
+    }
+
+    /**
+     * @return the index of the first key which is not less than the given one, or the length if there is none
+     */
+    public static int lowerBound(@NonNull long[] sortedKeys, long key) {
+        return lowerBound(sortedKeys, 0, sortedKeys.length, key);
+    }
+
+    /**
+     * Same as {@link #lowerBound(long[], long)} within the range from the first, inclusive, to the second, exclusive,
+     * index
+     */
+    public static int lowerBound(@NonNull long[] sortedKeys, int fromIndex, int toIndex, long key) {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedKeys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the first key which is greater than the given one, or the length if there is none
+     */
+    public static int upperBound(@NonNull long[] sortedKeys, long key) {
+        return upperBound(sortedKeys, 0, sortedKeys.length, key);
+    }
+
+    /**
+     * Same as {@link #upperBound(long[], long)} within the range from the first, inclusive, to the second, exclusive,
+     * index
+     */
+    public static int upperBound(@NonNull long[] sortedKeys, int fromIndex, int toIndex, long key) {
+        return key == Long.MAX_VALUE ? toIndex : lowerBound(sortedKeys, fromIndex, toIndex, key + 1);
+    }
+
+    /**
+     * @return the index of the first value which is not before the start of the period denoted by the date/time, e.g.
+     *     the first value from <code>2023-07-01</code> on for <code>2023-07</code>
+     */
+    public static int lowerBound(@NonNull long[] sortedKeys, @NonNull Iso8601DateTime dateTime) {
+        return lowerBound(sortedKeys, sortKey(dateTime));
+    }
+
+    /**
+     * @return the index of the first value which is after the period denoted by the date/time, e.g. the first value
+     *     from <code>2023-08-01</code> on for <code>2023-07</code>. The values from the lower bound to the upper
+     *     bound are the ones within the period, including the more precise ones.
+     */
+    public static int upperBound(@NonNull long[] sortedKeys, @NonNull Iso8601DateTime dateTime) {
+        PackedIso8601DateTime packed = packed(dateTime);
+        return lowerBound(sortedKeys, periodEndKey(packed.fields(), packed.sortKey()));
+    }
+
+    /**
+     * @see #lowerBound(long[], Iso8601DateTime)
+     */
+    public static int lowerBound(@NonNull long[] sortedKeys, @NonNull Iso8601Date date) {
+        return lowerBound(sortedKeys, sortKey(date));
+    }
+
+    /**
+     * @see #upperBound(long[], Iso8601DateTime)
+     */
+    public static int upperBound(@NonNull long[] sortedKeys, @NonNull Iso8601Date date) {
+        EhrDate ehrDate = ehrDate(date);
+        return lowerBound(sortedKeys, periodEndKey(ehrDate.packedFields(), ehrDate.sortKey()));
+    }
+
+    /**
+     * @return the lowest key after the period which is denoted by the fields, i.e. the key of a partial year at the
+     *     start of the next year
+     */
+    static long periodEndKey(long fields, long sortKey) {
+        int year = PackedDateTime.year(fields);
+        int month = PackedDateTime.month(fields);
+        long start = sortKey >> 3;
+        long end = switch (PackedDateTime.precision(fields)) {
+            case PackedDateTime.PRECISION_YEAR -> IsoCalendar.epochDay(year + 1, 1, 1) * MICROS_IN_DAY;
+            case PackedDateTime.PRECISION_MONTH -> month == 12
+                ? IsoCalendar.epochDay(year + 1, 1, 1) * MICROS_IN_DAY
+                : IsoCalendar.epochDay(year, month + 1, 1) * MICROS_IN_DAY;
+            case PackedDateTime.PRECISION_DAY -> start + MICROS_IN_DAY;
+            case PackedDateTime.PRECISION_HOUR -> start + MICROS_IN_HOUR;
+            case PackedDateTime.PRECISION_MINUTE -> start + MICROS_IN_MINUTE;
+            // A fraction denotes an instant, as far as the resolution of the keys goes
+            default -> start + (PackedDateTime.has(fields, PackedDateTime.FRACTIONAL_SECOND) ? 1 : MICROS_IN_SECOND);
+        };
+        return end << 3;
+    }
+
+    private static PackedIso8601DateTime packed(Iso8601DateTime dateTime) {
+        if (dateTime instanceof PackedIso8601DateTime packed) {
+            return packed;
+        }
+        throw new ComparisonTypeMismatchException("date/time", dateTime.getClass());
+    }
+
+    private static EhrDate ehrDate(Iso8601Date date) {
+        if (date instanceof EhrDate ehrDate) {
+            return ehrDate;
+        }
+        throw new ComparisonTypeMismatchException("date", date.getClass());
+    }
+}
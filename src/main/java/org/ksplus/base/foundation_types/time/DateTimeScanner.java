@@ -0,0 +1,415 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.ksplus.base.foundation_types.time.PackedDateTime.DAY_KNOWN;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.DECIMAL_SIGN_COMMA;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.EXTENDED;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.FRACTIONAL_SECOND;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.HOUR_KNOWN;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.MINUTE_KNOWN;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.MONTH_KNOWN;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.ORDINAL_DATE;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.SECOND_KNOWN;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.TIME;
+import static org.ksplus.base.foundation_types.time.PackedDateTime.TIMEZONE;
+
+/**
+ * Single-pass scanner for the ISO 8601 date/time representations supported by openEHR.
+ *
+ * <p>The scanner reads the characters in place, so it neither creates substrings nor boxed numbers. After a
+ * successful scan the result can be read from the public fields or in the layout of {@link PackedDateTime}.</p>
+ */
+final class DateTimeScanner {
+
+    private static final char MINUS = '−';
+
+    private static final int MAX_OFFSET_MINUTES = 18 * 60;
+
+    /**
+     * Marker for a two-digit field which is given as <code>??</code>
+     */
+    private static final int UNKNOWN = -2;
+
+    private static final int INVALID = -1;
+
+    private CharSequence text;
+
+    private int end;
+
+    private int pos;
+
+    private boolean unknownAllowed;
+
+    int year;
+
+    int month;
+
+    int day;
+
+    int hour;
+
+    int minute;
+
+    int second;
+
+    int nano;
+
+    int offsetMinutes;
+
+    int timezoneFormat;
+
+    long flags;
+
+    /**
+     * Position of the first character which could not be scanned, or -1 if the scan was successful
+     */
+    int errorIndex;
+
+    /**
+     * Reason why the scan failed, or <code>null</code> if it was successful
+     */
+    ParseError error;
+
+    /**
+     * Scans <code>YYYY[-MM[-DD]][Thh[:mm[:ss[.sss]]][Z|±hh[:mm]]]</code> in extended or basic format, where any
+     * two-digit field may also be given as <code>??</code>. The date may also be an ordinal date, i.e.
+     * <code>YYYY[-]DDD</code>, which is converted into the month and day.
+     */
+    boolean scanDateTime(CharSequence text, int start, int end) {
+        reset(text, start, end);
+        if (!scanDate()) {
+            return false;
+        }
+        if (pos < end) {
+            if (text.charAt(pos) != 'T') {
+                return fail();
+            }
+            pos++;
+            if (!scanTime()) {
+                return false;
+            }
+        }
+        return pos == end || fail();
+    }
+
+    /**
+     * Scans <code>[T]hh[:mm[:ss[.sss]]][Z|±hh[:mm]]</code> in extended or basic format.
+     *
+     * @param unknownAllowed whether the two-digit fields may also be given as <code>??</code>
+     */
+    boolean scanTime(CharSequence text, int start, int end, boolean unknownAllowed) {
+        reset(text, start, end);
+        if (pos < end && text.charAt(pos) == 'T') {
+            pos++;
+        }
+        this.unknownAllowed = unknownAllowed;
+        if (!scanTime()) {
+            return false;
+        }
+        return pos == end || fail();
+    }
+
+    /**
+     * Scans <code>Z|±hh[[:]mm]</code>, which may not be empty.
+     */
+    boolean scanTimezone(CharSequence text, int start, int end) {
+        reset(text, start, end);
+        if (pos == end) {
+            return fail();
+        }
+        if (!scanTimezone()) {
+            return false;
+        }
+        return pos == end || fail();
+    }
+
+    long packedFields() {
+        return PackedDateTime.fields(year, month, day, hour, minute, second,
+            flags | PackedDateTime.timezoneFormatFlags(timezoneFormat));
+    }
+
+    long packedNanosAndOffset() {
+        return PackedDateTime.nanosAndOffset(nano, offsetMinutes);
+    }
+
+    private void reset(CharSequence text, int start, int end) {
+        this.text = text;
+        this.end = end;
+        this.pos = start;
+        unknownAllowed = true;
+        year = 0;
+        month = 0;
+        day = 0;
+        hour = 0;
+        minute = 0;
+        second = 0;
+        nano = 0;
+        offsetMinutes = 0;
+        timezoneFormat = 0;
+        flags = 0;
+        errorIndex = -1;
+        error = null;
+    }
+
+    private boolean scanDate() {
+        year = digits(4);
+        if (year < 0) {
+            return fail();
+        }
+        if (pos == end || text.charAt(pos) == 'T') {
+            return true;
+        }
+
+        boolean extended = text.charAt(pos) == '-';
+        if (extended) {
+            flags |= EXTENDED;
+            pos++;
+        }
+        if (digitsAhead() == 3) {
+            return scanDayOfYear();
+        }
+        month = twoDigitsOrUnknown();
+        if (month == INVALID) {
+            return fail();
+        }
+        if (month != UNKNOWN) {
+            if (month < 1 || month > 12) {
+                return outOfRange(pos - 2);
+            }
+            flags |= MONTH_KNOWN;
+        } else {
+            month = 0;
+        }
+        if (pos == end || text.charAt(pos) == 'T') {
+            return true;
+        }
+
+        if (extended) {
+            if (text.charAt(pos) != '-') {
+                return fail();
+            }
+            pos++;
+        }
+        day = twoDigitsOrUnknown();
+        if (day == INVALID) {
+            return fail();
+        }
+        if (day != UNKNOWN) {
+            int maxDay = month != 0 ? IsoCalendar.lengthOfMonth(year, month) : 31;
+            if (day < 1 || day > maxDay) {
+                return outOfRange(pos - 2);
+            }
+            flags |= DAY_KNOWN;
+        } else {
+            day = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Scans the day of an ordinal date, e.g. <code>2023-210</code>, and converts it into the month and day.
+     */
+    private boolean scanDayOfYear() {
+        int dayOfYear = digits(3);
+        if (dayOfYear < 1 || dayOfYear > IsoCalendar.lengthOfYear(year)) {
+            return outOfRange(pos - 3);
+        }
+        long date = IsoCalendar.ofDayOfYear(year, dayOfYear);
+        month = PackedDateTime.month(date);
+        day = PackedDateTime.day(date);
+        flags |= MONTH_KNOWN | DAY_KNOWN | ORDINAL_DATE;
+        return true;
+    }
+
+    private boolean scanTime() {
+        flags |= TIME;
+        hour = twoDigitsOrUnknown();
+        if (hour == INVALID) {
+            return fail();
+        }
+        if (hour != UNKNOWN) {
+            if (hour > 23) {
+                return outOfRange(pos - 2);
+            }
+            flags |= HOUR_KNOWN;
+        } else {
+            hour = 0;
+        }
+        if (pos == end || isTimezoneStart(text.charAt(pos))) {
+            return scanTimezone();
+        }
+
+        boolean extended = text.charAt(pos) == ':';
+        if (extended) {
+            flags |= EXTENDED;
+            pos++;
+        }
+        minute = twoDigitsOrUnknown();
+        if (minute == INVALID) {
+            return fail();
+        }
+        if (minute != UNKNOWN) {
+            if (minute > 59) {
+                return outOfRange(pos - 2);
+            }
+            flags |= MINUTE_KNOWN;
+        } else {
+            minute = 0;
+        }
+        if (pos == end || isTimezoneStart(text.charAt(pos))) {
+            return scanTimezone();
+        }
+
+        if (extended) {
+            if (text.charAt(pos) != ':') {
+                return fail();
+            }
+            pos++;
+        }
+        second = twoDigitsOrUnknown();
+        if (second == INVALID) {
+            return fail();
+        }
+        if (second != UNKNOWN) {
+            if (second > 59) {
+                return outOfRange(pos - 2);
+            }
+            flags |= SECOND_KNOWN;
+        } else {
+            second = 0;
+        }
+        if (pos == end) {
+            return true;
+        }
+
+        char c = text.charAt(pos);
+        if ((c == '.' || c == ',') && (flags & SECOND_KNOWN) != 0) {
+            if (c == ',') {
+                flags |= DECIMAL_SIGN_COMMA;
+            }
+            flags |= FRACTIONAL_SECOND;
+            pos++;
+            int start = pos;
+            int scale = 100_000_000;
+            while (pos < end && (c = text.charAt(pos)) >= '0' && c <= '9') {
+                nano += (c - '0') * scale;
+                scale /= 10;
+                pos++;
+            }
+            if (pos == start) {
+                return fail();
+            }
+        }
+        return scanTimezone();
+    }
+
+    private boolean scanTimezone() {
+        if (pos == end) {
+            return true;
+        }
+        flags |= TIMEZONE;
+        int sign;
+        switch (text.charAt(pos)) {
+            case 'Z' -> {
+                pos++;
+                timezoneFormat = PackedDateTime.TIMEZONE_UTC;
+                return true;
+            }
+            case '+' -> sign = 1;
+            case '-', MINUS -> sign = -1;
+            default -> {
+                return fail();
+            }
+        }
+        pos++;
+        int hours = digits(2);
+        int minutes = 0;
+        if (hours < 0) {
+            return fail();
+        }
+        if (hours * 60 > MAX_OFFSET_MINUTES) {
+            return outOfRange(pos - 2);
+        }
+        if (pos == end) {
+            timezoneFormat = PackedDateTime.TIMEZONE_HOURS;
+        } else {
+            if (text.charAt(pos) == ':') {
+                timezoneFormat = PackedDateTime.TIMEZONE_EXTENDED;
+                pos++;
+            } else {
+                timezoneFormat = PackedDateTime.TIMEZONE_BASIC;
+            }
+            minutes = digits(2);
+            if (minutes < 0) {
+                return fail();
+            }
+        }
+        int offset = hours * 60 + minutes;
+        // A negative sign is not allowed with zero offset, see EhrTimezone
+        if (minutes > 59 || offset > MAX_OFFSET_MINUTES || (sign < 0 && offset == 0)) {
+            return outOfRange(pos - 2);
+        }
+        offsetMinutes = sign * offset;
+        return true;
+    }
+
+    private static boolean isTimezoneStart(char c) {
+        return c == 'Z' || c == '+' || c == '-' || c == MINUS;
+    }
+
+    /**
+     * @return the value of the next two digits, {@link #UNKNOWN} for <code>??</code>, or {@link #INVALID}
+     */
+    private int twoDigitsOrUnknown() {
+        if (unknownAllowed && pos + 2 <= end && text.charAt(pos) == '?' && text.charAt(pos + 1) == '?') {
+            pos += 2;
+            return UNKNOWN;
+        }
+        return digits(2);
+    }
+
+    /**
+     * @return the number of digits which follow, counted up to four, which tells an ordinal date from a calendar date
+     */
+    private int digitsAhead() {
+        int count = 0;
+        char c;
+        while (count < 4 && pos + count < end && (c = text.charAt(pos + count)) >= '0' && c <= '9') {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the value of the next digits, or {@link #INVALID} if there are not enough digits
+     */
+    private int digits(int count) {
+        if (pos + count > end) {
+            return INVALID;
+        }
+        int result = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = text.charAt(pos + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            result = result * 10 + digit;
+        }
+        pos += count;
+        return result;
+    }
+
+    private boolean fail() {
+        errorIndex = pos;
+        error = ParseError.INVALID_FORMAT;
+        return false;
+    }
+
+    /**
+     * @param index the start of the field which is out of range
+     */
+    private boolean outOfRange(int index) {
+        errorIndex = index;
+        error = ParseError.OUT_OF_RANGE;
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package org.ksplus.base.foundation_types.time;
+
+class DurationFormatException extends IllegalArgumentException {
+
+    DurationFormatException(String value) {
+        super("Value does not look like a valid duration: " + value);
+    }
+}
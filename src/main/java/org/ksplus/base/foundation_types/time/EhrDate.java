@@ -1,8 +1,6 @@
 package org.ksplus.base.foundation_types.time;
 
-import java.time.DateTimeException;
-import java.time.LocalDate;
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
 
 import org.openehr.base.foundation_types.time.Iso8601Date;
 import org.openehr.base.foundation_types.time.Iso8601Duration;
@@ -11,7 +9,7 @@ import org.openehr.base.foundation_types.time.Iso8601Timezone;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-public class EhrDate implements Iso8601Date {
+public class EhrDate implements Iso8601Date, PrimitiveDateAccess, Iso8601Formattable, Comparable<EhrDate> {
 
     /**
      * e.g. 2003-02-20
@@ -38,96 +36,331 @@ public class EhrDate implements Iso8601Date {
      */
     private static final int YYYY_MM = 6;
 
-    @Nonnull
-    private final String value;
+    /**
+     * Ordinal date, e.g. 2003-051
+     */
+    private static final int YYYY_DASH_DDD = 8;
 
-    @Nonnull
-    private final Integer year;
+    /**
+     * Ordinal date, e.g. 2003051
+     */
+    private static final int YYYY_DDD = 7;
 
-    @Nullable
-    private final Integer month;
+    private static final long SECONDS_IN_DAY = 86_400;
 
-    @Nullable
-    private final Integer day;
+    private static final ParseError[] PARSE_ERRORS = ParseError.values();
+
+    /**
+     * Created on first access for the results of the arithmetic
+     */
+    private String value;
+
+    private final int year;
+
+    /**
+     * 0 if the month is unknown
+     */
+    private final int month;
+
+    /**
+     * 0 if the day is unknown
+     */
+    private final int day;
 
     @Nullable
     private final Iso8601Timezone timezone;
 
+    private final boolean extended;
+
+    /**
+     * Whether the date is declared by the day of the year, from which the month and day have been converted
+     */
+    private final boolean ordinal;
+
+    /**
+     * Chronological ordering key, see {@link PackedDateTime#sortKey(long, long)}
+     */
+    private final long sortKey;
+
     public EhrDate(@Nonnull String value) {
-        this.value = value;
+        this((CharSequence) value);
+    }
 
-        var parts = value.split("T");
-        var datePart = parts[0];
-        if (parts.length == 2) {
-            var timezonePart = parts[1];
-            timezone = new EhrTimezone(timezonePart);
-        } else {
-            timezone = null;
+    /**
+     * Parses a date from UTF-8 encoded bytes without decoding them into an intermediate string, e.g. when reading
+     * files. Only the value returned by {@link #getValue()} is copied out of the bytes.
+     *
+     * @throws IllegalArgumentException if the bytes do not contain a valid date
+     */
+    public static EhrDate parse(@Nonnull byte[] bytes, int offset, int length) {
+        return new EhrDate(Utf8Text.of(bytes, offset, length));
+    }
+
+    /**
+     * Same as {@link #parse(byte[], int, int)} for the bytes between the position and the limit of the buffer. The
+     * position of the buffer is not changed.
+     */
+    public static EhrDate parse(@Nonnull ByteBuffer buffer) {
+        return new EhrDate(Utf8Text.of(buffer));
+    }
+
+    private EhrDate(CharSequence value) {
+        long start = ParseInstrumentation.start();
+        try {
+            int timezoneSeparator = indexOf(value, 'T');
+            int dateLength;
+            if (timezoneSeparator >= 0) {
+                timezone = EhrTimezone.of(value, timezoneSeparator + 1, value.length());
+                dateLength = timezoneSeparator;
+            } else {
+                timezone = null;
+                dateLength = value.length();
+            }
+
+            long fields = scanDate(value, dateLength);
+            if (fields < 0) {
+                throw new DateFormatException(value.toString());
+            }
+            this.value = value.toString();
+            this.year = PackedDateTime.year(fields);
+            this.month = PackedDateTime.month(fields);
+            this.day = PackedDateTime.day(fields);
+            this.extended = PackedDateTime.has(fields, PackedDateTime.EXTENDED);
+            this.ordinal = PackedDateTime.has(fields, PackedDateTime.ORDINAL_DATE);
+            this.sortKey = sortKey(year, month, day);
+        } catch (IllegalArgumentException e) {
+            ParseInstrumentation.failed(ParseMetrics.Type.DATE, value.length(), start, e);
+            throw e;
         }
+        ParseInstrumentation.parsed(ParseMetrics.Type.DATE, value.length(), start,
+            ParseInstrumentation.format(extended));
+    }
+
+    /**
+     * Same as {@link #EhrDate(String)}, but reports an invalid value by the result instead of an exception, which is
+     * cheaper for inputs in which invalid values are common. The values are not reported to
+     * {@link ParseInstrumentation}.
+     */
+    public static ParseResult<EhrDate> tryParse(@Nonnull String value) {
+        int timezoneSeparator = value.indexOf('T');
+        int dateLength = value.length();
+        Iso8601Timezone timezone = null;
+        if (timezoneSeparator >= 0) {
+            ParseResult<EhrTimezone> result = EhrTimezone.tryParse(value, timezoneSeparator + 1, value.length());
+            if (!result.isValid()) {
+                return ParseResult.invalid(result.error(), result.errorIndex(), value);
+            }
+            timezone = result.value();
+            dateLength = timezoneSeparator;
+        }
+        long fields = scanDate(value, dateLength);
+        if (fields < 0) {
+            return ParseResult.invalid(error(fields), errorIndex(fields), value);
+        }
+        EhrDate date = new EhrDate(PackedDateTime.year(fields), PackedDateTime.month(fields),
+            PackedDateTime.day(fields), timezone, PackedDateTime.has(fields, PackedDateTime.EXTENDED),
+            PackedDateTime.has(fields, PackedDateTime.ORDINAL_DATE));
+        date.value = value;
+        return ParseResult.valid(date);
+    }
 
-        switch (datePart.length()) {
+    /**
+     * Scans the date part in place, so that no intermediate strings or boxed numbers are created.
+     *
+     * @return the date in the layout of {@link PackedDateTime}, without timezone, or a negative value which encodes
+     *     the error, see {@link #error(long)} and {@link #errorIndex(long)}
+     */
+    private static long scanDate(CharSequence value, int dateLength) {
+        int year = fourDigits(value, 0);
+        if (year < 0) {
+            return error(ParseError.INVALID_FORMAT, 0);
+        }
+        int month;
+        int day;
+        int monthIndex;
+        int dayIndex;
+        boolean dash = dateLength > YYYY && value.charAt(4) == '-';
+        if (dateLength == YYYY_DASH_DDD && dash || dateLength == YYYY_DDD && !dash) {
+            return scanDayOfYear(value, year, dash);
+        }
+        long flags = PackedDateTime.MONTH_KNOWN;
+        switch (dateLength) {
             case YYYY -> {
-                if (!Pattern.matches("\\d{4}", datePart)) {
-                    throw new DateFormatException(value);
-                }
-                // TODO Use regex match groups
-                this.year = Integer.valueOf(datePart);
-                this.month = null;
-                this.day = null;
+                return PackedDateTime.fields(year, 0, 0, 0, 0, 0, 0);
             }
             // Extended format
-            case YYYY_DASH_MM_DASH_DD -> {
-                if (!Pattern.matches("\\d{4}-\\d{2}-\\d{2}", datePart)) {
-                    throw new DateFormatException(value);
+            case YYYY_DASH_MM_DASH_DD, YYYY_DASH_MM -> {
+                if (value.charAt(4) != '-') {
+                    return error(ParseError.INVALID_FORMAT, 4);
                 }
-                // TODO Use regex match groups
-                this.year = Integer.valueOf(datePart.substring(0, 4));
-                this.month = Integer.valueOf(datePart.substring(5, 7));
-                this.day = Integer.valueOf(datePart.substring(8));
-            }
-            case YYYY_DASH_MM -> {
-                if (!Pattern.matches("\\d{4}-\\d{2}", datePart)) {
-                    throw new DateFormatException(value);
+                if (dateLength == YYYY_DASH_MM_DASH_DD && value.charAt(7) != '-') {
+                    return error(ParseError.INVALID_FORMAT, 7);
                 }
-                // TODO Use regex match groups
-                this.year = Integer.valueOf(datePart.substring(0, 4));
-                this.month = Integer.valueOf(datePart.substring(5, 7));
-                this.day = null;
+                monthIndex = 5;
+                dayIndex = 8;
+                flags |= PackedDateTime.EXTENDED;
             }
             // Basic format
-            case YYYY_MM_DD -> {
-                if (!Pattern.matches("\\d{8}", datePart)) {
-                    throw new DateFormatException(value);
-                }
-                // TODO Use regex match groups
-                this.year = Integer.valueOf(datePart.substring(0, 4));
-                this.month = Integer.valueOf(datePart.substring(4, 6));
-                this.day = Integer.valueOf(datePart.substring(6));
+            case YYYY_MM_DD, YYYY_MM -> {
+                monthIndex = 4;
+                dayIndex = 6;
             }
-            case YYYY_MM -> {
-                if (!Pattern.matches("\\d{6}", datePart)) {
-                    throw new DateFormatException(value);
-                }
-                // TODO Use regex match groups
-                this.year = Integer.valueOf(datePart.substring(0, 4));
-                this.month = Integer.valueOf(datePart.substring(4, 6));
-                this.day = null;
+            // Invalid format, where the value ends too early or goes on too long
+            default -> {
+                return error(ParseError.INVALID_FORMAT, Math.min(dateLength, YYYY_DASH_MM_DASH_DD));
+            }
+        }
+        month = twoDigits(value, monthIndex);
+        if (month < 0) {
+            return error(ParseError.INVALID_FORMAT, monthIndex);
+        }
+        if (dateLength == YYYY_DASH_MM_DASH_DD || dateLength == YYYY_MM_DD) {
+            day = twoDigits(value, dayIndex);
+            if (day < 0) {
+                return error(ParseError.INVALID_FORMAT, dayIndex);
             }
-            // Invalid format
-            default -> throw new DateFormatException(value);
+            flags |= PackedDateTime.DAY_KNOWN;
+        } else {
+            day = 0;
         }
 
-        // Instantiating `LocalDate` to leverage the date validation of the JDK
-        try {
-            //noinspection ResultOfMethodCallIgnored
-            LocalDate.of(
-                year,
-                month != null ? month : 1,
-                day != null ? day : 1
-            );
-        } catch (DateTimeException e) {
-            throw new DateFormatException(value, e);
+        // Validating the calendar date with plain arithmetic instead of instantiating a `LocalDate`
+        if (month < 1 || month > MONTHS_IN_YEAR) {
+            return error(ParseError.OUT_OF_RANGE, monthIndex);
+        }
+        if (day != 0 && day > IsoCalendar.lengthOfMonth(year, month)
+            || day == 0 && (flags & PackedDateTime.DAY_KNOWN) != 0) {
+            return error(ParseError.OUT_OF_RANGE, dayIndex);
+        }
+        return PackedDateTime.fields(year, month, day, 0, 0, 0, flags);
+    }
+
+    /**
+     * Converts an ordinal date directly into the month and day, see {@link #scanDate(CharSequence, int)}
+     */
+    private static long scanDayOfYear(CharSequence value, int year, boolean extended) {
+        int index = extended ? 5 : 4;
+        int hundreds = value.charAt(index) - '0';
+        int rest = twoDigits(value, index + 1);
+        if (hundreds < 0 || hundreds > 9 || rest < 0) {
+            return error(ParseError.INVALID_FORMAT, index);
+        }
+        int dayOfYear = hundreds * 100 + rest;
+        if (dayOfYear < 1 || dayOfYear > IsoCalendar.lengthOfYear(year)) {
+            return error(ParseError.OUT_OF_RANGE, index);
+        }
+        long flags = PackedDateTime.MONTH_KNOWN | PackedDateTime.DAY_KNOWN | PackedDateTime.ORDINAL_DATE
+            | (extended ? PackedDateTime.EXTENDED : 0);
+        return IsoCalendar.ofDayOfYear(year, dayOfYear) | flags;
+    }
+
+    private static long error(ParseError error, int errorIndex) {
+        return ~((long) errorIndex << 2 | error.ordinal());
+    }
+
+    private static ParseError error(long scanResult) {
+        return PARSE_ERRORS[(int) (~scanResult & 3)];
+    }
+
+    private static int errorIndex(long scanResult) {
+        return (int) (~scanResult >>> 2);
+    }
+
+    /**
+     * Creates the result of an arithmetic operation
+     *
+     * @param month 0 if the month is unknown
+     * @param day 0 if the day is unknown
+     */
+    private EhrDate(int year, int month, int day, @Nullable Iso8601Timezone timezone, boolean extended,
+        boolean ordinal) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+        this.timezone = timezone;
+        this.extended = extended;
+        this.ordinal = ordinal;
+        this.sortKey = sortKey(year, month, day);
+    }
+
+    /**
+     * Creates a date from the layout of {@link PackedDateTime}, e.g. when reading it from a {@link EhrDateStore}
+     *
+     * @param offsetMinutes the timezone offset, which is ignored unless the <code>TIMEZONE</code> flag is set
+     */
+    static EhrDate of(long fields, int offsetMinutes) {
+        Iso8601Timezone timezone = PackedDateTime.has(fields, PackedDateTime.TIMEZONE)
+            ? EhrTimezone.of(offsetMinutes, PackedDateTime.timezoneFormat(fields))
+            : null;
+        return new EhrDate(PackedDateTime.year(fields), PackedDateTime.month(fields), PackedDateTime.day(fields),
+            timezone, PackedDateTime.has(fields, PackedDateTime.EXTENDED),
+            PackedDateTime.has(fields, PackedDateTime.ORDINAL_DATE));
+    }
+
+    /**
+     * @return the date in the layout of {@link PackedDateTime}, without the timezone offset
+     */
+    long packedFields() {
+        long flags = (month != 0 ? PackedDateTime.MONTH_KNOWN : 0)
+            | (day != 0 ? PackedDateTime.DAY_KNOWN : 0)
+            | (extended ? PackedDateTime.EXTENDED : 0)
+            | (ordinal ? PackedDateTime.ORDINAL_DATE : 0);
+        if (timezone != null) {
+            flags |= PackedDateTime.TIMEZONE | PackedDateTime.timezoneFormatFlags(EhrTimezone.timezoneFormat(timezone));
+        }
+        return PackedDateTime.fields(year, month, day, 0, 0, 0, flags);
+    }
+
+    /**
+     * @return the timezone offset in minutes, or 0 if there is no timezone
+     */
+    int offsetMinutes() {
+        return timezone != null ? EhrTimezone.offsetMinutes(timezone) : 0;
+    }
+
+    /**
+     * @return the chronological ordering key, see {@link PackedDateTime#sortKey(long, long)}
+     */
+    long sortKey() {
+        return sortKey;
+    }
+
+    private static long sortKey(int year, int month, int day) {
+        long flags = (month != 0 ? PackedDateTime.MONTH_KNOWN : 0) | (day != 0 ? PackedDateTime.DAY_KNOWN : 0);
+        return PackedDateTime.sortKey(PackedDateTime.fields(year, month, day, 0, 0, 0, flags), 0);
+    }
+
+    private static int indexOf(CharSequence value, char c) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the value of the four digits starting at the given index, or -1 if there is anything else than a digit
+     */
+    private static int fourDigits(CharSequence value, int index) {
+        if (value.length() < index + 4) {
+            return -1;
+        }
+        int high = twoDigits(value, index);
+        int low = twoDigits(value, index + 2);
+        return high < 0 || low < 0 ? -1 : high * 100 + low;
+    }
+
+    /**
+     * @return the value of the two digits starting at the given index, or -1 if there is anything else than a digit
+     */
+    private static int twoDigits(CharSequence value, int index) {
+        int tens = value.charAt(index) - '0';
+        int ones = value.charAt(index + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
         }
+        return tens * 10 + ones;
     }
 
     @Override
@@ -137,12 +370,27 @@ public class EhrDate implements Iso8601Date {
 
     @Override
     public Integer month() {
-        return month != null ? month : 0;
+        return month;
     }
 
     @Override
     public Integer day() {
-        return day != null ? day : 0;
+        return day;
+    }
+
+    @Override
+    public int yearAsInt() {
+        return year;
+    }
+
+    @Override
+    public int monthAsInt() {
+        return month;
+    }
+
+    @Override
+    public int dayAsInt() {
+        return day;
     }
 
     // Also see https://discourse.openehr.org/t/timezone-of-iso-8601-date/4353
@@ -153,92 +401,210 @@ public class EhrDate implements Iso8601Date {
 
     @Override
     public Boolean monthUnknown() {
-        return month == null;
+        return monthUnknownAsBoolean();
     }
 
     @Override
     public Boolean dayUnknown() {
-        return day == null;
+        return dayUnknownAsBoolean();
+    }
+
+    @Override
+    public boolean monthUnknownAsBoolean() {
+        return month == 0;
+    }
+
+    @Override
+    public boolean dayUnknownAsBoolean() {
+        return day == 0;
     }
 
+    /**
+     * @return the value as it was declared, or in the format of the original date for the result of an arithmetic
+     *     operation
+     */
     @Nonnull
     @Override
     public String getValue() {
-        return value;
+        String result = value;
+        if (result == null) {
+            // Racing threads create equal strings, so the field does not need to be volatile
+            result = format();
+            value = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the date in its original format, followed by the timezone as it was declared
+     */
+    private String format() {
+        String result = Iso8601Formatter.date(year, month, day, extended, ordinal);
+        return timezone != null ? result + 'T' + timezone.getValue() : result;
     }
 
     @Override
     public Boolean isPartial() {
-        return monthUnknown() || dayUnknown();
+        return month == 0 || day == 0;
     }
 
     @Override
     public Boolean isExtended() {
-        return value.contains("-");
+        return extended;
     }
 
     @Override
     public String asString() {
-        StringBuilder result = new StringBuilder();
-        result.append(year);
-        if (month != null) {
-            result.append("-");
-            result.append(String.format("%02d", month));
-        }
-        if (day != null) {
-            result.append("-");
-            result.append(String.format("%02d", day));
-        }
+        return Iso8601Formatter.toString(this);
+    }
+
+    @Override
+    public int formatTo(byte[] bytes, int offset) {
+        int position = Iso8601Formatter.date(bytes, offset, year, month, day);
         if (timezone != null) {
-            result.append("T");
-            result.append(timezone.asString());
+            bytes[position++] = 'T';
+            position = EhrTimezone.formatTo(timezone, bytes, position);
         }
-        return result.toString();
+        return position;
     }
 
+    /**
+     * Adds the exact length of the duration in whole days, with months counted by their average length, see
+     * {@link EhrDuration}. A partial date is calculated from the first day of the period which it denotes, and the
+     * result has the same precision, e.g. <code>2023-01</code> plus 45 days is <code>2023-02</code>.
+     *
+     * @throws ArithmeticException if the result is before year 0 or after year 9999
+     */
     @Override
-    public Iso8601Date add(Iso8601Duration aDiff) {
-        return null;
+    public EhrDate add(Iso8601Duration aDiff) {
+        return plusDays(duration("add", aDiff).toSecondsAsLong() / SECONDS_IN_DAY);
     }
 
+    /**
+     * @see #add(Iso8601Duration)
+     */
     @Override
-    public Iso8601Date subtract(Iso8601Duration aDiff) {
-        return null;
+    public EhrDate subtract(Iso8601Duration aDiff) {
+        return plusDays(-(duration("subtract", aDiff).toSecondsAsLong() / SECONDS_IN_DAY));
     }
 
+    /**
+     * Calculates the duration from the given date to this date. If both dates are complete, the result is in days,
+     * e.g. <code>P40D</code>. Otherwise, it is in the months or years which both dates have in common, e.g.
+     * <code>P1Y2M</code> from <code>2022-11-15</code> to <code>2024-01</code>.
+     */
     @Override
-    public Iso8601Duration diff(Iso8601Date aDate) {
-        return null;
+    public EhrDuration diff(Iso8601Date aDate) {
+        if (!(aDate instanceof EhrDate other)) {
+            throw new OperandTypeMismatchException("calculate difference to", aDate);
+        }
+        if (day != 0 && other.day != 0) {
+            long days = IsoCalendar.epochDay(year, month, day)
+                - IsoCalendar.epochDay(other.year, other.month, other.day);
+            return EhrDuration.of(0, days * SECONDS_IN_DAY, 0);
+        }
+        long months = (year - other.year) * (long) MONTHS_IN_YEAR;
+        if (month != 0 && other.month != 0) {
+            months += month - other.month;
+        }
+        return EhrDuration.of(months, 0, 0);
     }
 
+    /**
+     * Adds the years and months of the duration as nominal months, and the rest in whole days. If the day does not
+     * exist in the resulting month, the last day of that month is used, e.g. <code>2024-02-29</code> plus one year
+     * is <code>2025-02-28</code>. A partial date is handled like in {@link #add(Iso8601Duration)}.
+     *
+     * @throws ArithmeticException if the result is before year 0 or after year 9999
+     */
     @Override
-    public Iso8601Date addNominal(Iso8601Duration aDiff) {
-        return null;
+    public EhrDate addNominal(Iso8601Duration aDiff) {
+        EhrDuration duration = duration("add", aDiff);
+        return plusNominal(duration.nominalMonths(), duration.exactSeconds() / SECONDS_IN_DAY);
     }
 
+    /**
+     * @see #addNominal(Iso8601Duration)
+     */
     @Override
-    public Iso8601Date subtractNominal(Iso8601Duration aDiff) {
-        return null;
+    public EhrDate subtractNominal(Iso8601Duration aDiff) {
+        EhrDuration duration = duration("subtract", aDiff);
+        return plusNominal(-duration.nominalMonths(), -(duration.exactSeconds() / SECONDS_IN_DAY));
+    }
+
+    private EhrDate plusNominal(long months, long days) {
+        long fields = DateArithmetic.plusMonths(year, month != 0 ? month : 1, day, months);
+        if (days == 0) {
+            return result(fields);
+        }
+        return result(DateArithmetic.plusDays(
+            PackedDateTime.year(fields), PackedDateTime.month(fields), day != 0 ? PackedDateTime.day(fields) : 1, days
+        ));
+    }
+
+    private EhrDate plusDays(long days) {
+        return result(DateArithmetic.plusDays(year, month != 0 ? month : 1, day != 0 ? day : 1, days));
+    }
+
+    /**
+     * @return the date with the given fields, reduced to the precision of this date
+     */
+    private EhrDate result(long fields) {
+        int resultMonth = month != 0 ? PackedDateTime.month(fields) : 0;
+        int resultDay = day != 0 ? PackedDateTime.day(fields) : 0;
+        return new EhrDate(PackedDateTime.year(fields), resultMonth, resultDay, timezone, extended, ordinal);
+    }
+
+    private static EhrDuration duration(String operation, Iso8601Duration aDiff) {
+        if (aDiff instanceof EhrDuration duration) {
+            return duration;
+        }
+        throw new OperandTypeMismatchException(operation, aDiff);
     }
 
+    /**
+     * Orders the dates chronologically. A partial date comes before the complete dates within the period which it
+     * denotes, e.g. <code>2023 &lt; 2023-01 &lt; 2023-01-01</code>. The timezone is not taken into account.
+     */
     @Override
-    public Boolean lessThan(Object o) {
-        return null;
+    public int compareTo(@Nonnull EhrDate other) {
+        return Long.compare(sortKey, other.sortKey);
     }
 
     @Override
-    public Boolean lessThanOrEqual(Object o) {
-        return null;
+    public Boolean lessThan(Object other) {
+        if (other instanceof EhrDate otherDate) {
+            return compareTo(otherDate) < 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date", other.getClass());
+        }
     }
 
     @Override
-    public Boolean greaterThan(Object o) {
-        return null;
+    public Boolean lessThanOrEqual(Object other) {
+        if (other instanceof EhrDate otherDate) {
+            return compareTo(otherDate) <= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date", other.getClass());
+        }
     }
 
     @Override
-    public Boolean greaterThanOrEqual(Object o) {
-        return null;
+    public Boolean greaterThan(Object other) {
+        if (other instanceof EhrDate otherDate) {
+            return compareTo(otherDate) > 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date", other.getClass());
+        }
+    }
+
+    @Override
+    public Boolean greaterThanOrEqual(Object other) {
+        if (other instanceof EhrDate otherDate) {
+            return compareTo(otherDate) >= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date", other.getClass());
+        }
     }
 
     // TODO Use implementation from abstract base class
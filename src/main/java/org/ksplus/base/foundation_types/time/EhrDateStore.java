@@ -0,0 +1,338 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+import org.openehr.base.foundation_types.time.Iso8601Date;
+import org.openehr.base.foundation_types.time.Iso8601Timezone;
+
+import lombok.NonNull;
+
+/**
+ * Store of date values outside the Java heap, for columns with more values than the heap can hold as objects.
+ *
+ * <p>Every value takes 8 bytes: the date in the layout of {@link PackedDateTime}, where the second and minute bits,
+ * which are not used by a date, hold the timezone offset in minutes shifted to be positive. The values are kept in
+ * direct or memory-mapped buffers of at most {@value #CHUNK_VALUES} values each, so that the capacity is not limited
+ * by the <code>int</code> indexes of a buffer. The timezone is kept in the format in which it is declared, except
+ * that <code>Z</code> is read back as <code>+00:00</code> and a Unicode minus as a hyphen.</p>
+ *
+ * <p>A store which is created for a file keeps the values in the file, which starts with a header of
+ * {@value #HEADER_BYTES} bytes holding a magic number and the size. The file can be opened again later, also by
+ * another process. All numbers are stored in little-endian byte order.</p>
+ *
+ * <p>The values can be read through {@link EhrDate} objects, which are created on every call, or counted and
+ * filtered by range without creating any objects. A store may be read concurrently, but it must not be read while it
+ * is being written.</p>
+ */
+public final class EhrDateStore implements AutoCloseable {
+
+    static final int VALUE_BYTES = Long.BYTES;
+
+    static final int HEADER_BYTES = 16;
+
+    private static final int CHUNK_SHIFT = 27;
+
+    static final int CHUNK_VALUES = 1 << CHUNK_SHIFT;
+
+    private static final long CHUNK_MASK = CHUNK_VALUES - 1;
+
+    /**
+     * "EHRD" in ASCII
+     */
+    private static final int MAGIC = 0x44524845;
+
+    private static final int VERSION = 1;
+
+    private static final int SIZE_POSITION = 8;
+
+    private static final long OFFSET_MASK = 0xFFF;
+
+    private static final int MAX_OFFSET_MINUTES = 18 * 60;
+
+    private final ByteBuffer[] chunks;
+
+    /**
+     * <code>null</code> unless the store is backed by a file
+     */
+    private final MappedByteBuffer header;
+
+    private final long capacity;
+
+    private long size;
+
+    private EhrDateStore(ByteBuffer[] chunks, MappedByteBuffer header, long capacity, long size) {
+        this.chunks = chunks;
+        this.header = header;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    /**
+     * Creates a store in direct memory, which is released when the store is garbage collected.
+     */
+    public static EhrDateStore allocate(long capacity) {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(capacity)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkBytes(capacity, i)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new EhrDateStore(chunks, null, capacity, 0);
+    }
+
+    /**
+     * Creates an empty store in the given file, which is replaced if it exists.
+     */
+    public static EhrDateStore create(@NonNull Path file, long capacity) throws IOException {
+        int chunkCount = chunkCount(capacity);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(SIZE_POSITION, 0);
+            return new EhrDateStore(map(channel, capacity, chunkCount), header, capacity, 0);
+        }
+    }
+
+    /**
+     * Opens a store which has been created by {@link #create(Path, long)}. The capacity is the same as on creation.
+     *
+     * @throws IOException if the file cannot be read, or if it does not contain a store
+     */
+    public static EhrDateStore open(@NonNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES || (fileSize - HEADER_BYTES) % VALUE_BYTES != 0) {
+                throw new IOException("Not a date store: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a date store: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported version " + header.getInt(4) + " of date store: " + file);
+            }
+            long capacity = (fileSize - HEADER_BYTES) / VALUE_BYTES;
+            long size = header.getLong(SIZE_POSITION);
+            if (size < 0 || size > capacity) {
+                throw new IOException("Corrupt size " + size + " of date store: " + file);
+            }
+            return new EhrDateStore(map(channel, capacity, chunkCount(capacity)), header, capacity, size);
+        }
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, long capacity, int chunkCount) throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long position = HEADER_BYTES + ((long) i << CHUNK_SHIFT) * VALUE_BYTES;
+            // A mapping stays valid after the channel is closed
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkBytes(capacity, i))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return chunks;
+    }
+
+    private static int chunkCount(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        long chunkCount = (capacity + CHUNK_MASK) >>> CHUNK_SHIFT;
+        if (chunkCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity is too large: " + capacity);
+        }
+        return (int) chunkCount;
+    }
+
+    private static int chunkBytes(long capacity, int chunk) {
+        long values = Math.min(capacity - ((long) chunk << CHUNK_SHIFT), CHUNK_VALUES);
+        return (int) values * VALUE_BYTES;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the index of the added value
+     * @throws IllegalArgumentException if the value is not a valid date, see {@link EhrDate}
+     * @throws IllegalStateException if the store is full
+     */
+    public long add(@NonNull String value) {
+        return add(new EhrDate(value));
+    }
+
+    /**
+     * Adds a value from UTF-8 encoded bytes, see {@link EhrDate#parse(byte[], int, int)}.
+     *
+     * @return the index of the added value
+     * @throws IllegalArgumentException if the bytes do not contain a valid date
+     * @throws IllegalStateException if the store is full
+     */
+    public long add(@NonNull byte[] bytes, int offset, int length) {
+        return add(EhrDate.parse(bytes, offset, length));
+    }
+
+    /**
+     * @return the index of the added value
+     * @throws IllegalArgumentException if the timezone of the date is not an offset of hours and minutes, e.g.
+     *     <code>UTC</code>, which cannot be packed
+     * @throws IllegalStateException if the store is full
+     */
+    public long add(@NonNull EhrDate date) {
+        if (size == capacity) {
+            throw new IllegalStateException("Date store is full, capacity: " + capacity);
+        }
+        long index = size;
+        write(index, date);
+        size = index + 1;
+        if (header != null) {
+            header.putLong(SIZE_POSITION, size);
+        }
+        return index;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the timezone of the date cannot be packed, see {@link #add(EhrDate)}
+     */
+    public void set(long index, @NonNull EhrDate date) {
+        Objects.checkIndex(index, size);
+        write(index, date);
+    }
+
+    private void write(long index, EhrDate date) {
+        Iso8601Timezone timezone = date.timezone();
+        if (timezone != null && !EhrTimezone.isNumericOffset(timezone)) {
+            throw new IllegalArgumentException(
+                "Cannot store date with timezone which is not an offset of hours and minutes: " + date.getValue());
+        }
+        long value = date.packedFields() | (date.offsetMinutes() + MAX_OFFSET_MINUTES);
+        chunks[(int) (index >>> CHUNK_SHIFT)].putLong((int) (index & CHUNK_MASK) * VALUE_BYTES, value);
+    }
+
+    private long read(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getLong((int) (index & CHUNK_MASK) * VALUE_BYTES);
+    }
+
+    /**
+     * @return a new date object for the value at the given index
+     */
+    public Iso8601Date get(long index) {
+        Objects.checkIndex(index, size);
+        long value = read(index);
+        return EhrDate.of(value & ~OFFSET_MASK, (int) (value & OFFSET_MASK) - MAX_OFFSET_MINUTES);
+    }
+
+    public int year(long index) {
+        Objects.checkIndex(index, size);
+        return PackedDateTime.year(read(index));
+    }
+
+    /**
+     * @return the month, or 0 if it is unknown
+     */
+    public int month(long index) {
+        Objects.checkIndex(index, size);
+        return PackedDateTime.month(read(index));
+    }
+
+    /**
+     * @return the day, or 0 if it is unknown
+     */
+    public int day(long index) {
+        Objects.checkIndex(index, size);
+        return PackedDateTime.day(read(index));
+    }
+
+    /**
+     * Counts the values within the given range, in the same order as {@link EhrDate#compareTo(EhrDate)}, i.e.
+     * regardless of the timezone.
+     */
+    public long countInRange(@NonNull Iso8601Date fromInclusive, @NonNull Iso8601Date toExclusive) {
+        int from = ordinal(fromInclusive);
+        int width = ordinal(toExclusive) - from;
+        if (width <= 0) {
+            return 0;
+        }
+        long count = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            ByteBuffer buffer = chunks[chunk];
+            int limit = valuesIn(chunk) * VALUE_BYTES;
+            for (int position = 0; position < limit; position += VALUE_BYTES) {
+                // A single unsigned comparison for both bounds, so that the loop does not branch on the data
+                int distance = PackedDateTime.dateOrdinal(buffer.getLong(position)) - from;
+                count += Integer.compareUnsigned(distance, width) < 0 ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes the indexes of the values within the given range to the action, in ascending order, see
+     * {@link #countInRange(Iso8601Date, Iso8601Date)}.
+     */
+    public void forEachInRange(@NonNull Iso8601Date fromInclusive, @NonNull Iso8601Date toExclusive,
+                               @NonNull LongConsumer action) {
+        int from = ordinal(fromInclusive);
+        int width = ordinal(toExclusive) - from;
+        if (width <= 0) {
+            return;
+        }
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            ByteBuffer buffer = chunks[chunk];
+            int count = valuesIn(chunk);
+            long first = (long) chunk << CHUNK_SHIFT;
+            for (int i = 0; i < count; i++) {
+                int distance = PackedDateTime.dateOrdinal(buffer.getLong(i * VALUE_BYTES)) - from;
+                if (Integer.compareUnsigned(distance, width) < 0) {
+                    action.accept(first + i);
+                }
+            }
+        }
+    }
+
+    private int valuesIn(int chunk) {
+        return (int) Math.max(0, Math.min(size - ((long) chunk << CHUNK_SHIFT), CHUNK_VALUES));
+    }
+
+    private static int ordinal(Iso8601Date date) {
+        if (date instanceof EhrDate ehrDate) {
+            return PackedDateTime.dateOrdinal(ehrDate.packedFields());
+        }
+        throw new ComparisonTypeMismatchException("date", date.getClass());
+    }
+
+    /**
+     * Writes the values to the file, if the store is backed by one. Otherwise, this does nothing.
+     */
+    public void flush() {
+        if (header == null) {
+            return;
+        }
+        for (ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+        header.force();
+    }
+
+    /**
+     * Flushes the store. The memory is released when the store is garbage collected, since buffers cannot be
+     * released explicitly.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -1,289 +1,242 @@
 package org.ksplus.base.foundation_types.time;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
 
-import org.openehr.base.foundation_types.time.Iso8601Date;
 import org.openehr.base.foundation_types.time.Iso8601DateTime;
-import org.openehr.base.foundation_types.time.Iso8601Duration;
-import org.openehr.base.foundation_types.time.Iso8601Timezone;
 
 import jakarta.annotation.Nonnull;
-import jakarta.annotation.Nullable;
 import lombok.NonNull;
 
-public class EhrDateTime extends EhrTimeDefinitions implements Iso8601DateTime {
+public class EhrDateTime extends PackedIso8601DateTime implements Comparable<EhrDateTime> {
 
     private static final String MINUS = "−";
 
     private static final String HYPHEN = "-";
 
-    private static final Pattern CHARACTERS_ALLOWED_BY_ISO_8601 = Pattern.compile("["+ HYPHEN + "0-9:TWZ?.,+ " + MINUS + "]+");
-
     @Nonnull
     private final String value;
 
-    @Nonnull
-    private final String dateValue;
+    /**
+     * Calendar and clock fields together with the flags, see {@link PackedDateTime}
+     */
+    private final long fields;
 
-    @Nullable
-    private final String timeValue;
+    /**
+     * Nanosecond of the second and timezone offset, see {@link PackedDateTime}
+     */
+    private final long nanosAndOffset;
+
+    /**
+     * Chronological ordering key, see {@link PackedDateTime#sortKey(long, long)}
+     */
+    private final long sortKey;
 
     public EhrDateTime(@NonNull String value) {
-        checkThatOnlyCharactersDefinedByIso8601AreUsed(value);
+        this(value, scan(value, new DateTimeScanner()));
+    }
 
+    private EhrDateTime(String value, DateTimeScanner scanner) {
         this.value = value;
-
-        dateValue = parseDateValue(value);
-        timeValue = parseTimeValue(value);
-
-        checkIso8601SemanticsNotIncludedInOpenEhr();
+        fields = scanner.packedFields();
+        nanosAndOffset = scanner.packedNanosAndOffset();
+        sortKey = PackedDateTime.sortKey(fields, nanosAndOffset);
+    }
+
+    /**
+     * Creates a date/time which is only checked for the characters and the constraints of openEHR, while the fields
+     * are scanned on first access. This is cheaper for values which are passed through without reading the fields.
+     * The instance may be shared between threads without further synchronization.
+     *
+     * <p>The result is not an {@link EhrDateTime}, so that it does not carry the packed fields before they are
+     * scanned, but it can be compared with one and passed to the methods of {@link DateTimeArrays} which take an
+     * {@link Iso8601DateTime}.</p>
+     *
+     * @throws IllegalArgumentException if the value contains characters which are not allowed by ISO 8601, or if it
+     *     violates the constraints of openEHR. Any other violation of ISO 8601 is reported by the first access to a
+     *     field or a comparison.
+     */
+    public static Iso8601DateTime lazy(@NonNull String value) {
+        checkThatOnlyCharactersDefinedByIso8601AreUsed(value);
+        checkIso8601SemanticsNotIncludedInOpenEhr(value);
+        return new LazyEhrDateTime(value);
+    }
+
+    /**
+     * Parses a date/time from UTF-8 encoded bytes without decoding them into an intermediate string, e.g. when
+     * reading files. Only the original value is copied out of the bytes.
+     *
+     * @throws IllegalArgumentException if the bytes do not contain a valid date/time
+     */
+    public static EhrDateTime parse(@NonNull byte[] bytes, int offset, int length) {
+        return parse(Utf8Text.of(bytes, offset, length));
+    }
+
+    /**
+     * Same as {@link #parse(byte[], int, int)} for the bytes between the position and the limit of the buffer. The
+     * position of the buffer is not changed.
+     */
+    public static EhrDateTime parse(@NonNull ByteBuffer buffer) {
+        return parse(Utf8Text.of(buffer));
+    }
+
+    private static EhrDateTime parse(Utf8Text text) {
+        long start = ParseInstrumentation.start();
+        DateTimeScanner scanner = new DateTimeScanner();
+        if (!scanner.scanDateTime(text, 0, text.length())) {
+            // The scanner does not accept anything which is rejected by the checks, so they only provide the message
+            return new EhrDateTime(text.toString());
+        }
+        ParseInstrumentation.parsed(ParseMetrics.Type.DATE_TIME, text.length(), start,
+            ParseInstrumentation.format(PackedDateTime.has(scanner.flags, PackedDateTime.EXTENDED)));
+        return new EhrDateTime(text.toString(), scanner);
+    }
+
+    /**
+     * Same as {@link #EhrDateTime(String)}, but reports an invalid value by the result instead of an exception, which
+     * is cheaper for inputs in which invalid values are common. The values are not reported to
+     * {@link ParseInstrumentation}.
+     */
+    public static ParseResult<EhrDateTime> tryParse(@NonNull String value) {
+        if (value.isEmpty()) {
+            return ParseResult.invalid(ParseError.INVALID_FORMAT, 0, value);
+        }
+        int index = indexOfCharacterNotAllowedByIso8601(value);
+        if (index >= 0) {
+            return ParseResult.invalid(ParseError.INVALID_CHARACTER, index, value);
+        }
+        if (hasSign(value)) {
+            return ParseResult.invalid(ParseError.NOT_SUPPORTED_BY_OPENEHR, 0, value);
+        }
+        index = indexOfWeekDesignator(value);
+        if (index >= 0) {
+            return ParseResult.invalid(ParseError.NOT_SUPPORTED_BY_OPENEHR, index, value);
+        }
+        DateTimeScanner scanner = new DateTimeScanner();
+        if (!scanner.scanDateTime(value, 0, value.length())) {
+            return ParseResult.invalid(scanner.error, scanner.errorIndex, value);
+        }
+        return ParseResult.valid(new EhrDateTime(value, scanner));
+    }
+
+    /**
+     * Same as {@link #scanUninstrumented(String, DateTimeScanner)}, but reports the value to
+     * {@link ParseInstrumentation}.
+     */
+    static DateTimeScanner scan(String value, DateTimeScanner scanner) {
+        long start = ParseInstrumentation.start();
+        try {
+            scanUninstrumented(value, scanner);
+        } catch (IllegalArgumentException e) {
+            ParseInstrumentation.failed(ParseMetrics.Type.DATE_TIME, value.length(), start, e);
+            throw e;
+        }
+        ParseInstrumentation.parsed(ParseMetrics.Type.DATE_TIME, value.length(), start,
+            ParseInstrumentation.format(PackedDateTime.has(scanner.flags, PackedDateTime.EXTENDED)));
+        return scanner;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a valid date/time
+     */
+    static DateTimeScanner scanUninstrumented(String value, DateTimeScanner scanner) {
+        checkThatOnlyCharactersDefinedByIso8601AreUsed(value);
+        checkIso8601SemanticsNotIncludedInOpenEhr(value);
         checkIso8601DeviationsInOpenEhr();
+
+        if (!scanner.scanDateTime(value, 0, value.length())) {
+            throw new IllegalArgumentException("Doesn't look like a valid ISO 8601 date/time declaration: "
+                + value);
+        }
+        return scanner;
     }
 
     private static void checkThatOnlyCharactersDefinedByIso8601AreUsed(String value) {
-        Matcher m = CHARACTERS_ALLOWED_BY_ISO_8601.matcher(value);
-        if (!m.matches()) {
+        if (value.isEmpty() || indexOfCharacterNotAllowedByIso8601(value) >= 0) {
             throw new IllegalArgumentException("It looks like the date time value contains characters not allowed by" +
                 " ISO 8601: " + value);
         }
     }
 
-    private void checkIso8601SemanticsNotIncludedInOpenEhr() {
-        if (dateValue.startsWith("+") || dateValue.startsWith("-")) {
-            throw new IllegalArgumentException("Invalid date/time value, because only positive 4-digit year numbers " +
-                "are assumed by openEHR: " + value);
-        }
-        if (dateValue.contains("W")) {
-            throw new IllegalArgumentException("Invalid date/time value, because week-based dates are not supported " +
-                "by openEHR: " + value);
-        }
-
-        // TODO: reject partial date/times with fractional minutes or hours
-
-        // TODO: reject the interval syntax
-    }
-
-    private void checkIso8601DeviationsInOpenEhr() {
-
-    }
-
-    private static String parseDateValue(String value) {
-        String[] parts = value.split("T");
-        String datePart = parts[0];
-        boolean dateValueHasNegativeSign = datePart.startsWith("-");
-        String basicDate = datePart.replaceAll("-", "");
-        if (dateValueHasNegativeSign) {
-            basicDate = "-" + basicDate;
-        }
-        return basicDate;
-    }
-
-    private static String parseTimeValue(String value) {
-        String[] parts = value.split("T");
-        if (parts.length == 2) {
-            String result = parts[1];
-            return result.replaceAll(":", "");
-        } else {
-            return null;
-        }
-    }
-
-    @Override
-    public Integer year() {
-        if (dateValue.length() < 4) {
-            throw new IllegalArgumentException("Cannot read year from: " + value);
-        }
-        return Integer.valueOf(dateValue.substring(0, 4));
-    }
-
-    @Override
-    public Integer month() {
-        if (dateValue.length() >= 6) {
-            String monthAsString = dateValue.substring(4, 6);
-            if ("??".equals(monthAsString)) {
-                return 0;
-            } else {
-                return Integer.valueOf(monthAsString);
+    /**
+     * @return the index of the first character which is not allowed, or -1 if there is none
+     */
+    private static int indexOfCharacterNotAllowedByIso8601(String value) {
+        // A loop instead of a regular expression, since it is run for every value
+        for (int i = 0; i < value.length(); i++) {
+            if (!isAllowedByIso8601(value.charAt(i))) {
+                return i;
             }
-        } else {
-            return 0;
         }
+        return -1;
     }
 
-    @Override
-    public Integer day() {
-        int len = dateValue.length();
-        if (len > 6) {
-            if (len != 8) {
-                throw new IllegalArgumentException("Doesn't look like a valid ISO 8601 date declaration: " + value);
-            }
-            return Integer.valueOf(dateValue.substring(6, 8));
-        } else {
-            return 0;
-        }
-    }
-
-    @Override
-    public Integer hour() {
-        if (timeValue == null) {
-            return 0;
-        }
-        if (timeValue.length() >= 2) {
-            String hourAsString = timeValue.substring(0, 2);
-            if ("??".equals(hourAsString)) {
-                return 0;
-            }
-            return Integer.valueOf(hourAsString);
-        } else {
-            return 0;
-        }
-    }
-
-    @Override
-    public Integer minute() {
-        if (timeValue == null) {
-            return 0;
-        }
-        if (timeValue.length() >= 4) {
-            String minuteAsString = timeValue.substring(2, 4);
-            if ("??".equals(minuteAsString)) {
-                return 0;
-            }
-            return Integer.valueOf(minuteAsString);
-        } else {
-            return 0;
-        }
+    private static boolean isAllowedByIso8601(char c) {
+        return switch (c) {
+            case '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '-', ':', 'T', 'W', 'Z', '?', '.', ',', '+', ' ',
+                '−' -> true;
+            default -> false;
+        };
     }
 
-    @Override
-    public Integer second() {
-        if (timeValue == null) {
-            return 0;
+    private static void checkIso8601SemanticsNotIncludedInOpenEhr(String value) {
+        if (hasSign(value)) {
+            throw new IllegalArgumentException("Invalid date/time value, because only positive 4-digit year numbers " +
+                "are assumed by openEHR: " + value);
         }
-        if (timeValue.length() >= 6) {
-            String secondAsString = timeValue.substring(4, 6);
-            if ("??".equals(secondAsString)) {
-                return 0;
-            }
-            return Integer.valueOf(secondAsString);
-        } else {
-            return 0;
+        if (indexOfWeekDesignator(value) >= 0) {
+            throw new IllegalArgumentException("Invalid date/time value, because week-based dates are not supported " +
+                "by openEHR: " + value);
         }
-    }
 
-    @Override
-    public Double fractionalSecond() {
-        if (timeValue == null) {
-            return 0.0;
-        }
-        if (timeValue.length() > 7) {
-            Matcher m = Pattern.compile(".*[,.](.*)").matcher(timeValue);
-            if (m.matches()) {
-                String fractionalSecondAsString = "0." + m.group(1);
-                return Double.valueOf(fractionalSecondAsString);
-            }
-        }
-        return 0.0;
-    }
+        // TODO: reject partial date/times with fractional minutes or hours
 
-    @Override
-    public @Nullable Iso8601Timezone timezone() {
-        return null;
+        // TODO: reject the interval syntax
     }
 
-    @Override
-    public Boolean monthUnknown() {
-        return null;
+    private static boolean hasSign(String value) {
+        return value.startsWith("+") || value.startsWith(HYPHEN) || value.startsWith(MINUS);
     }
 
-    @Override
-    public Boolean dayUnknown() {
-        return null;
+    /**
+     * @return the index of the week designator of the date, or -1 if there is none
+     */
+    private static int indexOfWeekDesignator(String value) {
+        int timeSeparator = value.indexOf('T');
+        int weekDesignator = value.indexOf('W');
+        return timeSeparator < 0 || weekDesignator < timeSeparator ? weekDesignator : -1;
     }
 
-    @Override
-    public Boolean minuteUnknown() {
-        return null;
-    }
+    private static void checkIso8601DeviationsInOpenEhr() {
 
-    @Override
-    public Boolean secondUnknown() {
-        return null;
     }
 
+    /**
+     * Orders the date/time values chronologically, after normalizing them to UTC. Values without timezone are treated
+     * as UTC. A partial value comes before the more precise values within the period which it denotes, e.g.
+     * <code>2023-01-01 &lt; 2023-01-01T00 &lt; 2023-01-01T00:00</code>.
+     */
     @Override
-    public Boolean isDecimalSignComma() {
-        return null;
+    public int compareTo(@Nonnull EhrDateTime other) {
+        return compare(this, other);
     }
 
     @Override
     public String getValue() {
-        return null;
-    }
-
-    @Override
-    public Boolean isPartial() {
-        return null;
-    }
-
-    @Override
-    public Boolean isExtended() {
-        return null;
-    }
-
-    @Override
-    public Boolean hasFractionalSecond() {
-        return null;
-    }
-
-    @Override
-    public String asString() {
-        return null;
-    }
-
-    @Override
-    public Iso8601DateTime add(Object aDiff) {
-        return null;
-    }
-
-    @Override
-    public Iso8601DateTime subtract(Object aDiff) {
-        return null;
-    }
-
-    @Override
-    public Iso8601Duration diff(Object aDateTime) {
-        return null;
-    }
-
-    @Override
-    public Iso8601Date addNominal(Object aDiff) {
-        return null;
-    }
-
-    @Override
-    public Iso8601Date subtractNominal(Object aDiff) {
-        return null;
-    }
-
-    @Override
-    public Boolean lessThan(Object other) {
-        return null;
+        return value;
     }
 
     @Override
-    public Boolean lessThanOrEqual(Object other) {
-        return null;
+    long fields() {
+        return fields;
     }
 
     @Override
-    public Boolean greaterThan(Object other) {
-        return null;
+    long nanosAndOffset() {
+        return nanosAndOffset;
     }
 
     @Override
-    public Boolean greaterThanOrEqual(Object other) {
-        return null;
+    long sortKey() {
+        return sortKey;
     }
 }
@@ -0,0 +1,225 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.openehr.base.foundation_types.time.Iso8601DateTime;
+
+import lombok.NonNull;
+
+/**
+ * Column of date/time values, which are kept in parallel primitive arrays instead of one object per value.
+ *
+ * <p>Per value, the column holds the chronological ordering key (see {@link PackedDateTime#sortKey(long, long)}),
+ * the calendar and clock fields with the flags, and the nanoseconds with the timezone offset, i.e. 24 bytes. The
+ * values can be accessed through views, which read the arrays on every call. The scans for the minimum, the maximum
+ * and a range work on the ordering keys only, which means they have microsecond resolution.</p>
+ *
+ * <p>A column is not thread-safe.</p>
+ */
+public final class EhrDateTimeColumn {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final DateTimeScanner scanner = new DateTimeScanner();
+
+    private long[] sortKeys;
+
+    private long[] fields;
+
+    private long[] nanosAndOffsets;
+
+    private int size;
+
+    /**
+     * Whether the values are in chronological order, so that ranges can be found by binary search
+     */
+    private boolean sorted = true;
+
+    public EhrDateTimeColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EhrDateTimeColumn(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        sortKeys = new long[initialCapacity];
+        fields = new long[initialCapacity];
+        nanosAndOffsets = new long[initialCapacity];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a valid date/time, see {@link EhrDateTime}
+     */
+    public void add(@NonNull String value) {
+        EhrDateTime.scan(value, scanner);
+        add(scanner.packedFields(), scanner.packedNanosAndOffset());
+    }
+
+    /**
+     * Adds a value from UTF-8 encoded bytes, see {@link EhrDateTime#parse(byte[], int, int)}.
+     *
+     * @throws IllegalArgumentException if the bytes do not contain a valid date/time
+     */
+    public void add(@NonNull byte[] bytes, int offset, int length) {
+        Utf8Text text = Utf8Text.of(bytes, offset, length);
+        if (!scanner.scanDateTime(text, 0, text.length())) {
+            // Throws the exception with the appropriate message
+            EhrDateTime.scan(text.toString(), scanner);
+        }
+        add(scanner.packedFields(), scanner.packedNanosAndOffset());
+    }
+
+    public void add(@NonNull EhrDateTime dateTime) {
+        add(dateTime.fields(), dateTime.nanosAndOffset());
+    }
+
+    private void add(long fields, long nanosAndOffset) {
+        if (size == sortKeys.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            sortKeys = Arrays.copyOf(sortKeys, capacity);
+            this.fields = Arrays.copyOf(this.fields, capacity);
+            nanosAndOffsets = Arrays.copyOf(nanosAndOffsets, capacity);
+        }
+        long sortKey = PackedDateTime.sortKey(fields, nanosAndOffset);
+        if (size > 0) {
+            long previous = sortKeys[size - 1];
+            if (sortKey < previous
+                || sortKey == previous && PackedDateTime.nano(nanosAndOffset) % 1000 < subMicroNanos(size - 1)) {
+                sorted = false;
+            }
+        }
+        sortKeys[size] = sortKey;
+        this.fields[size] = fields;
+        nanosAndOffsets[size] = nanosAndOffset;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a view of the value at the given index, which shows another value after the column has been sorted
+     */
+    public Iso8601DateTime get(int index) {
+        Objects.checkIndex(index, size);
+        return new View(index);
+    }
+
+    /**
+     * @return the index of the earliest value, or -1 if the column is empty
+     */
+    public int indexOfMin() {
+        if (size == 0) {
+            return -1;
+        }
+        if (sorted) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, sortKeys[i]);
+        }
+        return indexOf(min);
+    }
+
+    /**
+     * @return the index of the latest value, or -1 if the column is empty
+     */
+    public int indexOfMax() {
+        if (size == 0) {
+            return -1;
+        }
+        if (sorted) {
+            return size - 1;
+        }
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, sortKeys[i]);
+        }
+        return indexOf(max);
+    }
+
+    private int indexOf(long sortKey) {
+        for (int i = 0; i < size; i++) {
+            if (sortKeys[i] == sortKey) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the values from the first, inclusive, to the second, exclusive, date/time. Both need to be either
+     * {@link EhrDateTime}s or views of a column.
+     */
+    public int countInRange(@NonNull Iso8601DateTime fromInclusive, @NonNull Iso8601DateTime toExclusive) {
+        long from = DateTimeArrays.sortKey(fromInclusive);
+        long to = DateTimeArrays.sortKey(toExclusive);
+        if (from >= to) {
+            return 0;
+        }
+        if (sorted) {
+            return DateTimeArrays.lowerBound(sortKeys, 0, size, to)
+                - DateTimeArrays.lowerBound(sortKeys, 0, size, from);
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long sortKey = sortKeys[i];
+            count += sortKey >= from && sortKey < to ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Sorts the values chronologically, in the same order as {@link EhrDateTime#compareTo(EhrDateTime)}.
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+        int[] order = DateTimeArrays.sortedOrder(sortKeys, nanosAndOffsets, size);
+        sortKeys = permute(sortKeys, order);
+        fields = permute(fields, order);
+        nanosAndOffsets = permute(nanosAndOffsets, order);
+        sorted = true;
+    }
+
+    private int subMicroNanos(int index) {
+        return PackedDateTime.nano(nanosAndOffsets[index]) % 1000;
+    }
+
+    private long[] permute(long[] values, int[] order) {
+        long[] result = new long[values.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    private final class View extends PackedIso8601DateTime {
+
+        private final int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        @Override
+        long fields() {
+            return fields[index];
+        }
+
+        @Override
+        long nanosAndOffset() {
+            return nanosAndOffsets[index];
+        }
+
+        @Override
+        long sortKey() {
+            return sortKeys[index];
+        }
+    }
+}
@@ -1,20 +1,277 @@
 package org.ksplus.base.foundation_types.time;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 
 import org.openehr.base.foundation_types.primitive_types.Real;
 import org.openehr.base.foundation_types.time.Iso8601Duration;
 
 import jakarta.annotation.Nonnull;
 
-public class EhrDuration extends EhrTimeDefinitions implements Iso8601Duration {
+/**
+ * Besides the fields as they are declared, e.g. 36 hours for <code>PT36H</code>, a duration is kept as a nominal part
+ * in months and an exact part in seconds and nanoseconds, which the arithmetic and the comparisons are based on.
+ * Years count as 12 months, weeks as 7 days and days as 24 hours. Where months need to be related to seconds, they
+ * count with the average length of a Gregorian month, i.e. 30.436875 days.
+ */
+public class EhrDuration extends EhrTimeDefinitions
+    implements Iso8601Duration, PrimitiveDurationAccess, Iso8601Formattable, Comparable<EhrDuration> {
 
-    @Nonnull
-    private final String value;
+    private static final int NANOS_IN_SECOND = 1_000_000_000;
+
+    private static final long SECONDS_IN_DAY = 86_400;
+
+    private static final long SECONDS_IN_WEEK = 7 * SECONDS_IN_DAY;
+
+    /**
+     * Average length of a month in the Gregorian calendar, which repeats every 400 years with 146097 days
+     */
+    private static final long SECONDS_IN_MONTH = 146_097 * SECONDS_IN_DAY / (400 * 12);
+
+    // Order in which the designators have to appear within a duration
+    private static final int YEARS_RANK = 1;
+    private static final int MONTHS_RANK = 2;
+    private static final int WEEKS_RANK = 3;
+    private static final int DAYS_RANK = 4;
+    private static final int HOURS_RANK = 5;
+    private static final int MINUTES_RANK = 6;
+    private static final int SECONDS_RANK = 7;
+
+    /**
+     * Created on first access for the results of the arithmetic
+     */
+    private String value;
+
+    private final int years;
+
+    private final int months;
+
+    private final int weeks;
+
+    private final int days;
+
+    private final int hours;
+
+    private final int minutes;
+
+    private final int seconds;
+
+    private final int fractionalSecondsAsNanos;
+
+    private final boolean decimalSignComma;
+
+    /**
+     * Years and months
+     */
+    private final long nominalMonths;
+
+    /**
+     * Weeks, days, hours, minutes and seconds, with the same sign as {@link #exactNanos}
+     */
+    private final long exactSeconds;
+
+    private final int exactNanos;
 
     public EhrDuration(@Nonnull String value) {
-        this.value = value;
+        this((CharSequence) value);
+    }
+
+    /**
+     * Parses a duration from UTF-8 encoded bytes without decoding them into an intermediate string, e.g. when reading
+     * files. Only the value returned by {@link #getValue()} is copied out of the bytes.
+     *
+     * @throws IllegalArgumentException if the bytes do not contain a valid duration
+     */
+    public static EhrDuration parse(@Nonnull byte[] bytes, int offset, int length) {
+        return new EhrDuration(Utf8Text.of(bytes, offset, length));
+    }
+
+    /**
+     * Same as {@link #parse(byte[], int, int)} for the bytes between the position and the limit of the buffer. The
+     * position of the buffer is not changed.
+     */
+    public static EhrDuration parse(@Nonnull ByteBuffer buffer) {
+        return new EhrDuration(Utf8Text.of(buffer));
+    }
+
+    private EhrDuration(CharSequence text) {
+        long parseStart = ParseInstrumentation.start();
+        try {
+            int years = 0;
+            int months = 0;
+            int weeks = 0;
+            int days = 0;
+            int hours = 0;
+            int minutes = 0;
+            int seconds = 0;
+            int nanos = 0;
+            boolean decimalSignComma = false;
+
+            // Single pass over `[-]P[nY][nM][nW][nD][T[nH][nM][n[.,f]S]]`, each designator has to follow the previous
+            // ones
+            int len = text.length();
+            boolean negative = len > 0 && text.charAt(0) == '-';
+            int i = negative ? 1 : 0;
+            if (len - i < 3 || text.charAt(i) != 'P') {
+                throw new DurationFormatException(text.toString());
+            }
+            boolean timePart = false;
+            int lastDesignator = 0;
+            i++;
+            while (i < len) {
+                char c = text.charAt(i);
+                if (c == 'T') {
+                    if (timePart || i == len - 1) {
+                        throw new DurationFormatException(text.toString());
+                    }
+                    timePart = true;
+                    i++;
+                    continue;
+                }
+
+                int number = 0;
+                int start = i;
+                while (i < len && (c = text.charAt(i)) >= '0' && c <= '9') {
+                    if (number > (Integer.MAX_VALUE - 9) / 10) {
+                        throw new DurationFormatException(text.toString());
+                    }
+                    number = number * 10 + (c - '0');
+                    i++;
+                }
+                if (i == start || i == len) {
+                    throw new DurationFormatException(text.toString());
+                }
+
+                int fraction = 0;
+                boolean hasFraction = false;
+                if (c == '.' || c == ',') {
+                    decimalSignComma = c == ',';
+                    hasFraction = true;
+                    int scale = NANOS_IN_SECOND;
+                    start = ++i;
+                    while (i < len && (c = text.charAt(i)) >= '0' && c <= '9') {
+                        scale /= 10;
+                        fraction += (c - '0') * scale;
+                        i++;
+                    }
+                    if (i == start || i == len) {
+                        throw new DurationFormatException(text.toString());
+                    }
+                }
+
+                int designator = designatorRank(c, timePart);
+                if (designator <= lastDesignator || (hasFraction && designator != SECONDS_RANK)) {
+                    throw new DurationFormatException(text.toString());
+                }
+                lastDesignator = designator;
+                switch (designator) {
+                    case YEARS_RANK -> years = number;
+                    case MONTHS_RANK -> months = number;
+                    case WEEKS_RANK -> weeks = number;
+                    case DAYS_RANK -> days = number;
+                    case HOURS_RANK -> hours = number;
+                    case MINUTES_RANK -> minutes = number;
+                    default -> {
+                        seconds = number;
+                        nanos = fraction;
+                    }
+                }
+                i++;
+            }
+            if (lastDesignator == 0) {
+                throw new DurationFormatException(text.toString());
+            }
+
+            int sign = negative ? -1 : 1;
+            this.value = text.toString();
+            this.years = sign * years;
+            this.months = sign * months;
+            this.weeks = sign * weeks;
+            this.days = sign * days;
+            this.hours = sign * hours;
+            this.minutes = sign * minutes;
+            this.seconds = sign * seconds;
+            this.fractionalSecondsAsNanos = sign * nanos;
+            this.decimalSignComma = decimalSignComma;
+
+            this.nominalMonths = sign * (years * (long) MONTHS_IN_YEAR + months);
+            this.exactSeconds = sign * (weeks * SECONDS_IN_WEEK + days * SECONDS_IN_DAY
+                + hours * 3600L + minutes * 60L + seconds);
+            this.exactNanos = sign * nanos;
+        } catch (IllegalArgumentException e) {
+            ParseInstrumentation.failed(ParseMetrics.Type.DURATION, text.length(), parseStart, e);
+            throw e;
+        }
+        ParseInstrumentation.parsed(ParseMetrics.Type.DURATION, text.length(), parseStart, null);
+    }
+
+    /**
+     * Creates the result of an arithmetic operation, with the fields derived from the nominal and the exact part, e.g.
+     * <code>P1Y2M3DT4H</code> for 14 months and 3 days and 4 hours.
+     */
+    private EhrDuration(long nominalMonths, long exactSeconds, int exactNanos) {
+        this.nominalMonths = nominalMonths;
+        this.exactSeconds = exactSeconds;
+        this.exactNanos = exactNanos;
+
+        years = Math.toIntExact(nominalMonths / MONTHS_IN_YEAR);
+        months = (int) (nominalMonths % MONTHS_IN_YEAR);
+        weeks = 0;
+        days = Math.toIntExact(exactSeconds / SECONDS_IN_DAY);
+        hours = (int) (exactSeconds % SECONDS_IN_DAY / 3600);
+        minutes = (int) (exactSeconds % 3600 / 60);
+        seconds = (int) (exactSeconds % 60);
+        fractionalSecondsAsNanos = exactNanos;
+        decimalSignComma = false;
+    }
+
+    /**
+     * A duration which would be both positive and negative, e.g. one month minus one day, cannot be expressed in ISO
+     * 8601. Its months are therefore converted into seconds with their average length, see {@link EhrDuration}, so
+     * that it is given by its exact part only, e.g. <code>P29DT10H29M6S</code> for one month minus one day.
+     *
+     * @param nanos any number of nanoseconds, which are carried over to the seconds
+     */
+    static EhrDuration of(long nominalMonths, long seconds, long nanos) {
+        if (nominalMonths > 0 && (seconds < 0 || nanos < 0) || nominalMonths < 0 && (seconds > 0 || nanos > 0)) {
+            seconds = Math.addExact(Math.multiplyExact(nominalMonths, SECONDS_IN_MONTH), seconds);
+            nominalMonths = 0;
+        }
+        seconds = Math.addExact(seconds, nanos / NANOS_IN_SECOND);
+        nanos %= NANOS_IN_SECOND;
+        // Giving seconds and nanoseconds the same sign
+        if (seconds > 0 && nanos < 0) {
+            seconds--;
+            nanos += NANOS_IN_SECOND;
+        } else if (seconds < 0 && nanos > 0) {
+            seconds++;
+            nanos -= NANOS_IN_SECOND;
+        }
+        return new EhrDuration(nominalMonths, seconds, (int) nanos);
+    }
+
+    /**
+     * @return the position of the designator within a duration, or -1 if the designator is not allowed there
+     */
+    private static int designatorRank(char designator, boolean timePart) {
+        if (timePart) {
+            return switch (designator) {
+                case 'H' -> HOURS_RANK;
+                case 'M' -> MINUTES_RANK;
+                case 'S' -> SECONDS_RANK;
+                default -> -1;
+            };
+        } else {
+            return switch (designator) {
+                case 'Y' -> YEARS_RANK;
+                case 'M' -> MONTHS_RANK;
+                case 'W' -> WEEKS_RANK;
+                case 'D' -> DAYS_RANK;
+                default -> -1;
+            };
+        }
     }
 
     @Override
@@ -22,10 +279,69 @@ public class EhrDuration extends EhrTimeDefinitions implements Iso8601Duration {
         return null;
     }
 
+    /**
+     * @return the value as it was declared, or in the form of {@link #EhrDuration(long, long, int)} for the result of
+     *     an arithmetic operation
+     */
     @Nonnull
     @Override
     public String getValue() {
-        return value;
+        String result = value;
+        if (result == null) {
+            // Racing threads create equal strings, so the field does not need to be volatile
+            result = format();
+            value = result;
+        }
+        return result;
+    }
+
+    /**
+     * Formats the fields with a leading minus sign if they are negative. The fields of a result all have the same
+     * sign, see {@link #of(long, long, long)}.
+     */
+    private String format() {
+        return Iso8601Formatter.toString(this);
+    }
+
+    /**
+     * Writes the same representation as the one of a result of the arithmetic, see {@link #getValue()}
+     */
+    @Override
+    public int formatTo(byte[] bytes, int offset) {
+        boolean zero = nominalMonths == 0 && exactSeconds == 0 && exactNanos == 0;
+        boolean negative = !zero && nominalMonths <= 0 && exactSeconds <= 0 && exactNanos <= 0;
+        int sign = negative ? -1 : 1;
+        int position = offset;
+        if (negative) {
+            bytes[position++] = '-';
+        }
+        bytes[position++] = 'P';
+        position = field(bytes, position, sign * years, 'Y');
+        position = field(bytes, position, sign * months, 'M');
+        position = field(bytes, position, sign * weeks, 'W');
+        position = field(bytes, position, sign * days, 'D');
+        if (hours != 0 || minutes != 0 || seconds != 0 || fractionalSecondsAsNanos != 0 || zero) {
+            bytes[position++] = 'T';
+            position = field(bytes, position, sign * hours, 'H');
+            position = field(bytes, position, sign * minutes, 'M');
+            if (seconds != 0 || fractionalSecondsAsNanos != 0 || zero) {
+                position = Iso8601Formatter.number(bytes, position, sign * seconds);
+                if (fractionalSecondsAsNanos != 0) {
+                    position = Iso8601Formatter.fraction(bytes, position, Math.abs(fractionalSecondsAsNanos));
+                }
+                bytes[position++] = 'S';
+            }
+        }
+        return position;
+    }
+
+    private static int field(byte[] bytes, int position, int field, char designator) {
+        if (field == 0) {
+            return position;
+        }
+        position = Iso8601Formatter.number(bytes, position, field);
+        bytes[position] = (byte) designator;
+        return position + 1;
     }
 
     @Override
@@ -35,158 +351,265 @@ public class EhrDuration extends EhrTimeDefinitions implements Iso8601Duration {
 
     @Override
     public Integer years() {
-        // TODO Create constant
-        Pattern YEAR_PATTERN = Pattern.compile("\\p{Upper}(\\p{Digit}+)Y");
-        Matcher m = YEAR_PATTERN.matcher(value);
-        if (m.find()) {
-            return Integer.parseInt(m.group(1));
-        } else {
-            return 0;
-        }
+        return years;
     }
 
     @Override
     public Integer months() {
-        // TODO Create constant
-        Pattern MONTHS_PATTERN = Pattern.compile("(\\d+)M.*T?");
-        Matcher m = MONTHS_PATTERN.matcher(value);
-        if (m.find()) {
-            return Integer.parseInt(m.group(1));
-        } else {
-            return 0;
-        }
+        return months;
     }
 
     @Override
     public Integer days() {
-        Pattern DAYS_PATTERN = Pattern.compile("(\\p{Digit}+)D");
-        Matcher m = DAYS_PATTERN.matcher(value);
-        if (m.find()) {
-            return Integer.parseInt(m.group(1));
-        } else {
-            return 0;
-        }
+        return days;
     }
 
     @Override
     public Integer hours() {
-        Pattern HOURS_PATTERN = Pattern.compile("T.*?(\\d+)H");
-        Matcher m = HOURS_PATTERN.matcher(value);
-        if (m.find()) {
-            return Integer.parseInt(m.group(1));
-        } else {
-            return 0;
-        }
+        return hours;
     }
 
     @Override
     public Integer minutes() {
-        Pattern MINUTES_PATTERN = Pattern.compile("T.*?(\\d+)M");
-        Matcher m = MINUTES_PATTERN.matcher(value);
-        if (m.find()) {
-            return Integer.parseInt(m.group(1));
-        } else {
-            return 0;
-        }
+        return minutes;
     }
 
     @Override
     public Integer seconds() {
-        Pattern SECONDS_PATTERN = Pattern.compile("T.*?([\\d.,]+)S");
-        Matcher m = SECONDS_PATTERN.matcher(value);
-        if (m.find()) {
-            return Double.valueOf(
-                Math.floor(
-                    Double.parseDouble(
-                        m.group(1).replace(",", ".")
-                    )
-                )
-            ).intValue();
-        } else {
-            return 0;
-        }
+        return seconds;
     }
 
     @Override
     public Double fractionalSeconds() {
-        Pattern SECONDS_PATTERN = Pattern.compile("T.*?([\\d,.]+)S");
-        Matcher m = SECONDS_PATTERN.matcher(value);
-        if (m.find()) {
-            double seconds = Double.parseDouble(m.group(1).replace(",", "."));
-            return seconds - Math.floor(seconds);
-        } else {
-            return 0.0;
-        }
+        return (double) fractionalSecondsAsNanos / NANOS_IN_SECOND;
     }
 
     @Override
     public Integer weeks() {
-        Pattern WEEKS_PATTERN = Pattern.compile("(\\d+)W");
-        Matcher m = WEEKS_PATTERN.matcher(value);
-        if (m.find()) {
-            return Integer.parseInt(m.group(1));
-        } else {
-            return 0;
-        }
+        return weeks;
     }
 
     @Override
     public Boolean isDecimalSignComma() {
-        return value.contains(",");
+        return decimalSignComma;
     }
 
+    @Override
+    public int yearsAsInt() {
+        return years;
+    }
+
+    @Override
+    public int monthsAsInt() {
+        return months;
+    }
+
+    @Override
+    public int weeksAsInt() {
+        return weeks;
+    }
+
+    @Override
+    public int daysAsInt() {
+        return days;
+    }
+
+    @Override
+    public int hoursAsInt() {
+        return hours;
+    }
+
+    @Override
+    public int minutesAsInt() {
+        return minutes;
+    }
+
+    @Override
+    public int secondsAsInt() {
+        return seconds;
+    }
+
+    @Override
+    public int fractionalSecondsAsNanos() {
+        return fractionalSecondsAsNanos;
+    }
+
+    long nominalMonths() {
+        return nominalMonths;
+    }
+
+    long exactSeconds() {
+        return exactSeconds;
+    }
+
+    /**
+     * @return the duration in whole seconds, with months counted by their average length, see {@link EhrDuration}
+     */
+    @Override
+    public long toSecondsAsLong() {
+        return Math.addExact(Math.multiplyExact(nominalMonths, SECONDS_IN_MONTH), exactSeconds);
+    }
+
+    /**
+     * @return the fraction of the second in nanoseconds, negative for a negative duration
+     */
+    @Override
+    public int nanoAsInt() {
+        return exactNanos;
+    }
+
+    /**
+     * @return the exact length of the duration in seconds, with months counted by their average length, see
+     *     {@link EhrDuration}
+     */
     @Override
     public Real toSeconds() {
-        return null;
+        return EhrReal.ofSeconds(toSecondsAsLong(), exactNanos);
     }
 
     @Override
     public String asString() {
-        return null;
+        return Iso8601Formatter.toString(this);
     }
 
     @Override
-    public Iso8601Duration add(Object o) {
-        return null;
+    public EhrDuration add(Object o) {
+        EhrDuration other = operand("add", o);
+        return of(
+            Math.addExact(nominalMonths, other.nominalMonths),
+            Math.addExact(exactSeconds, other.exactSeconds),
+            (long) exactNanos + other.exactNanos
+        );
     }
 
     @Override
-    public Iso8601Duration subtract(Object o) {
-        return null;
+    public EhrDuration subtract(Object o) {
+        return add(operand("subtract", o).negative());
     }
 
+    /**
+     * Multiplies the duration with an integral or decimal number. Whole months remain months, while any fraction of a
+     * month is converted into seconds. The result is rounded to nanoseconds.
+     */
     @Override
-    public Iso8601Duration multiply(Object o) {
-        return null;
+    public EhrDuration multiply(Object o) {
+        if (isIntegral(o)) {
+            long factor = ((Number) o).longValue();
+            return of(
+                Math.multiplyExact(nominalMonths, factor),
+                Math.multiplyExact(exactSeconds, factor),
+                Math.multiplyExact((long) exactNanos, factor)
+            );
+        }
+        return scale(decimal("multiply with", o), BigDecimal.ONE);
     }
 
+    /**
+     * Divides the duration by an integral or decimal number, see {@link #multiply(Object)}.
+     *
+     * @throws ArithmeticException if the divisor is zero
+     */
     @Override
-    public Iso8601Duration divide(Object o) {
-        return null;
+    public EhrDuration divide(Object o) {
+        if (isIntegral(o)) {
+            long divisor = ((Number) o).longValue();
+            // Staying with plain arithmetic if the result is exact and the nanoseconds fit into a long
+            if (divisor != 0 && nominalMonths % divisor == 0
+                && Math.abs(exactSeconds) < Long.MAX_VALUE / NANOS_IN_SECOND) {
+                long nanos = exactSeconds * NANOS_IN_SECOND + exactNanos;
+                if (nanos % divisor == 0) {
+                    return of(nominalMonths / divisor, 0, nanos / divisor);
+                }
+            }
+        }
+        return scale(BigDecimal.ONE, decimal("divide by", o));
+    }
+
+    private EhrDuration scale(BigDecimal numerator, BigDecimal denominator) {
+        BigDecimal months = BigDecimal.valueOf(nominalMonths).multiply(numerator);
+        BigDecimal wholeMonths = months.divideToIntegralValue(denominator);
+        BigDecimal remainingMonths = months.subtract(wholeMonths.multiply(denominator));
+        BigDecimal nanos = BigDecimal.valueOf(exactSeconds).movePointRight(9)
+            .add(BigDecimal.valueOf(exactNanos))
+            .multiply(numerator)
+            .add(remainingMonths.multiply(BigDecimal.valueOf(SECONDS_IN_MONTH)).movePointRight(9));
+        BigInteger[] result = nanos.divide(denominator, 0, RoundingMode.HALF_EVEN).toBigIntegerExact()
+            .divideAndRemainder(BigInteger.valueOf(NANOS_IN_SECOND));
+        return of(wholeMonths.longValueExact(), result[0].longValueExact(), result[1].longValue());
+    }
+
+    private static boolean isIntegral(Object o) {
+        return o instanceof Integer || o instanceof Long || o instanceof Short || o instanceof Byte;
+    }
+
+    private static BigDecimal decimal(String operation, Object o) {
+        if (o instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (o instanceof Number number) {
+            try {
+                return new BigDecimal(number.toString());
+            } catch (NumberFormatException e) {
+                throw new OperandTypeMismatchException(operation, o);
+            }
+        }
+        throw new OperandTypeMismatchException(operation, o);
+    }
+
+    private static EhrDuration operand(String operation, Object o) {
+        if (o instanceof EhrDuration duration) {
+            return duration;
+        }
+        throw new OperandTypeMismatchException(operation, o);
     }
 
     @Override
-    public Iso8601Duration negative() {
-        return null;
+    public EhrDuration negative() {
+        return new EhrDuration(-nominalMonths, -exactSeconds, -exactNanos);
     }
 
+    /**
+     * Orders the durations by their length, with months counted by their average length, see {@link EhrDuration}.
+     */
     @Override
-    public Boolean lessThan(Object o) {
-        return null;
+    public int compareTo(@Nonnull EhrDuration other) {
+        int result = Long.compare(toSecondsAsLong(), other.toSecondsAsLong());
+        return result != 0 ? result : Integer.compare(exactNanos, other.exactNanos);
     }
 
     @Override
-    public Boolean lessThanOrEqual(Object o) {
-        return null;
+    public Boolean lessThan(Object other) {
+        if (other instanceof EhrDuration otherDuration) {
+            return compareTo(otherDuration) < 0;
+        } else {
+            throw new ComparisonTypeMismatchException("duration", other.getClass());
+        }
     }
 
     @Override
-    public Boolean greaterThan(Object o) {
-        return null;
+    public Boolean lessThanOrEqual(Object other) {
+        if (other instanceof EhrDuration otherDuration) {
+            return compareTo(otherDuration) <= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("duration", other.getClass());
+        }
     }
 
     @Override
-    public Boolean greaterThanOrEqual(Object o) {
-        return null;
+    public Boolean greaterThan(Object other) {
+        if (other instanceof EhrDuration otherDuration) {
+            return compareTo(otherDuration) > 0;
+        } else {
+            throw new ComparisonTypeMismatchException("duration", other.getClass());
+        }
+    }
+
+    @Override
+    public Boolean greaterThanOrEqual(Object other) {
+        if (other instanceof EhrDuration otherDuration) {
+            return compareTo(otherDuration) >= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("duration", other.getClass());
+        }
     }
 }
@@ -0,0 +1,155 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.openehr.base.foundation_types.primitive_types.Real;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Decimal number which is returned by {@link EhrDuration#toSeconds()}, backed by a {@link BigDecimal} so that the
+ * nanoseconds of a duration are kept exactly. The arithmetic accepts other instances and any {@link Number}, a
+ * division is rounded to 34 significant digits.
+ */
+final class EhrReal implements Real, Comparable<EhrReal> {
+
+    @Nonnull
+    private final BigDecimal value;
+
+    private EhrReal(BigDecimal value) {
+        this.value = value;
+    }
+
+    /**
+     * @param nanos the fraction of the second, with the same sign as the seconds
+     */
+    static EhrReal ofSeconds(long seconds, int nanos) {
+        return new EhrReal(BigDecimal.valueOf(seconds).add(BigDecimal.valueOf(nanos, 9)).stripTrailingZeros());
+    }
+
+    BigDecimal toBigDecimal() {
+        return value;
+    }
+
+    @Override
+    public Integer floor() {
+        return value.setScale(0, RoundingMode.FLOOR).intValueExact();
+    }
+
+    @Override
+    public EhrReal add(Object o) {
+        return new EhrReal(value.add(operand("add", o)));
+    }
+
+    @Override
+    public EhrReal subtract(Object o) {
+        return new EhrReal(value.subtract(operand("subtract", o)));
+    }
+
+    @Override
+    public EhrReal multiply(Object o) {
+        return new EhrReal(value.multiply(operand("multiply with", o)));
+    }
+
+    /**
+     * @throws ArithmeticException if the divisor is zero
+     */
+    @Override
+    public EhrReal divide(Object o) {
+        return new EhrReal(value.divide(operand("divide by", o), MathContext.DECIMAL128));
+    }
+
+    /**
+     * Calculates exactly for an integral exponent which is not negative, and with the precision of a
+     * <code>double</code> otherwise.
+     */
+    @Override
+    public EhrReal exponent(Object o) {
+        BigDecimal exponent = operand("raise to", o);
+        if (exponent.signum() >= 0 && exponent.stripTrailingZeros().scale() <= 0 && exponent.intValue() <= 999) {
+            return new EhrReal(value.pow(exponent.intValue()));
+        }
+        return new EhrReal(BigDecimal.valueOf(Math.pow(value.doubleValue(), exponent.doubleValue())));
+    }
+
+    @Override
+    public EhrReal negative() {
+        return new EhrReal(value.negate());
+    }
+
+    @Override
+    public int compareTo(@Nonnull EhrReal other) {
+        return value.compareTo(other.value);
+    }
+
+    @Override
+    public Boolean lessThan(Object other) {
+        return value.compareTo(comparand(other)) < 0;
+    }
+
+    @Override
+    public Boolean lessThanOrEqual(Object other) {
+        return value.compareTo(comparand(other)) <= 0;
+    }
+
+    @Override
+    public Boolean greaterThan(Object other) {
+        return value.compareTo(comparand(other)) > 0;
+    }
+
+    @Override
+    public Boolean greaterThanOrEqual(Object other) {
+        return value.compareTo(comparand(other)) >= 0;
+    }
+
+    private static BigDecimal operand(String operation, Object o) {
+        if (o instanceof EhrReal real) {
+            return real.value;
+        }
+        if (o instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (o instanceof Number number) {
+            try {
+                return new BigDecimal(number.toString());
+            } catch (NumberFormatException e) {
+                throw new OperandTypeMismatchException(operation, o);
+            }
+        }
+        throw new OperandTypeMismatchException(operation, o);
+    }
+
+    private static BigDecimal comparand(Object other) {
+        if (other instanceof EhrReal real) {
+            return real.value;
+        }
+        if (other instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (other instanceof Number number) {
+            try {
+                return new BigDecimal(number.toString());
+            } catch (NumberFormatException e) {
+                throw new ComparisonTypeMismatchException("real", other.getClass());
+            }
+        }
+        throw new ComparisonTypeMismatchException("real", other.getClass());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof EhrReal real && value.compareTo(real.value) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return value.stripTrailingZeros().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value.toPlainString();
+    }
+}
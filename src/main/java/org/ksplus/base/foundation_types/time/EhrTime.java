@@ -1,163 +1,354 @@
 package org.ksplus.base.foundation_types.time;
 
-import org.openehr.base.foundation_types.time.Iso8601Duration;
+import java.nio.ByteBuffer;
+
 import org.openehr.base.foundation_types.time.Iso8601Time;
 import org.openehr.base.foundation_types.time.Iso8601Timezone;
 
-public class EhrTime implements Iso8601Time {
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Time of day, e.g. <code>14:37:23.508+02:00</code>, in extended or basic format. The minute and the second may be
+ * omitted, and the second may have a fraction with a period or a comma as decimal sign.
+ *
+ * <p>The time part is scanned by the same routine as the one of {@link EhrDateTime}, and kept in the layout of
+ * {@link PackedDateTime}. The arithmetic works on the nanosecond of the day and wraps around at midnight.</p>
+ */
+public class EhrTime extends EhrTimeDefinitions
+    implements Iso8601Time, PrimitiveTimeAccess, Iso8601Formattable, Comparable<EhrTime> {
+
+    private static final long NANOS_IN_SECOND = 1_000_000_000;
+
+    private static final long NANOS_IN_MINUTE = 60 * NANOS_IN_SECOND;
+
+    private static final long NANOS_IN_HOUR = 60 * NANOS_IN_MINUTE;
+
+    private static final long NANOS_IN_DAY = 24 * NANOS_IN_HOUR;
+
+    /**
+     * Created on first access for the results of the arithmetic
+     */
+    private String value;
+
+    /**
+     * Clock fields together with the flags, see {@link PackedDateTime}
+     */
+    private final long fields;
+
+    /**
+     * Nanosecond of the second and timezone offset, see {@link PackedDateTime}
+     */
+    private final long nanosAndOffset;
+
+    public EhrTime(@Nonnull String value) {
+        this(value, scan(value, new DateTimeScanner()));
+    }
+
+    private EhrTime(String value, DateTimeScanner scanner) {
+        this.value = value;
+        fields = scanner.packedFields();
+        nanosAndOffset = scanner.packedNanosAndOffset();
+    }
+
+    /**
+     * Creates the result of an arithmetic operation
+     */
+    private EhrTime(long fields, long nanosAndOffset) {
+        this.fields = fields;
+        this.nanosAndOffset = nanosAndOffset;
+    }
+
+    /**
+     * Parses a time from UTF-8 encoded bytes without decoding them into an intermediate string, e.g. when reading
+     * files. Only the value returned by {@link #getValue()} is copied out of the bytes.
+     *
+     * @throws IllegalArgumentException if the bytes do not contain a valid time
+     */
+    public static EhrTime parse(@Nonnull byte[] bytes, int offset, int length) {
+        return parse(Utf8Text.of(bytes, offset, length));
+    }
+
+    /**
+     * Same as {@link #parse(byte[], int, int)} for the bytes between the position and the limit of the buffer. The
+     * position of the buffer is not changed.
+     */
+    public static EhrTime parse(@Nonnull ByteBuffer buffer) {
+        return parse(Utf8Text.of(buffer));
+    }
+
+    private static EhrTime parse(Utf8Text text) {
+        return new EhrTime(text.toString(), scan(text, new DateTimeScanner()));
+    }
+
+    private static DateTimeScanner scan(CharSequence value, DateTimeScanner scanner) {
+        if (value == null) {
+            throw new TimeFormatException(null);
+        }
+        long start = ParseInstrumentation.start();
+        if (!scanner.scanTime(value, 0, value.length(), false)) {
+            TimeFormatException exception = new TimeFormatException(value.toString());
+            ParseInstrumentation.failed(ParseMetrics.Type.TIME, value.length(), start, exception);
+            throw exception;
+        }
+        ParseInstrumentation.parsed(ParseMetrics.Type.TIME, value.length(), start,
+            ParseInstrumentation.format(PackedDateTime.has(scanner.flags, PackedDateTime.EXTENDED)));
+        return scanner;
+    }
 
     @Override
     public Integer hour() {
-        return null;
+        return hourAsInt();
     }
 
     @Override
     public Integer minute() {
-        return null;
+        return minuteAsInt();
     }
 
     @Override
     public Integer second() {
-        return null;
+        return secondAsInt();
     }
 
     @Override
     public Double fractionalSecond() {
-        return null;
+        return nanoAsInt() / (double) NANOS_IN_SECOND;
     }
 
     @Override
-    public Iso8601Timezone timezone() {
-        return null;
+    public int hourAsInt() {
+        return PackedDateTime.hour(fields);
     }
 
     @Override
-    public Boolean minuteUnknown() {
-        return null;
+    public int minuteAsInt() {
+        return PackedDateTime.minute(fields);
     }
 
     @Override
-    public Boolean secondUnknown() {
-        return null;
+    public int secondAsInt() {
+        return PackedDateTime.second(fields);
     }
 
     @Override
-    public Boolean isDecimalSignComma() {
-        return null;
+    public int nanoAsInt() {
+        return PackedDateTime.nano(nanosAndOffset);
     }
 
+    @Nullable
     @Override
-    public String getValue() {
-        return null;
+    public Iso8601Timezone timezone() {
+        if (!PackedDateTime.has(fields, PackedDateTime.TIMEZONE)) {
+            return null;
+        }
+        return EhrTimezone.of(PackedDateTime.offsetMinutes(nanosAndOffset), PackedDateTime.timezoneFormat(fields));
     }
 
     @Override
-    public Boolean isPartial() {
-        return null;
+    public Boolean minuteUnknown() {
+        return minuteUnknownAsBoolean();
     }
 
     @Override
-    public Boolean isExtended() {
-        return null;
+    public Boolean secondUnknown() {
+        return secondUnknownAsBoolean();
     }
 
     @Override
-    public Boolean hasFractionalSecond() {
-        return null;
+    public boolean minuteUnknownAsBoolean() {
+        return !PackedDateTime.has(fields, PackedDateTime.MINUTE_KNOWN);
     }
 
     @Override
-    public String asString() {
-        return null;
+    public boolean secondUnknownAsBoolean() {
+        return !PackedDateTime.has(fields, PackedDateTime.SECOND_KNOWN);
     }
 
     @Override
-    public Iso8601Time add(Object aDiff) {
-        return null;
+    public Boolean isDecimalSignComma() {
+        return PackedDateTime.has(fields, PackedDateTime.DECIMAL_SIGN_COMMA);
     }
 
+    /**
+     * @return the value as it was declared, or the canonical representation for the result of an arithmetic
+     *     operation
+     */
+    @Nonnull
     @Override
-    public Iso8601Time subtract(Object aDiff) {
-        return null;
+    public String getValue() {
+        String result = value;
+        if (result == null) {
+            // Racing threads create equal strings, so the field does not need to be volatile
+            result = asString();
+            value = result;
+        }
+        return result;
     }
 
     @Override
-    public Iso8601Duration diff(Object aTime) {
-        return null;
+    public Boolean isPartial() {
+        return secondUnknownAsBoolean();
     }
 
     @Override
-    public Boolean lessThan(Object other) {
-        return null;
+    public Boolean isExtended() {
+        return PackedDateTime.has(fields, PackedDateTime.EXTENDED);
     }
 
     @Override
-    public Boolean lessThanOrEqual(Object other) {
-        return null;
+    public Boolean hasFractionalSecond() {
+        return PackedDateTime.has(fields, PackedDateTime.FRACTIONAL_SECOND);
     }
 
     @Override
-    public Boolean greaterThan(Object other) {
-        return null;
+    public String asString() {
+        return Iso8601Formatter.toString(this);
     }
 
     @Override
-    public Boolean greaterThanOrEqual(Object other) {
-        return null;
+    public int formatTo(byte[] bytes, int offset) {
+        return Iso8601Formatter.time(bytes, offset, fields, nanosAndOffset);
     }
 
+    /**
+     * Adds the exact length of the duration, with months counted by their average length, see {@link EhrDuration}.
+     * The result wraps around at midnight and has the same precision and timezone as this time, e.g.
+     * <code>23:30</code> plus 45 minutes is <code>00:15</code>.
+     */
     @Override
-    public Boolean validYear(Integer y) {
-        return null;
+    public EhrTime add(Object aDiff) {
+        EhrDuration duration = duration("add", aDiff);
+        return plusNanos(nanos(duration));
     }
 
+    /**
+     * @see #add(Object)
+     */
     @Override
-    public Boolean validMonth(Integer m) {
-        return null;
+    public EhrTime subtract(Object aDiff) {
+        EhrDuration duration = duration("subtract", aDiff);
+        return plusNanos(-nanos(duration));
     }
 
+    /**
+     * Calculates the exact difference to the other time after normalizing both to UTC, which is negative if the other
+     * time is later. Unknown fields are treated as zero.
+     */
     @Override
-    public Boolean validDay(Integer y, Integer m, Integer d) {
-        return null;
+    public EhrDuration diff(Object aTime) {
+        if (aTime instanceof EhrTime other) {
+            long nanos = utcNanoOfDay() - other.utcNanoOfDay();
+            return EhrDuration.of(0, nanos / NANOS_IN_SECOND, nanos % NANOS_IN_SECOND);
+        }
+        throw new OperandTypeMismatchException("diff", aTime);
     }
 
-    @Override
-    public Boolean validHour(Integer h, Integer m, Integer s) {
-        return null;
+    private static EhrDuration duration(String operation, Object aDiff) {
+        if (aDiff instanceof EhrDuration duration) {
+            return duration;
+        }
+        throw new OperandTypeMismatchException(operation, aDiff);
     }
 
-    @Override
-    public Boolean validMinute(Integer m) {
-        return null;
+    private static long nanos(EhrDuration duration) {
+        // Only the remainder within a day matters, so that long durations do not overflow
+        long seconds = Math.floorMod(duration.toSecondsAsLong(), NANOS_IN_DAY / NANOS_IN_SECOND);
+        return seconds * NANOS_IN_SECOND + duration.nanoAsInt();
     }
 
-    @Override
-    public Boolean validSecond(Integer s) {
-        return null;
+    private EhrTime plusNanos(long nanos) {
+        long nanoOfDay = Math.floorMod(nanoOfDay() + nanos, NANOS_IN_DAY);
+        int hour = (int) (nanoOfDay / NANOS_IN_HOUR);
+        int minute = (int) (nanoOfDay / NANOS_IN_MINUTE % 60);
+        int second = (int) (nanoOfDay / NANOS_IN_SECOND % 60);
+        int nano = (int) (nanoOfDay % NANOS_IN_SECOND);
+
+        // Keeping the flags, but not the clock fields and whether there is a fraction
+        long flags = fields & ~PackedDateTime.fields(0, 0, 0, 0x1F, 0x3F, 0x3F, PackedDateTime.FRACTIONAL_SECOND);
+        boolean secondKnown = PackedDateTime.has(fields, PackedDateTime.SECOND_KNOWN);
+        boolean minuteKnown = PackedDateTime.has(fields, PackedDateTime.MINUTE_KNOWN);
+        if (!secondKnown) {
+            second = 0;
+            nano = 0;
+            if (!minuteKnown) {
+                minute = 0;
+            }
+        }
+        if (nano != 0 || PackedDateTime.has(fields, PackedDateTime.FRACTIONAL_SECOND) && secondKnown) {
+            flags |= PackedDateTime.FRACTIONAL_SECOND;
+        }
+        return new EhrTime(PackedDateTime.fields(0, 0, 0, hour, minute, second, flags),
+            PackedDateTime.nanosAndOffset(nano, PackedDateTime.offsetMinutes(nanosAndOffset)));
+    }
+
+    private long nanoOfDay() {
+        return hourAsInt() * NANOS_IN_HOUR + minuteAsInt() * NANOS_IN_MINUTE + secondAsInt() * NANOS_IN_SECOND
+            + nanoAsInt();
+    }
+
+    /**
+     * @return the nanosecond of the day in UTC, which is negative or more than a day for a time which is on the
+     *     previous or the next day in UTC
+     */
+    private long utcNanoOfDay() {
+        return nanoOfDay() - PackedDateTime.offsetMinutes(nanosAndOffset) * NANOS_IN_MINUTE;
     }
 
+    /**
+     * Orders the times chronologically, after normalizing them to UTC, as if they were on the same day. Times without
+     * timezone are treated as UTC. A partial time comes before the more precise times within the period which it
+     * denotes, e.g. <code>12 &lt; 12:00 &lt; 12:00:00</code>.
+     */
     @Override
-    public Boolean validFractionalSecond(Double fs) {
-        return null;
+    public int compareTo(@Nonnull EhrTime other) {
+        int result = Long.compare(utcNanoOfDay(), other.utcNanoOfDay());
+        if (result == 0) {
+            result = Integer.compare(precision(), other.precision());
+        }
+        return result;
+    }
+
+    private int precision() {
+        if (PackedDateTime.has(fields, PackedDateTime.SECOND_KNOWN)) {
+            return 2;
+        }
+        return PackedDateTime.has(fields, PackedDateTime.MINUTE_KNOWN) ? 1 : 0;
     }
 
     @Override
-    public Boolean validIso8601Date(String s) {
-        return null;
+    public Boolean lessThan(Object other) {
+        if (other instanceof EhrTime otherTime) {
+            return compareTo(otherTime) < 0;
+        } else {
+            throw new ComparisonTypeMismatchException("time", other.getClass());
+        }
     }
 
     @Override
-    public Boolean validIso8601Time(String s) {
-        return null;
+    public Boolean lessThanOrEqual(Object other) {
+        if (other instanceof EhrTime otherTime) {
+            return compareTo(otherTime) <= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("time", other.getClass());
+        }
     }
 
     @Override
-    public Boolean validIso8601DateTime(String s) {
-        return null;
+    public Boolean greaterThan(Object other) {
+        if (other instanceof EhrTime otherTime) {
+            return compareTo(otherTime) > 0;
+        } else {
+            throw new ComparisonTypeMismatchException("time", other.getClass());
+        }
     }
 
     @Override
-    public Boolean validIso8601Duration(String s) {
-        return null;
+    public Boolean greaterThanOrEqual(Object other) {
+        if (other instanceof EhrTime otherTime) {
+            return compareTo(otherTime) >= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("time", other.getClass());
+        }
     }
 }
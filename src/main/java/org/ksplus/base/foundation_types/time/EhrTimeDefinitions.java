@@ -1,16 +1,18 @@
 package org.ksplus.base.foundation_types.time;
 
-import java.time.DateTimeException;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.util.regex.Matcher;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.openehr.base.foundation_types.time.TimeDefinitions;
 
-import jakarta.annotation.Nonnull;
-import jakarta.annotation.Nullable;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 
@@ -21,13 +23,24 @@ import lombok.NonNull;
 @SuppressWarnings("RedundantIfStatement")
 public class EhrTimeDefinitions implements TimeDefinitions {
 
-    private static final Pattern YYYY_MM_DD_EXTENDED = Pattern.compile("[0-9]{4}-[0-9]{2}-[0-9]{2}");
-    private static final Pattern YYYY_MM_DD_BASIC = Pattern.compile("[0-9]{4}[0-9]{2}[0-9]{2}");
-    private static final Pattern YYYY_MM_EXTENDED = Pattern.compile("[0-9]{4}-[0-9]{2}");
-    private static final Pattern YYYY_MM_BASIC = Pattern.compile("[0-9]{4}[0-9]{2}");
     public static final Pattern YYYY_DDD = Pattern.compile("[0-9]{4}-?([0-9]{3})");
     public static final Pattern YYYY = Pattern.compile("[0-9]{4}");
 
+    /**
+     * One scanner per thread, so that validating a value does not allocate anything
+     */
+    private static final ThreadLocal<DateTimeScanner> SCANNER = ThreadLocal.withInitial(DateTimeScanner::new);
+
+    /**
+     * Number of values from which on a bulk validation is spread over the common fork-join pool
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Number of values validated by one task, a multiple of 64 so that no two tasks write to the same bitmap word
+     */
+    private static final int CHUNK_SIZE = 1 << 12;
+
     @Override
     public Boolean validYear(@NonNull Integer y) {
         return y >= 0;
@@ -43,13 +56,8 @@ public class EhrTimeDefinitions implements TimeDefinitions {
         if (!validYear(y)) {
             return false;
         }
-        try {
-            //noinspection ResultOfMethodCallIgnored
-            LocalDate.of(y, m, d);
-            return true;
-        } catch (DateTimeException e) {
-            return false;
-        }
+        // Same range of years as java.time
+        return y <= Year.MAX_VALUE && IsoCalendar.isValidDate(y, m, d);
     }
 
     @Override
@@ -80,94 +88,185 @@ public class EhrTimeDefinitions implements TimeDefinitions {
 
     @Override
     public Boolean validIso8601Date(@NonNull String s) {
-        Matcher m;
-        if (YYYY_MM_DD_EXTENDED.matcher(s).matches()) {
-            return true;
-        }
-        if (YYYY_MM_DD_BASIC.matcher(s).matches()) {
-            return true;
-        }
-        if (YYYY_MM_EXTENDED.matcher(s).matches()) {
-            return true;
-        }
-        if (YYYY_MM_BASIC.matcher(s).matches()) {
-            return true;
-        }
-        m = YYYY_DDD.matcher(s);
-        if (m.matches()) {
-            try {
-                int dayOfYear = Integer.parseInt(m.group(1));
-                if (dayOfYear < 1 || dayOfYear > 365) {
-                    return false;
-                }
-            } catch (NumberFormatException e) {
-                return false;
-            }
-            return true;
-        }
-        if (YYYY.matcher(s).matches()) {
-            return true;
-        }
-        return false;
+        return isIso8601Date(s, 0, s.length());
     }
 
     @Override
     public Boolean validIso8601Time(@NonNull String s) {
-        record TimeParts(
-            @Nonnull
-            String localTime,
-            @Nullable
-            String timezone
-        ){}
-
-        TimeParts timeParts;
-        // TODO Define pattern as constant
-        Pattern pattern = Pattern.compile("(?<localTime>.*)(?<timezone>[Z+-].*)");
-        Matcher m = pattern.matcher(s);
-        if (m.matches()) {
-            String time = m.group("localTime");
-            String formattedTime = new FormattedLocalTime(time).getValueWithUnknownPartsAsZero();
-            timeParts = new TimeParts(formattedTime, m.group("timezone"));
-        } else {
-            String formattedTime = new FormattedLocalTime(s).getValueWithUnknownPartsAsZero();
-            timeParts = new TimeParts(formattedTime, null);
-        }
+        return isIso8601Time(s);
+    }
 
-        if (timeParts.timezone != null) {
-            try {
-                //noinspection ResultOfMethodCallIgnored
-                ZoneId.of(timeParts.timezone);
-            } catch (Exception e) {
-                return false;
-            }
+    @Override
+    public Boolean validIso8601DateTime(@NonNull String s) {
+        return isIso8601DateTime(s);
+    }
+
+    @Override
+    public Boolean validIso8601Duration(@NonNull String s) {
+        return null;
+    }
+
+    /**
+     * Validates many dates at once, see {@link #validIso8601Date(String)}.
+     *
+     * <p>Large inputs are validated in parallel. A <code>null</code> element counts as invalid.</p>
+     *
+     * @return the positions of the valid values, so that e.g. {@link BitSet#cardinality()} is the number of valid
+     *     values and {@link BitSet#nextClearBit(int)} finds the invalid ones
+     */
+    public BitSet validIso8601Dates(@NonNull List<? extends CharSequence> values) {
+        return validate(values, EhrTimeDefinitions::isIso8601Date);
+    }
+
+    /**
+     * @see #validIso8601Dates(List)
+     */
+    public BitSet validIso8601Dates(@NonNull CharSequence[] values) {
+        return validIso8601Dates(Arrays.asList(values));
+    }
+
+    /**
+     * @see #validIso8601Dates(List)
+     */
+    public BitSet validIso8601Dates(@NonNull Stream<? extends CharSequence> values) {
+        return validIso8601Dates(values.toList());
+    }
+
+    /**
+     * Validates many times at once, see {@link #validIso8601Time(String)} and {@link #validIso8601Dates(List)}.
+     */
+    public BitSet validIso8601Times(@NonNull List<? extends CharSequence> values) {
+        return validate(values, EhrTimeDefinitions::isIso8601Time);
+    }
+
+    /**
+     * @see #validIso8601Times(List)
+     */
+    public BitSet validIso8601Times(@NonNull CharSequence[] values) {
+        return validIso8601Times(Arrays.asList(values));
+    }
+
+    /**
+     * @see #validIso8601Times(List)
+     */
+    public BitSet validIso8601Times(@NonNull Stream<? extends CharSequence> values) {
+        return validIso8601Times(values.toList());
+    }
+
+    /**
+     * Validates many date/times at once, see {@link #validIso8601DateTime(String)} and
+     * {@link #validIso8601Dates(List)}.
+     */
+    public BitSet validIso8601DateTimes(@NonNull List<? extends CharSequence> values) {
+        return validate(values, EhrTimeDefinitions::isIso8601DateTime);
+    }
+
+    /**
+     * @see #validIso8601DateTimes(List)
+     */
+    public BitSet validIso8601DateTimes(@NonNull CharSequence[] values) {
+        return validIso8601DateTimes(Arrays.asList(values));
+    }
+
+    /**
+     * @see #validIso8601DateTimes(List)
+     */
+    public BitSet validIso8601DateTimes(@NonNull Stream<? extends CharSequence> values) {
+        return validIso8601DateTimes(values.toList());
+    }
+
+    private static BitSet validate(List<? extends CharSequence> values, Predicate<CharSequence> validator) {
+        // Random access is needed, so that the chunks can be validated independently of each other
+        List<? extends CharSequence> list = values instanceof RandomAccess ? values : new ArrayList<>(values);
+        int size = list.size();
+        long[] words = new long[(size + 63) >>> 6];
+        IntStream chunks = IntStream.range(0, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        if (size >= PARALLEL_THRESHOLD) {
+            chunks = chunks.parallel();
         }
+        chunks.forEach(chunk -> {
+            int start = chunk * CHUNK_SIZE;
+            int end = (int) Math.min(size, (long) start + CHUNK_SIZE);
+            for (int i = start; i < end; i++) {
+                CharSequence value = list.get(i);
+                if (value != null && validator.test(value)) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        return BitSet.valueOf(words);
+    }
 
-        try {
-            //noinspection ResultOfMethodCallIgnored
-            LocalTime.parse(timeParts.localTime);
-        } catch (Exception e) {
+    static boolean isIso8601Date(CharSequence s) {
+        return isIso8601Date(s, 0, s.length());
+    }
+
+    /**
+     * Checks the format <code>YYYY[-MM[-DD]]</code>, <code>YYYY[MM[DD]]</code> or <code>YYYY[-]DDD</code>.
+     */
+    private static boolean isIso8601Date(CharSequence s, int start, int end) {
+        if (end - start < 4 || !digits(s, start, start + 4)) {
             return false;
         }
-
-        return true;
+        int pos = start + 4;
+        boolean dash = pos < end && s.charAt(pos) == '-';
+        return switch (end - start) {
+            case 4 -> true;
+            // e.g. 202307
+            case 6 -> digits(s, pos, end);
+            // e.g. 2023-07 or 2023210
+            case 7 -> dash ? digits(s, pos + 1, end) : validDayOfYear(s, start, pos);
+            // e.g. 2023-210 or 20230729
+            case 8 -> dash ? validDayOfYear(s, start, pos + 1) : digits(s, pos, end);
+            // e.g. 2023-07-29
+            case 10 -> dash && s.charAt(pos + 3) == '-' && digits(s, pos + 1, pos + 3) && digits(s, pos + 4, end);
+            default -> false;
+        };
     }
 
-    @Override
-    public Boolean validIso8601DateTime(@NonNull String s) {
-        var parts = s.split("T");
-        if (!validIso8601Date(parts[0])) {
+    /**
+     * @param yearStart the index of the year, which has already been checked to consist of four digits
+     * @param start the index of the day of the year
+     */
+    private static boolean validDayOfYear(CharSequence s, int yearStart, int start) {
+        if (!digits(s, start, start + 3)) {
             return false;
         }
-        if (parts.length == 2) {
-            if (!validIso8601Time(parts[1])) {
+        int year = (s.charAt(yearStart) - '0') * 1000 + (s.charAt(yearStart + 1) - '0') * 100
+            + (s.charAt(yearStart + 2) - '0') * 10 + s.charAt(yearStart + 3) - '0';
+        int dayOfYear = (s.charAt(start) - '0') * 100 + (s.charAt(start + 1) - '0') * 10 + s.charAt(start + 2) - '0';
+        return dayOfYear >= 1 && dayOfYear <= IsoCalendar.lengthOfYear(year);
+    }
+
+    private static boolean digits(CharSequence s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
                 return false;
             }
         }
         return true;
     }
 
-    @Override
-    public Boolean validIso8601Duration(@NonNull String s) {
-        return null;
+    private static boolean isIso8601Time(CharSequence s) {
+        return SCANNER.get().scanTime(s, 0, s.length(), false);
+    }
+
+    static boolean isIso8601DateTime(CharSequence s) {
+        int end = s.length();
+        int timeSeparator = -1;
+        for (int i = 0; i < end; i++) {
+            if (s.charAt(i) == 'T') {
+                timeSeparator = i;
+                break;
+            }
+        }
+        if (timeSeparator < 0) {
+            return isIso8601Date(s, 0, end);
+        }
+        // The time may not start with another T, which the scanner would accept as optional time designator
+        return isIso8601Date(s, 0, timeSeparator)
+            && timeSeparator + 1 < end && s.charAt(timeSeparator + 1) != 'T'
+            && SCANNER.get().scanTime(s, timeSeparator + 1, end, false);
     }
 }
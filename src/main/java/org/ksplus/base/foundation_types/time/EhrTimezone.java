@@ -1,30 +1,83 @@
 package org.ksplus.base.foundation_types.time;
 
+import java.nio.ByteBuffer;
 import java.time.DateTimeException;
 import java.time.ZoneId;
-import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.openehr.base.foundation_types.time.Iso8601Timezone;
 
 import lombok.NonNull;
 
-public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone  {
+public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone, PrimitiveTimezoneAccess, Iso8601Formattable {
 
     private static final String MINUS = "−";
 
     private static final String HYPHEN = "-";
 
+    private static final int MAX_OFFSET_MINUTES = 18 * 60;
+
+    private static final int OFFSETS = 2 * MAX_OFFSET_MINUTES + 1;
+
+    /**
+     * Canonical instances for the extended format, e.g. +02:00, indexed by the offset in minutes shifted to be positive
+     */
+    private static final EhrTimezone[] EXTENDED_INSTANCES = new EhrTimezone[OFFSETS];
+
+    /**
+     * Canonical instances for the basic format, e.g. +0200, which are created on first use
+     */
+    private static final AtomicReferenceArray<EhrTimezone> BASIC_INSTANCES = new AtomicReferenceArray<>(OFFSETS);
+
+    /**
+     * Canonical instances for hour-only declarations, e.g. +02, which are created on first use
+     */
+    private static final AtomicReferenceArray<EhrTimezone> HOURS_INSTANCES = new AtomicReferenceArray<>(OFFSETS);
+
+    static {
+        for (int offsetMinutes = -MAX_OFFSET_MINUTES; offsetMinutes <= MAX_OFFSET_MINUTES; offsetMinutes++) {
+            EXTENDED_INSTANCES[offsetMinutes + MAX_OFFSET_MINUTES] =
+                new EhrTimezone(offsetMinutes, PackedDateTime.TIMEZONE_EXTENDED);
+        }
+    }
+
     private final String value;
 
     public EhrTimezone(String value) {
+        this(value, true);
+    }
+
+    /**
+     * @param instrumented whether to report the value to {@link ParseInstrumentation}, which is not the case if it is
+     *     part of another value or has been reported by a factory method already
+     */
+    private EhrTimezone(String value, boolean instrumented) {
         if (value == null) {
             throw new IllegalArgumentException("Timezone value must not be null");
         }
+        long start = instrumented ? ParseInstrumentation.start() : 0;
+        try {
+            this.value = normalize(value);
+        } catch (IllegalArgumentException e) {
+            if (instrumented) {
+                ParseInstrumentation.failed(ParseMetrics.Type.TIMEZONE, value.length(), start, e);
+            }
+            throw e;
+        }
+        if (instrumented) {
+            ParseInstrumentation.parsed(ParseMetrics.Type.TIMEZONE, value.length(), start, format(value.length()));
+        }
+    }
+
+    /**
+     * @return the value with <code>Z</code> replaced by <code>+00:00</code>
+     * @throws IllegalArgumentException if the value is not a valid timezone declaration
+     */
+    private static String normalize(String value) {
         String normalizedValue = value;
         if ("Z".equals(value)) {
             normalizedValue = "+00:00";
         }
-
         checkNoZeroOffsetWithNegativeSign(normalizedValue);
 
         // TODO Add some comments and consider other exception type
@@ -33,8 +86,198 @@ public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone
         } catch (DateTimeException e) {
             throw new IllegalArgumentException(e);
         }
+        return normalizedValue;
+    }
+
+    /**
+     * Creates the value string from the already validated offset, see {@link #of(int, int)}.
+     */
+    private EhrTimezone(int offsetMinutes, int timezoneFormat) {
+        int absoluteOffset = Math.abs(offsetMinutes);
+        int hours = absoluteOffset / 60;
+        int minutes = absoluteOffset % 60;
+        StringBuilder result = new StringBuilder(6);
+        result.append(offsetMinutes < 0 ? '-' : '+');
+        result.append((char) ('0' + hours / 10)).append((char) ('0' + hours % 10));
+        if (timezoneFormat != PackedDateTime.TIMEZONE_HOURS) {
+            if (timezoneFormat != PackedDateTime.TIMEZONE_BASIC) {
+                result.append(':');
+            }
+            result.append((char) ('0' + minutes / 10)).append((char) ('0' + minutes % 10));
+        }
+        this.value = result.toString();
+    }
+
+    /**
+     * Provides a shared instance for the given timezone declaration.
+     *
+     * <p>Since there is only a small number of distinct offsets, the instances are immutable singletons which are
+     * looked up from a lock-free cache without validating the value with {@link ZoneId} again. Values which are not
+     * in one of the common formats, e.g. with the Unicode minus sign, are created with the constructor.</p>
+     *
+     * @throws IllegalArgumentException if the value is not a valid timezone declaration
+     */
+    public static EhrTimezone of(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Timezone value must not be null");
+        }
+        return parse(value);
+    }
+
+    /**
+     * Same as {@link #of(String)} for UTF-8 encoded bytes. Since the instances are shared, no string is created.
+     */
+    public static EhrTimezone parse(@NonNull byte[] bytes, int offset, int length) {
+        return parse(Utf8Text.of(bytes, offset, length));
+    }
 
-        this.value = normalizedValue;
+    /**
+     * Same as {@link #parse(byte[], int, int)} for the bytes between the position and the limit of the buffer. The
+     * position of the buffer is not changed.
+     */
+    public static EhrTimezone parse(@NonNull ByteBuffer buffer) {
+        return parse(Utf8Text.of(buffer));
+    }
+
+    private static EhrTimezone parse(CharSequence text) {
+        long start = ParseInstrumentation.start();
+        EhrTimezone result;
+        try {
+            result = of(text, 0, text.length());
+        } catch (IllegalArgumentException e) {
+            ParseInstrumentation.failed(ParseMetrics.Type.TIMEZONE, text.length(), start, e);
+            throw e;
+        }
+        ParseInstrumentation.parsed(ParseMetrics.Type.TIMEZONE, text.length(), start, format(text.length()));
+        return result;
+    }
+
+    /**
+     * @return the format for the instrumentation, or <code>null</code> if the length does not tell, e.g. for
+     *     <code>Z</code>
+     */
+    private static String format(int length) {
+        return switch (length) {
+            case 5 -> ParseInstrumentation.format(false);
+            case 6 -> ParseInstrumentation.format(true);
+            default -> null;
+        };
+    }
+
+    /**
+     * Same as {@link #of(String)} for the timezone declaration between the given indexes of the text.
+     */
+    static EhrTimezone of(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length == 1 && text.charAt(start) == 'Z') {
+            return of(0, PackedDateTime.TIMEZONE_UTC);
+        }
+        int timezoneFormat = switch (length) {
+            case 3 -> PackedDateTime.TIMEZONE_HOURS;
+            case 5 -> PackedDateTime.TIMEZONE_BASIC;
+            case 6 -> PackedDateTime.TIMEZONE_EXTENDED;
+            default -> -1;
+        };
+        char sign = length > 0 ? text.charAt(start) : 0;
+        int hours = twoDigits(text, start + 1);
+        int minutes = 0;
+        if (timezoneFormat == PackedDateTime.TIMEZONE_BASIC) {
+            minutes = twoDigits(text, start + 3);
+        } else if (timezoneFormat == PackedDateTime.TIMEZONE_EXTENDED) {
+            minutes = text.charAt(start + 3) == ':' ? twoDigits(text, start + 4) : -1;
+        }
+        int offsetMinutes = hours * 60 + minutes;
+        if (timezoneFormat < 0 || (sign != '+' && sign != '-') || hours < 0 || minutes < 0 || minutes > 59
+            || offsetMinutes > MAX_OFFSET_MINUTES || (sign == '-' && offsetMinutes == 0)) {
+            // Leaving the validation and error reporting to the constructor, while the caller reports the value
+            return new EhrTimezone(text.subSequence(start, end).toString(), false);
+        }
+        return of(sign == '-' ? -offsetMinutes : offsetMinutes, timezoneFormat);
+    }
+
+    /**
+     * Same as {@link #of(String)}, but reports an invalid value by the result instead of an exception, which is
+     * cheaper for inputs in which invalid values are common. The values are not reported to
+     * {@link ParseInstrumentation}.
+     */
+    public static ParseResult<EhrTimezone> tryParse(@NonNull String value) {
+        return tryParse(value, 0, value.length());
+    }
+
+    /**
+     * Same as {@link #tryParse(String)} for the timezone declaration between the given indexes of the text. The
+     * error index of the result refers to the whole text.
+     */
+    static ParseResult<EhrTimezone> tryParse(CharSequence text, int start, int end) {
+        DateTimeScanner scanner = new DateTimeScanner();
+        if (scanner.scanTimezone(text, start, end) && text.charAt(start) != MINUS.charAt(0)) {
+            return ParseResult.valid(of(scanner.offsetMinutes, scanner.timezoneFormat));
+        }
+        if (!isOtherZoneIdFormat(text, start, end)) {
+            return ParseResult.invalid(scanner.error, scanner.errorIndex, text.toString());
+        }
+        // Rare declarations which are accepted by the constructor, so that its exception cannot be avoided
+        try {
+            return ParseResult.valid(new EhrTimezone(text.subSequence(start, end).toString(), false));
+        } catch (IllegalArgumentException e) {
+            return scanner.error != null
+                ? ParseResult.invalid(scanner.error, scanner.errorIndex, text.toString())
+                : ParseResult.invalid(ParseError.INVALID_FORMAT, start, text.toString());
+        }
+    }
+
+    /**
+     * @return whether the declaration might be accepted by {@link ZoneId#of(String)} although not by the scanner, e.g.
+     *     with the Unicode minus sign, with seconds, or a region
+     */
+    private static boolean isOtherZoneIdFormat(CharSequence text, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        char first = text.charAt(start);
+        if (first == MINUS.charAt(0) || Character.isLetter(first) && end - start > 1) {
+            return true;
+        }
+        int length = end - start;
+        return (first == '+' || first == '-') && (length == 2 || length == 7 || length == 9);
+    }
+
+    /**
+     * @param offsetMinutes a valid offset, i.e. not more than 18 hours and no negative zero
+     * @param timezoneFormat one of the <code>TIMEZONE_*</code> constants of {@link PackedDateTime}
+     */
+    static EhrTimezone of(int offsetMinutes, int timezoneFormat) {
+        int index = offsetMinutes + MAX_OFFSET_MINUTES;
+        AtomicReferenceArray<EhrTimezone> instances;
+        switch (timezoneFormat) {
+            case PackedDateTime.TIMEZONE_UTC, PackedDateTime.TIMEZONE_EXTENDED -> {
+                return EXTENDED_INSTANCES[index];
+            }
+            case PackedDateTime.TIMEZONE_BASIC -> instances = BASIC_INSTANCES;
+            default -> instances = HOURS_INSTANCES;
+        }
+        EhrTimezone result = instances.get(index);
+        if (result == null) {
+            // Racing threads might create the same instance more than once, which is harmless since it is immutable
+            result = new EhrTimezone(offsetMinutes, timezoneFormat);
+            instances.lazySet(index, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the value of the two digits starting at the given index, or -1 if there is anything else than a digit
+     */
+    private static int twoDigits(CharSequence text, int index) {
+        if (index + 2 > text.length()) {
+            return -1;
+        }
+        int tens = text.charAt(index) - '0';
+        int ones = text.charAt(index + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * 10 + ones;
     }
 
     private static void checkNoZeroOffsetWithNegativeSign(String value) {
@@ -45,33 +288,66 @@ public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone
 
     @Override
     public Integer hour() {
-        return Integer.valueOf(value.substring(1, 3));
+        return hourAsInt();
     }
 
     @Override
     public Integer minute() {
+        return minuteAsInt();
+    }
+
+    @Override
+    public Integer sign() {
+        return signAsInt();
+    }
+
+    @Override
+    public Boolean minuteUnknown() {
+        return minuteUnknownAsBoolean();
+    }
+
+    @Override
+    public int hourAsInt() {
+        return digit(1) * 10 + digit(2);
+    }
+
+    @Override
+    public int minuteAsInt() {
         return switch (value.length()) {
             case 3 -> 0;
-            case 5 -> Integer.valueOf(value.substring(3, 5));
-            case 6 -> Integer.valueOf(value.substring(4, 6));
+            case 5 -> digit(3) * 10 + digit(4);
+            case 6 -> digit(4) * 10 + digit(5);
             default -> throw new IllegalArgumentException("Cannot parse minute from timezone value: " + value);
         };
     }
 
     @Override
-    public Integer sign() {
-        return switch (value.substring(0, 1)) {
-            case MINUS, HYPHEN -> -1;
-            case "+" -> +1;
+    public int signAsInt() {
+        return switch (value.charAt(0)) {
+            case '−', '-' -> -1;
+            case '+' -> +1;
             default -> throw new IllegalArgumentException("Cannot parse sign from timezone value: " + value);
         };
     }
 
     @Override
-    public Boolean minuteUnknown() {
+    public int offsetMinutesAsInt() {
+        return signAsInt() * (hourAsInt() * 60 + minuteAsInt());
+    }
+
+    @Override
+    public boolean minuteUnknownAsBoolean() {
         return value.length() == 3;
     }
 
+    private int digit(int index) {
+        int digit = value.charAt(index) - '0';
+        if (digit < 0 || digit > 9) {
+            throw new NumberFormatException("For input string: \"" + value + "\"");
+        }
+        return digit;
+    }
+
     @Override
     public String getValue() {
         return value;
@@ -95,15 +371,44 @@ public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone
 
     @Override
     public String asString() {
-        TimeZone.getTimeZone(ZoneId.systemDefault());
+        return Iso8601Formatter.toString(this);
+    }
 
-        String result = value;
-        if (result.length() == 3) {
-            result += ":00";
-        } else if (result.length() == 5) {
-            result = result.substring(0, 3) + ":" + result.substring(3);
+    /**
+     * Writes the offset in the extended format, or the declared value with a hyphen as minus sign if it is not an
+     * offset of hours and minutes, e.g. <code>UTC</code> or <code>+05:30:00</code> which are accepted by
+     * {@link ZoneId}.
+     */
+    @Override
+    public int formatTo(byte[] bytes, int offset) {
+        if (isNumericOffset()) {
+            return Iso8601Formatter.timezone(bytes, offset, offsetMinutesAsInt());
         }
-        return result;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            bytes[offset++] = (byte) (c == MINUS.charAt(0) ? '-' : c);
+        }
+        return offset;
+    }
+
+    /**
+     * @return whether the value is a sign followed by the hours and optionally the minutes, so that the fields can be
+     *     read from it
+     */
+    boolean isNumericOffset() {
+        int length = value.length();
+        if (length != 3 && length != 5 && length != 6) {
+            return false;
+        }
+        char sign = value.charAt(0);
+        if (sign != '+' && sign != '-' && sign != MINUS.charAt(0) || twoDigits(value, 1) < 0) {
+            return false;
+        }
+        return switch (length) {
+            case 5 -> twoDigits(value, 3) >= 0;
+            case 6 -> value.charAt(3) == ':' && twoDigits(value, 4) >= 0;
+            default -> true;
+        };
     }
 
     @Override
@@ -111,7 +416,7 @@ public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone
         if (other instanceof Iso8601Timezone otherTimezone) {
             return comparisonValue(this) < comparisonValue(otherTimezone);
         } else {
-            throw new ComparisonTypeMismatchException(other.getClass());
+            throw new ComparisonTypeMismatchException("timezone", other.getClass());
         }
     }
 
@@ -120,7 +425,7 @@ public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone
         if (other instanceof Iso8601Timezone otherTimezone) {
             return comparisonValue(this) <= comparisonValue(otherTimezone);
         } else {
-            throw new ComparisonTypeMismatchException(other.getClass());
+            throw new ComparisonTypeMismatchException("timezone", other.getClass());
         }
     }
 
@@ -129,7 +434,7 @@ public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone
         if (other instanceof Iso8601Timezone otherTimezone) {
             return comparisonValue(this) > comparisonValue(otherTimezone);
         } else {
-            throw new ComparisonTypeMismatchException(other.getClass());
+            throw new ComparisonTypeMismatchException("timezone", other.getClass());
         }
     }
 
@@ -138,17 +443,51 @@ public class EhrTimezone extends EhrTimeDefinitions implements Iso8601Timezone
         if (other instanceof Iso8601Timezone otherTimezone) {
             return comparisonValue(this) >= comparisonValue(otherTimezone);
         } else {
-            throw new ComparisonTypeMismatchException(other.getClass());
+            throw new ComparisonTypeMismatchException("timezone", other.getClass());
         }
     }
 
-    private static int comparisonValue(Iso8601Timezone timezone) {
-        return (timezone.hour() * 60 + timezone.minute()) * timezone.sign();
+    /**
+     * Writes the timezone as {@link #formatTo(byte[], int)} does, also for other implementations of the interface.
+     */
+    static int formatTo(Iso8601Timezone timezone, byte[] bytes, int position) {
+        if (timezone instanceof Iso8601Formattable formattable) {
+            return formattable.formatTo(bytes, position);
+        }
+        return Iso8601Formatter.timezone(bytes, position, offsetMinutes(timezone));
     }
 
-    private static class ComparisonTypeMismatchException extends RuntimeException {
-        ComparisonTypeMismatchException(Class<?> other) {
-            super("Cannot compare timezone with object of type: " + other.getName());
+    /**
+     * @return whether the timezone is an offset of hours and minutes which can be packed, see
+     *     {@link #isNumericOffset()}
+     */
+    static boolean isNumericOffset(Iso8601Timezone timezone) {
+        return !(timezone instanceof EhrTimezone ehrTimezone) || ehrTimezone.isNumericOffset();
+    }
+
+    /**
+     * @return the offset from UTC in minutes
+     */
+    static int offsetMinutes(Iso8601Timezone timezone) {
+        return comparisonValue(timezone);
+    }
+
+    /**
+     * @return one of the <code>TIMEZONE_*</code> constants of {@link PackedDateTime} for the format in which the
+     *     timezone is declared, where <code>Z</code> has been normalized to the extended format
+     */
+    static int timezoneFormat(Iso8601Timezone timezone) {
+        return switch (timezone.getValue().length()) {
+            case 3 -> PackedDateTime.TIMEZONE_HOURS;
+            case 5 -> PackedDateTime.TIMEZONE_BASIC;
+            default -> PackedDateTime.TIMEZONE_EXTENDED;
+        };
+    }
+
+    private static int comparisonValue(Iso8601Timezone timezone) {
+        if (timezone instanceof PrimitiveTimezoneAccess primitive) {
+            return primitive.offsetMinutesAsInt();
         }
+        return (timezone.hour() * 60 + timezone.minute()) * timezone.sign();
     }
 }
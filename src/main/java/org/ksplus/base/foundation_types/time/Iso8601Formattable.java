@@ -0,0 +1,39 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.io.IOException;
+
+/**
+ * Writes the canonical ISO 8601 representation, which is returned by <code>asString()</code>, into a buffer of the
+ * caller, e.g. for serializers which write many values into the same output.
+ *
+ * <p>The canonical representation is the extended format with a hyphen as minus sign and a period as decimal sign.
+ * Ordinal dates, e.g. <code>2023-210</code>, are written as calendar dates. It consists of ASCII characters only.</p>
+ */
+public interface Iso8601Formattable {
+
+    /**
+     * Maximum number of bytes which are written by {@link #formatTo(byte[], int)}
+     */
+    int MAX_LENGTH = 100;
+
+    /**
+     * Writes the ASCII bytes of the canonical representation.
+     *
+     * @return the position after the last written byte
+     * @throws IndexOutOfBoundsException if the bytes from the offset on are too short, which is never the case for
+     *     {@link #MAX_LENGTH} bytes
+     */
+    int formatTo(byte[] bytes, int offset);
+
+    default void formatTo(StringBuilder builder) {
+        Iso8601Formatter.appendTo(this, builder);
+    }
+
+    default void formatTo(Appendable appendable) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            formatTo(builder);
+        } else {
+            appendable.append(Iso8601Formatter.toString(this));
+        }
+    }
+}
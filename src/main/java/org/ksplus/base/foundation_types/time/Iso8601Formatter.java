@@ -0,0 +1,220 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the canonical ISO 8601 representations as ASCII bytes, with table lookups for the digits instead of a
+ * {@link java.util.Formatter}.
+ *
+ * <p>The canonical representation is the extended format with a hyphen as minus sign and a period as decimal sign.
+ * Every method returns the position after the last written byte.</p>
+ */
+final class Iso8601Formatter {
+
+    private static final byte[] TENS = new byte[100];
+
+    private static final byte[] ONES = new byte[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            TENS[i] = (byte) ('0' + i / 10);
+            ONES[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private static final ThreadLocal<byte[]> SCRATCH =
+        ThreadLocal.withInitial(() -> new byte[Iso8601Formattable.MAX_LENGTH]);
+
+    private Iso8601Formatter() {
+    }
+
+    static String toString(Iso8601Formattable value) {
+        byte[] scratch = SCRATCH.get();
+        int length = value.formatTo(scratch, 0);
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    static void appendTo(Iso8601Formattable value, StringBuilder builder) {
+        byte[] scratch = SCRATCH.get();
+        int length = value.formatTo(scratch, 0);
+        builder.ensureCapacity(builder.length() + length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) scratch[i]);
+        }
+    }
+
+    /**
+     * @param month 0 if the month is unknown, which ends the date
+     * @param day 0 if the day is unknown, which ends the date
+     */
+    static int date(byte[] bytes, int position, int year, int month, int day) {
+        return date(bytes, position, year, month, day, true, false);
+    }
+
+    /**
+     * Writes a date in the extended or the basic format, e.g. <code>2023-08-14</code> or <code>20230814</code>, which
+     * is only used to restore the declared format, see {@link #date(byte[], int, int, int, int)}.
+     *
+     * @param ordinal whether to write the day of the year instead of the month and the day, e.g.
+     *     <code>2023-226</code>, for which both must be known
+     */
+    static int date(byte[] bytes, int position, int year, int month, int day, boolean extended, boolean ordinal) {
+        position = fourDigits(bytes, position, year);
+        if (ordinal) {
+            if (extended) {
+                bytes[position++] = '-';
+            }
+            return threeDigits(bytes, position, IsoCalendar.dayOfYear(year, month, day));
+        }
+        if (month != 0) {
+            if (extended) {
+                bytes[position++] = '-';
+            }
+            position = twoDigits(bytes, position, month);
+            if (day != 0) {
+                if (extended) {
+                    bytes[position++] = '-';
+                }
+                position = twoDigits(bytes, position, day);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Same as {@link #date(byte[], int, int, int, int, boolean, boolean)}, but returns the date as string
+     */
+    static String date(int year, int month, int day, boolean extended, boolean ordinal) {
+        byte[] scratch = SCRATCH.get();
+        int length = date(scratch, 0, year, month, day, extended, ordinal);
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes a date/time in the layout of {@link PackedDateTime}. Unknown fields are written as <code>??</code> if a
+     * known field follows them, and omitted otherwise.
+     */
+    static int dateTime(byte[] bytes, int position, long fields, long nanosAndOffset) {
+        boolean time = PackedDateTime.has(fields, PackedDateTime.TIME);
+        boolean dayKnown = PackedDateTime.has(fields, PackedDateTime.DAY_KNOWN);
+        boolean monthKnown = PackedDateTime.has(fields, PackedDateTime.MONTH_KNOWN);
+
+        position = fourDigits(bytes, position, PackedDateTime.year(fields));
+        if (monthKnown || dayKnown || time) {
+            bytes[position++] = '-';
+            position = twoDigitsOrUnknown(bytes, position, PackedDateTime.month(fields), monthKnown);
+            if (dayKnown || time) {
+                bytes[position++] = '-';
+                position = twoDigitsOrUnknown(bytes, position, PackedDateTime.day(fields), dayKnown);
+            }
+        }
+        if (!time) {
+            return position;
+        }
+        bytes[position++] = 'T';
+        return time(bytes, position, fields, nanosAndOffset);
+    }
+
+    /**
+     * Writes the time part of a date/time or a time in the layout of {@link PackedDateTime}, without the leading
+     * <code>T</code>, see {@link #dateTime(byte[], int, long, long)}
+     */
+    static int time(byte[] bytes, int position, long fields, long nanosAndOffset) {
+        boolean secondKnown = PackedDateTime.has(fields, PackedDateTime.SECOND_KNOWN);
+        boolean minuteKnown = PackedDateTime.has(fields, PackedDateTime.MINUTE_KNOWN);
+        position = twoDigitsOrUnknown(bytes, position, PackedDateTime.hour(fields),
+            PackedDateTime.has(fields, PackedDateTime.HOUR_KNOWN));
+        if (minuteKnown || secondKnown) {
+            bytes[position++] = ':';
+            position = twoDigitsOrUnknown(bytes, position, PackedDateTime.minute(fields), minuteKnown);
+            if (secondKnown) {
+                bytes[position++] = ':';
+                position = twoDigits(bytes, position, PackedDateTime.second(fields));
+                if (PackedDateTime.has(fields, PackedDateTime.FRACTIONAL_SECOND)) {
+                    position = fraction(bytes, position, PackedDateTime.nano(nanosAndOffset));
+                }
+            }
+        }
+        if (PackedDateTime.has(fields, PackedDateTime.TIMEZONE)) {
+            if (PackedDateTime.timezoneFormat(fields) == PackedDateTime.TIMEZONE_UTC) {
+                bytes[position++] = 'Z';
+            } else {
+                position = timezone(bytes, position, PackedDateTime.offsetMinutes(nanosAndOffset));
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Writes e.g. <code>+02:00</code>
+     */
+    static int timezone(byte[] bytes, int position, int offsetMinutes) {
+        bytes[position++] = (byte) (offsetMinutes < 0 ? '-' : '+');
+        int offset = Math.abs(offsetMinutes);
+        position = twoDigits(bytes, position, offset / 60);
+        bytes[position++] = ':';
+        return twoDigits(bytes, position, offset % 60);
+    }
+
+    /**
+     * Writes a period followed by the nanoseconds as decimal fraction without trailing zeros, but at least one digit
+     */
+    static int fraction(byte[] bytes, int position, int nanos) {
+        bytes[position++] = '.';
+        int digits = 9;
+        while (digits > 1 && nanos % 10 == 0) {
+            nanos /= 10;
+            digits--;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            bytes[i] = (byte) ('0' + nanos % 10);
+            nanos /= 10;
+        }
+        return position + digits;
+    }
+
+    /**
+     * Writes the number with a minus sign if it is negative, but without leading zeros
+     */
+    static int number(byte[] bytes, int position, int number) {
+        long value = number;
+        if (value < 0) {
+            bytes[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long limit = 10; limit <= value; limit *= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digits;
+    }
+
+    static int twoDigits(byte[] bytes, int position, int number) {
+        bytes[position] = TENS[number];
+        bytes[position + 1] = ONES[number];
+        return position + 2;
+    }
+
+    private static int twoDigitsOrUnknown(byte[] bytes, int position, int number, boolean known) {
+        if (known) {
+            return twoDigits(bytes, position, number);
+        }
+        bytes[position] = '?';
+        bytes[position + 1] = '?';
+        return position + 2;
+    }
+
+    private static int threeDigits(byte[] bytes, int position, int number) {
+        bytes[position] = (byte) ('0' + number / 100);
+        return twoDigits(bytes, position + 1, number % 100);
+    }
+
+    static int fourDigits(byte[] bytes, int position, int number) {
+        position = twoDigits(bytes, position, number / 100);
+        return twoDigits(bytes, position, number % 100);
+    }
+}
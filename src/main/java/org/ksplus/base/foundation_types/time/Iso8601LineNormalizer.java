@@ -0,0 +1,405 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import lombok.NonNull;
+
+/**
+ * Validates and normalizes files with one value per line, e.g. an exported date column, into their canonical
+ * representation (see {@link Iso8601Formattable}), i.e. the extended format with a period as decimal sign and the
+ * timezone offset as <code>±hh:mm</code>.
+ *
+ * <p>The input is read in blocks into a buffer of fixed size, and the values are validated and written out of that
+ * buffer, so that the memory use does not depend on the size of the input and no string is created per line. The
+ * values are validated like by {@link EhrTimeDefinitions}. Invalid values are written unchanged, so that the lines of
+ * the output correspond to the ones of the input. Empty lines are written unchanged as well. The line terminators,
+ * i.e. <code>\n</code> or <code>\r\n</code>, are kept.</p>
+ *
+ * <p>A normalizer holds no state, so it can be used by several threads at the same time.</p>
+ */
+public final class Iso8601LineNormalizer {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final int DATE = 0;
+
+    private static final int TIME = 1;
+
+    private static final int DATE_TIME = 2;
+
+    private final int kind;
+
+    private final int bufferSize;
+
+    /**
+     * Timezone offset which is written for values with a time but without timezone, or <code>null</code> to leave
+     * them without timezone
+     */
+    private final Integer defaultOffsetMinutes;
+
+    private Iso8601LineNormalizer(int kind, int bufferSize, Integer defaultOffsetMinutes) {
+        this.kind = kind;
+        this.bufferSize = bufferSize;
+        this.defaultOffsetMinutes = defaultOffsetMinutes;
+    }
+
+    public static Iso8601LineNormalizer forDates() {
+        return new Iso8601LineNormalizer(DATE, DEFAULT_BUFFER_SIZE, null);
+    }
+
+    public static Iso8601LineNormalizer forTimes() {
+        return new Iso8601LineNormalizer(TIME, DEFAULT_BUFFER_SIZE, null);
+    }
+
+    public static Iso8601LineNormalizer forDateTimes() {
+        return new Iso8601LineNormalizer(DATE_TIME, DEFAULT_BUFFER_SIZE, null);
+    }
+
+    /**
+     * @param bufferSize the size of the input and of the output buffer, 1 MiB by default
+     */
+    public Iso8601LineNormalizer withBufferSize(int bufferSize) {
+        if (bufferSize < Iso8601Formattable.MAX_LENGTH) {
+            throw new IllegalArgumentException("Buffer size must be at least " + Iso8601Formattable.MAX_LENGTH + ": "
+                + bufferSize);
+        }
+        return new Iso8601LineNormalizer(kind, bufferSize, defaultOffsetMinutes);
+    }
+
+    /**
+     * Makes the offsets explicit, by writing the given one for the values which have a time but no timezone, e.g.
+     * <code>2023-07-28T16:22+02:00</code> for <code>2023-07-28T16:22</code> with an offset of 120 minutes. Values
+     * without time, e.g. dates, are written without timezone.
+     */
+    public Iso8601LineNormalizer withDefaultOffset(int offsetMinutes) {
+        if (Math.abs(offsetMinutes) > 18 * 60) {
+            throw new IllegalArgumentException("Timezone offset must be within ±18:00: " + offsetMinutes);
+        }
+        return new Iso8601LineNormalizer(kind, bufferSize, offsetMinutes);
+    }
+
+    /**
+     * Reads the input until its end. Neither channel is closed.
+     *
+     * @param in a blocking channel
+     * @param out a blocking channel
+     */
+    public Statistics normalize(@NonNull ReadableByteChannel in, @NonNull WritableByteChannel out)
+        throws IOException {
+        return new Run(in, out).normalize();
+    }
+
+    /**
+     * @see #normalize(ReadableByteChannel, WritableByteChannel)
+     */
+    public Statistics normalize(@NonNull InputStream in, @NonNull OutputStream out) throws IOException {
+        Statistics statistics = normalize(Channels.newChannel(in), Channels.newChannel(out));
+        out.flush();
+        return statistics;
+    }
+
+    /**
+     * Numbers of lines by their format. A valid value is counted as either basic or extended; values without any
+     * separator, e.g. a year only, count as basic. The partial values and the ones with timezone are counted in
+     * addition.
+     */
+    public static final class Statistics {
+
+        private long lines;
+
+        private long empty;
+
+        private long invalid;
+
+        private long basic;
+
+        private long extended;
+
+        private long partial;
+
+        private long withTimezone;
+
+        private long firstInvalidLine;
+
+        private Statistics() {
+        }
+
+        public long lines() {
+            return lines;
+        }
+
+        public long empty() {
+            return empty;
+        }
+
+        public long valid() {
+            return lines - empty - invalid;
+        }
+
+        public long invalid() {
+            return invalid;
+        }
+
+        /**
+         * @return the number of the first line with an invalid value, starting with 1, or 0 if all values are valid
+         */
+        public long firstInvalidLine() {
+            return firstInvalidLine;
+        }
+
+        public long basic() {
+            return basic;
+        }
+
+        public long extended() {
+            return extended;
+        }
+
+        public long partial() {
+            return partial;
+        }
+
+        public long withTimezone() {
+            return withTimezone;
+        }
+
+        @Override
+        public String toString() {
+            return "lines=" + lines + ", empty=" + empty + ", invalid=" + invalid + ", basic=" + basic
+                + ", extended=" + extended + ", partial=" + partial + ", withTimezone=" + withTimezone;
+        }
+    }
+
+    /**
+     * State of one call of {@link #normalize(ReadableByteChannel, WritableByteChannel)}
+     */
+    private final class Run {
+
+        private final ReadableByteChannel in;
+
+        private final WritableByteChannel out;
+
+        private final ByteBuffer input = ByteBuffer.allocate(bufferSize);
+
+        private final ByteBuffer output = ByteBuffer.allocate(bufferSize);
+
+        private final Line line = new Line(input.array());
+
+        private final DateTimeScanner scanner = new DateTimeScanner();
+
+        private final Statistics statistics = new Statistics();
+
+        /**
+         * Whether the current line did not fit into the input buffer, so that it is written through unchanged
+         */
+        private boolean overlong;
+
+        private Run(ReadableByteChannel in, WritableByteChannel out) {
+            this.in = in;
+            this.out = out;
+        }
+
+        private Statistics normalize() throws IOException {
+            byte[] bytes = input.array();
+            int searched = 0;
+            while (true) {
+                boolean end = in.read(input) < 0;
+                int limit = input.position();
+                int lineStart = 0;
+                for (int i = searched; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        line(lineStart, i + 1, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (end) {
+                    if (lineStart < limit || overlong) {
+                        line(lineStart, limit, limit);
+                    }
+                    break;
+                }
+                if (lineStart == 0 && limit == bytes.length) {
+                    // The line cannot be a valid value, so the buffer is emptied without looking at it further
+                    write(bytes, 0, limit);
+                    overlong = true;
+                    lineStart = limit;
+                }
+                System.arraycopy(bytes, lineStart, bytes, 0, limit - lineStart);
+                input.position(limit - lineStart);
+                searched = limit - lineStart;
+            }
+            flush();
+            return statistics;
+        }
+
+        /**
+         * @param newline the position of the line feed, or the end if the last line has none
+         */
+        private void line(int start, int end, int newline) throws IOException {
+            byte[] bytes = input.array();
+            statistics.lines++;
+            if (overlong) {
+                overlong = false;
+                invalid();
+                write(bytes, start, end - start);
+                return;
+            }
+            int valueEnd = newline > start && bytes[newline - 1] == '\r' ? newline - 1 : newline;
+            if (valueEnd == start) {
+                statistics.empty++;
+                write(bytes, start, end - start);
+                return;
+            }
+            if (valueEnd - start <= Iso8601Formattable.MAX_LENGTH && scan(bytes, start, valueEnd)) {
+                count();
+                format();
+            } else {
+                invalid();
+                write(bytes, start, valueEnd - start);
+            }
+            write(bytes, valueEnd, end - valueEnd);
+        }
+
+        private boolean scan(byte[] bytes, int start, int end) {
+            CharSequence value = line.of(start, end);
+            if (value == null) {
+                // Non-ASCII bytes, e.g. the Unicode minus sign, which are rare enough to be decoded
+                value = Utf8Text.of(bytes, start, end - start);
+            }
+            return switch (kind) {
+                case DATE -> EhrTimeDefinitions.isIso8601Date(value)
+                    && scanner.scanDateTime(value, 0, value.length());
+                case TIME -> scanner.scanTime(value, 0, value.length(), false);
+                default -> EhrTimeDefinitions.isIso8601DateTime(value)
+                    && scanner.scanDateTime(value, 0, value.length());
+            };
+        }
+
+        private void count() {
+            long fields = scanner.packedFields();
+            if (PackedDateTime.has(fields, PackedDateTime.EXTENDED)) {
+                statistics.extended++;
+            } else {
+                statistics.basic++;
+            }
+            boolean partial = switch (kind) {
+                case DATE -> !PackedDateTime.has(fields, PackedDateTime.DAY_KNOWN);
+                case TIME -> !PackedDateTime.has(fields, PackedDateTime.SECOND_KNOWN);
+                default -> PackedDateTime.precision(fields) < PackedDateTime.PRECISION_SECOND;
+            };
+            if (partial) {
+                statistics.partial++;
+            }
+            if (PackedDateTime.has(fields, PackedDateTime.TIMEZONE)) {
+                statistics.withTimezone++;
+            }
+        }
+
+        private void invalid() {
+            statistics.invalid++;
+            if (statistics.firstInvalidLine == 0) {
+                statistics.firstInvalidLine = statistics.lines;
+            }
+        }
+
+        private void format() throws IOException {
+            long fields = scanner.packedFields();
+            long nanosAndOffset = scanner.packedNanosAndOffset();
+            if (defaultOffsetMinutes != null && PackedDateTime.has(fields, PackedDateTime.TIME)
+                && !PackedDateTime.has(fields, PackedDateTime.TIMEZONE)) {
+                fields |= PackedDateTime.TIMEZONE
+                    | PackedDateTime.timezoneFormatFlags(PackedDateTime.TIMEZONE_EXTENDED);
+                nanosAndOffset =
+                    PackedDateTime.nanosAndOffset(PackedDateTime.nano(nanosAndOffset), defaultOffsetMinutes);
+            }
+            if (output.remaining() < Iso8601Formattable.MAX_LENGTH) {
+                flush();
+            }
+            int position = output.position();
+            position = kind == TIME
+                ? Iso8601Formatter.time(output.array(), position, fields, nanosAndOffset)
+                : Iso8601Formatter.dateTime(output.array(), position, fields, nanosAndOffset);
+            output.position(position);
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > output.remaining()) {
+                flush();
+                if (length > output.capacity()) {
+                    writeFully(ByteBuffer.wrap(bytes, offset, length));
+                    return;
+                }
+            }
+            output.put(bytes, offset, length);
+        }
+
+        private void flush() throws IOException {
+            output.flip();
+            writeFully(output);
+            output.clear();
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reusable view of an ASCII line in the input buffer
+     */
+    private static final class Line implements CharSequence {
+
+        private final byte[] bytes;
+
+        private int offset;
+
+        private int length;
+
+        private Line(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * @return this view of the bytes, or <code>null</code> if they are not all ASCII
+         */
+        private Line of(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (bytes[i] < 0) {
+                    return null;
+                }
+            }
+            offset = start;
+            length = end - start;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) bytes[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Core of the proleptic Gregorian calendar of ISO 8601, which validates dates and converts them to and from the
+ * number of days since 1970-01-01 with table lookups and integer arithmetic only, instead of creating
+ * <code>java.time</code> objects.
+ *
+ * <p>The tables cover the years 0 to 9999 which openEHR allows, in about 42 KiB. Leap years outside of that range
+ * are calculated, so that {@link #isLeapYear(int)} and {@link #epochDay(int, int, int)} work for any year which is
+ * not negative.</p>
+ */
+final class IsoCalendar {
+
+    static final int MIN_YEAR = 0;
+
+    static final int MAX_YEAR = 9999;
+
+    private static final long DAYS_0000_TO_1970 = 719_528;
+
+    /**
+     * Days before the first of the month in a leap year, indexed by the month, where 13 stands for the end of the year
+     */
+    private static final short[] LEAP_DAYS_BEFORE_MONTH = {0, 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366};
+
+    /**
+     * Month of each day of a leap year, indexed by the day of the year starting with 0
+     */
+    private static final byte[] LEAP_MONTH_OF_DAY = new byte[366];
+
+    /**
+     * Number of days since 1970-01-01 of the first of January of the years 0 to 10000, the last one being the end of
+     * year 9999
+     */
+    private static final int[] YEAR_START = new int[MAX_YEAR + 2];
+
+    /**
+     * One bit per year from 0 to 9999, which is set for the leap years
+     */
+    private static final long[] LEAP_YEARS = new long[(MAX_YEAR + Long.SIZE) / Long.SIZE];
+
+    /**
+     * Number of days since 1970-01-01 of 0000-01-01
+     */
+    static final long MIN_EPOCH_DAY;
+
+    /**
+     * Number of days since 1970-01-01 of 9999-12-31
+     */
+    static final long MAX_EPOCH_DAY;
+
+    static {
+        for (int month = 1; month <= 12; month++) {
+            for (int day = LEAP_DAYS_BEFORE_MONTH[month]; day < LEAP_DAYS_BEFORE_MONTH[month + 1]; day++) {
+                LEAP_MONTH_OF_DAY[day] = (byte) month;
+            }
+        }
+        long yearStart = -DAYS_0000_TO_1970;
+        for (int year = MIN_YEAR; year <= MAX_YEAR + 1; year++) {
+            YEAR_START[year] = (int) yearStart;
+            if (calculateLeapYear(year)) {
+                if (year <= MAX_YEAR) {
+                    LEAP_YEARS[year >>> 6] |= 1L << year;
+                }
+                yearStart += 366;
+            } else {
+                yearStart += 365;
+            }
+        }
+        MIN_EPOCH_DAY = YEAR_START[MIN_YEAR];
+        MAX_EPOCH_DAY = YEAR_START[MAX_YEAR + 1] - 1;
+    }
+
+    private IsoCalendar() {
+    }
+
+    static boolean isLeapYear(int year) {
+        if (year >= MIN_YEAR && year <= MAX_YEAR) {
+            // The shift only takes the lower six bits of the year
+            return (LEAP_YEARS[year >>> 6] & 1L << year) != 0;
+        }
+        return calculateLeapYear(year);
+    }
+
+    private static boolean calculateLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfYear(int year) {
+        return isLeapYear(year) ? 366 : 365;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        return daysBeforeMonth(year, month + 1) - daysBeforeMonth(year, month);
+    }
+
+    /**
+     * @return whether the month is from 1 to 12 and the day exists in it
+     */
+    static boolean isValidDate(int year, int month, int day) {
+        return month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+    }
+
+    /**
+     * @return the day of the year, starting with 1 for the first of January
+     */
+    static int dayOfYear(int year, int month, int day) {
+        return daysBeforeMonth(year, month) + day;
+    }
+
+    /**
+     * @return the number of days since 1970-01-01, same as {@link java.time.LocalDate#toEpochDay()}
+     */
+    static long epochDay(int year, int month, int day) {
+        return yearStart(year) + daysBeforeMonth(year, month) + day - 1;
+    }
+
+    /**
+     * @return the number of days since 1970-01-01 of the given day of the year, which starts with 1
+     */
+    static long epochDayOfYear(int year, int dayOfYear) {
+        return yearStart(year) + dayOfYear - 1;
+    }
+
+    /**
+     * Converts the number of days since 1970-01-01 into a date, same as {@link java.time.LocalDate#ofEpochDay(long)}.
+     *
+     * @param epochDay from {@link #MIN_EPOCH_DAY} to {@link #MAX_EPOCH_DAY}
+     * @return the date in the layout of {@link PackedDateTime}, without flags
+     */
+    static long ofEpochDay(long epochDay) {
+        int days = (int) (epochDay - MIN_EPOCH_DAY);
+        // The average length of the years gives the year or one of its neighbours, which the table tells apart
+        int year = Math.min((int) (days * 400L / 146_097), MAX_YEAR);
+        if (YEAR_START[year] > epochDay) {
+            year--;
+        } else if (YEAR_START[year + 1] <= epochDay) {
+            year++;
+        }
+        return ofDayOfYear(year, (int) (epochDay - YEAR_START[year]) + 1);
+    }
+
+    /**
+     * Converts an ordinal date, e.g. 2023-210, into a calendar date.
+     *
+     * @param dayOfYear from 1 to the {@link #lengthOfYear(int) length of the year}
+     * @return the date in the layout of {@link PackedDateTime}, without flags
+     */
+    static long ofDayOfYear(int year, int dayOfYear) {
+        // Looking up the month in a leap year, by skipping February 29 in a common year
+        int leapDayOfYear = dayOfYear - 1;
+        if (leapDayOfYear >= LEAP_DAYS_BEFORE_MONTH[3] - 1 && !isLeapYear(year)) {
+            leapDayOfYear++;
+        }
+        int month = LEAP_MONTH_OF_DAY[leapDayOfYear];
+        return PackedDateTime.fields(year, month, leapDayOfYear - LEAP_DAYS_BEFORE_MONTH[month] + 1, 0, 0, 0, 0);
+    }
+
+    /**
+     * @return the day of the week from 1 for Monday to 7 for Sunday, same as {@link java.time.DayOfWeek#getValue()}
+     */
+    static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return Math.floorMod(epochDay + 3, 7) + 1;
+    }
+
+    /**
+     * @param month from 1 to 13, where 13 stands for the end of the year
+     */
+    private static int daysBeforeMonth(int year, int month) {
+        int days = LEAP_DAYS_BEFORE_MONTH[month];
+        return month > 2 && !isLeapYear(year) ? days - 1 : days;
+    }
+
+    private static long yearStart(int year) {
+        if (year >= MIN_YEAR && year <= MAX_YEAR + 1) {
+            return YEAR_START[year];
+        }
+        return 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400 - DAYS_0000_TO_1970;
+    }
+}
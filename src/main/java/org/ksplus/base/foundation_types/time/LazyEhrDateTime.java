@@ -0,0 +1,94 @@
+package org.ksplus.base.foundation_types.time;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Date/time which scans its value on first access to the packed fields, see {@link EhrDateTime#lazy(String)}. It
+ * keeps the packed fields in a separate object, so that {@link EhrDateTime} can store them inline.
+ */
+final class LazyEhrDateTime extends PackedIso8601DateTime {
+
+    @Nonnull
+    private final String value;
+
+    /**
+     * Created on first access. Racing threads scan the same value into equal states, and the state is published safely
+     * by its final fields, so the field does not need to be volatile.
+     */
+    @Nullable
+    private Scanned scanned;
+
+    LazyEhrDateTime(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a valid date/time, on every access
+     */
+    private Scanned scanned() {
+        Scanned result = scanned;
+        if (result == null) {
+            // Not reported to ParseInstrumentation, since the value is scanned on behalf of an arbitrary caller
+            try {
+                result = new Scanned(EhrDateTime.scanUninstrumented(value, new DateTimeScanner()));
+            } catch (IllegalArgumentException e) {
+                result = new Scanned(e);
+            }
+            scanned = result;
+        }
+        if (result.failure != null) {
+            throw new IllegalArgumentException(result.failure.getMessage(), result.failure);
+        }
+        return result;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    long fields() {
+        return scanned().fields;
+    }
+
+    @Override
+    long nanosAndOffset() {
+        return scanned().nanosAndOffset;
+    }
+
+    @Override
+    long sortKey() {
+        return scanned().sortKey;
+    }
+
+    /**
+     * Packed fields of the value, or the reason why it could not be scanned
+     */
+    private static final class Scanned {
+
+        private final long fields;
+
+        private final long nanosAndOffset;
+
+        private final long sortKey;
+
+        @Nullable
+        private final IllegalArgumentException failure;
+
+        private Scanned(DateTimeScanner scanner) {
+            fields = scanner.packedFields();
+            nanosAndOffset = scanner.packedNanosAndOffset();
+            sortKey = PackedDateTime.sortKey(fields, nanosAndOffset);
+            failure = null;
+        }
+
+        private Scanned(IllegalArgumentException failure) {
+            fields = 0;
+            nanosAndOffset = 0;
+            sortKey = 0;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.ksplus.base.foundation_types.time;
+
+class OperandTypeMismatchException extends IllegalArgumentException {
+
+    OperandTypeMismatchException(String operation, Object operand) {
+        super("Cannot " + operation + " object of type: " + (operand == null ? "null" : operand.getClass().getName()));
+    }
+}
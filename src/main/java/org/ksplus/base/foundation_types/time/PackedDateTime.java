@@ -0,0 +1,201 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Bit layout of a date/time value which is packed into two <code>long</code>s.
+ *
+ * <p>The first <code>long</code> holds the calendar and clock fields together with the flags:</p>
+ * <pre>
+ * bits  0-5   second
+ * bits  6-11  minute
+ * bits 12-16  hour
+ * bits 17-21  day
+ * bits 22-25  month
+ * bits 26-39  year
+ * bits 40-51  flags
+ * bits 52-53  timezone format
+ * </pre>
+ *
+ * <p>The second <code>long</code> holds the nanosecond of the second in its lower and the timezone offset in minutes
+ * in its upper half.</p>
+ *
+ * <p>Unknown or absent fields are stored as zero and the corresponding <code>*_KNOWN</code> flag is not set.</p>
+ */
+final class PackedDateTime {
+
+    private static final int SECOND_SHIFT = 0;
+    private static final int MINUTE_SHIFT = 6;
+    private static final int HOUR_SHIFT = 12;
+    private static final int DAY_SHIFT = 17;
+    private static final int MONTH_SHIFT = 22;
+    private static final int YEAR_SHIFT = 26;
+    private static final int TIMEZONE_FORMAT_SHIFT = 52;
+
+    private static final long SIX_BITS = 0x3F;
+    private static final long FIVE_BITS = 0x1F;
+    private static final long FOUR_BITS = 0xF;
+    private static final long FOURTEEN_BITS = 0x3FFF;
+
+    static final long MONTH_KNOWN = 1L << 40;
+    static final long DAY_KNOWN = 1L << 41;
+    static final long HOUR_KNOWN = 1L << 42;
+    static final long MINUTE_KNOWN = 1L << 43;
+    static final long SECOND_KNOWN = 1L << 44;
+    static final long FRACTIONAL_SECOND = 1L << 45;
+    static final long TIMEZONE = 1L << 46;
+    static final long EXTENDED = 1L << 47;
+    static final long DECIMAL_SIGN_COMMA = 1L << 48;
+    static final long TIME = 1L << 49;
+
+    /**
+     * Date declared by the day of the year, e.g. 2023-210, from which the month and day have been converted
+     */
+    static final long ORDINAL_DATE = 1L << 50;
+
+    /**
+     * e.g. Z
+     */
+    static final int TIMEZONE_UTC = 0;
+
+    /**
+     * e.g. +02
+     */
+    static final int TIMEZONE_HOURS = 1;
+
+    /**
+     * e.g. +0200
+     */
+    static final int TIMEZONE_BASIC = 2;
+
+    /**
+     * e.g. +02:00
+     */
+    static final int TIMEZONE_EXTENDED = 3;
+
+    static final int PRECISION_YEAR = 0;
+    static final int PRECISION_MONTH = 1;
+    static final int PRECISION_DAY = 2;
+    static final int PRECISION_HOUR = 3;
+    static final int PRECISION_MINUTE = 4;
+    static final int PRECISION_SECOND = 5;
+
+    private static final long SECONDS_IN_DAY = 86_400;
+
+    private PackedDateTime() {
+    }
+
+    static long fields(int year, int month, int day, int hour, int minute, int second, long flags) {
+        return (long) year << YEAR_SHIFT
+            | (long) month << MONTH_SHIFT
+            | (long) day << DAY_SHIFT
+            | (long) hour << HOUR_SHIFT
+            | (long) minute << MINUTE_SHIFT
+            | (long) second << SECOND_SHIFT
+            | flags;
+    }
+
+    static long timezoneFormatFlags(int timezoneFormat) {
+        return (long) timezoneFormat << TIMEZONE_FORMAT_SHIFT;
+    }
+
+    static long nanosAndOffset(int nano, int offsetMinutes) {
+        return (long) offsetMinutes << 32 | nano;
+    }
+
+    static int year(long fields) {
+        return (int) (fields >>> YEAR_SHIFT & FOURTEEN_BITS);
+    }
+
+    static int month(long fields) {
+        return (int) (fields >>> MONTH_SHIFT & FOUR_BITS);
+    }
+
+    static int day(long fields) {
+        return (int) (fields >>> DAY_SHIFT & FIVE_BITS);
+    }
+
+    static int hour(long fields) {
+        return (int) (fields >>> HOUR_SHIFT & FIVE_BITS);
+    }
+
+    static int minute(long fields) {
+        return (int) (fields >>> MINUTE_SHIFT & SIX_BITS);
+    }
+
+    static int second(long fields) {
+        return (int) (fields >>> SECOND_SHIFT & SIX_BITS);
+    }
+
+    static boolean has(long fields, long flag) {
+        return (fields & flag) != 0;
+    }
+
+    static int timezoneFormat(long fields) {
+        return (int) (fields >>> TIMEZONE_FORMAT_SHIFT & 0x3);
+    }
+
+    /**
+     * Calculates a key which orders date/time values chronologically by a single <code>long</code> comparison.
+     *
+     * <p>The key is made of the microseconds since 1970-01-01T00:00Z and, in the lowest three bits, the precision
+     * of the value. Values without a timezone are treated as UTC. A partial value is positioned at the beginning of
+     * the period which it denotes, and before a more precise value for the same instant, so that e.g.
+     * <code>2023 &lt; 2023-01 &lt; 2023-01-01 &lt; 2023-01-01T00</code>. Fields after the first unknown one are
+     * ignored. The sub-microsecond part of the nanoseconds needs to be compared separately.</p>
+     */
+    static long sortKey(long fields, long nanosAndOffset) {
+        int precision = precision(fields);
+        int month = precision >= PRECISION_MONTH ? month(fields) : 1;
+        int day = precision >= PRECISION_DAY ? day(fields) : 1;
+        long seconds = IsoCalendar.epochDay(year(fields), month, day) * SECONDS_IN_DAY;
+        if (precision >= PRECISION_HOUR) {
+            seconds += hour(fields) * 3600L - offsetMinutes(nanosAndOffset) * 60L;
+        }
+        if (precision >= PRECISION_MINUTE) {
+            seconds += minute(fields) * 60L;
+        }
+        long micros = seconds * 1_000_000;
+        if (precision >= PRECISION_SECOND) {
+            micros += second(fields) * 1_000_000L + nano(nanosAndOffset) / 1000;
+        }
+        return micros << 3 | precision;
+    }
+
+    /**
+     * Orders the date part chronologically by a single <code>int</code> comparison. An unknown month or day is stored
+     * as zero, so a partial date comes before the more precise dates within the period which it denotes, in the same
+     * way as with {@link #sortKey(long, long)}.
+     */
+    static int dateOrdinal(long fields) {
+        return (int) (fields >>> DAY_SHIFT & 0x7F_FFFF);
+    }
+
+    /**
+     * @return the number of leading fields which are known, starting with {@link #PRECISION_YEAR}
+     */
+    static int precision(long fields) {
+        if ((fields & MONTH_KNOWN) == 0) {
+            return PRECISION_YEAR;
+        }
+        if ((fields & DAY_KNOWN) == 0) {
+            return PRECISION_MONTH;
+        }
+        if ((fields & HOUR_KNOWN) == 0) {
+            return PRECISION_DAY;
+        }
+        if ((fields & MINUTE_KNOWN) == 0) {
+            return PRECISION_HOUR;
+        }
+        if ((fields & SECOND_KNOWN) == 0) {
+            return PRECISION_MINUTE;
+        }
+        return PRECISION_SECOND;
+    }
+
+    static int nano(long nanosAndOffset) {
+        return (int) nanosAndOffset;
+    }
+
+    static int offsetMinutes(long nanosAndOffset) {
+        return (int) (nanosAndOffset >> 32);
+    }
+}
@@ -0,0 +1,269 @@
+package org.ksplus.base.foundation_types.time;
+
+import org.openehr.base.foundation_types.time.Iso8601Date;
+import org.openehr.base.foundation_types.time.Iso8601DateTime;
+import org.openehr.base.foundation_types.time.Iso8601Duration;
+import org.openehr.base.foundation_types.time.Iso8601Timezone;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Date/time on top of the packed representation, see {@link PackedDateTime}, so that the accessors can be shared by
+ * {@link EhrDateTime} and the views of {@link EhrDateTimeColumn}.
+ */
+abstract class PackedIso8601DateTime extends EhrTimeDefinitions
+    implements Iso8601DateTime, PrimitiveDateTimeAccess, Iso8601Formattable {
+
+    private static final long ALL_KNOWN = PackedDateTime.MONTH_KNOWN | PackedDateTime.DAY_KNOWN
+        | PackedDateTime.HOUR_KNOWN | PackedDateTime.MINUTE_KNOWN | PackedDateTime.SECOND_KNOWN;
+
+    /**
+     * @return the calendar and clock fields together with the flags
+     */
+    abstract long fields();
+
+    /**
+     * @return the nanosecond of the second and the timezone offset
+     */
+    abstract long nanosAndOffset();
+
+    /**
+     * @return the chronological ordering key, see {@link PackedDateTime#sortKey(long, long)}
+     */
+    abstract long sortKey();
+
+    @Override
+    public int yearAsInt() {
+        return PackedDateTime.year(fields());
+    }
+
+    @Override
+    public int monthAsInt() {
+        return PackedDateTime.month(fields());
+    }
+
+    @Override
+    public int dayAsInt() {
+        return PackedDateTime.day(fields());
+    }
+
+    @Override
+    public int hourAsInt() {
+        return PackedDateTime.hour(fields());
+    }
+
+    @Override
+    public int minuteAsInt() {
+        return PackedDateTime.minute(fields());
+    }
+
+    @Override
+    public int secondAsInt() {
+        return PackedDateTime.second(fields());
+    }
+
+    @Override
+    public int nanoAsInt() {
+        return PackedDateTime.nano(nanosAndOffset());
+    }
+
+    @Override
+    public boolean monthUnknownAsBoolean() {
+        return !PackedDateTime.has(fields(), PackedDateTime.MONTH_KNOWN);
+    }
+
+    @Override
+    public boolean dayUnknownAsBoolean() {
+        return !PackedDateTime.has(fields(), PackedDateTime.DAY_KNOWN);
+    }
+
+    @Override
+    public boolean minuteUnknownAsBoolean() {
+        return !PackedDateTime.has(fields(), PackedDateTime.MINUTE_KNOWN);
+    }
+
+    @Override
+    public boolean secondUnknownAsBoolean() {
+        return !PackedDateTime.has(fields(), PackedDateTime.SECOND_KNOWN);
+    }
+
+    @Override
+    public Integer year() {
+        return yearAsInt();
+    }
+
+    @Override
+    public Integer month() {
+        return monthAsInt();
+    }
+
+    @Override
+    public Integer day() {
+        return dayAsInt();
+    }
+
+    @Override
+    public Integer hour() {
+        return hourAsInt();
+    }
+
+    @Override
+    public Integer minute() {
+        return minuteAsInt();
+    }
+
+    @Override
+    public Integer second() {
+        return secondAsInt();
+    }
+
+    @Override
+    public Double fractionalSecond() {
+        return nanoAsInt() / 1_000_000_000.0;
+    }
+
+    @Override
+    public @Nullable Iso8601Timezone timezone() {
+        long fields = fields();
+        if (!PackedDateTime.has(fields, PackedDateTime.TIMEZONE)) {
+            return null;
+        }
+        return EhrTimezone.of(PackedDateTime.offsetMinutes(nanosAndOffset()), PackedDateTime.timezoneFormat(fields));
+    }
+
+    @Override
+    public Boolean monthUnknown() {
+        return monthUnknownAsBoolean();
+    }
+
+    @Override
+    public Boolean dayUnknown() {
+        return dayUnknownAsBoolean();
+    }
+
+    @Override
+    public Boolean minuteUnknown() {
+        return minuteUnknownAsBoolean();
+    }
+
+    @Override
+    public Boolean secondUnknown() {
+        return secondUnknownAsBoolean();
+    }
+
+    @Override
+    public Boolean isDecimalSignComma() {
+        return PackedDateTime.has(fields(), PackedDateTime.DECIMAL_SIGN_COMMA);
+    }
+
+    /**
+     * @return the canonical representation, unless a subclass keeps the value as it was declared
+     */
+    @Override
+    public String getValue() {
+        return asString();
+    }
+
+    /**
+     * @return whether any of the fields from the month to the second is unknown or omitted
+     */
+    @Override
+    public Boolean isPartial() {
+        return (fields() & ALL_KNOWN) != ALL_KNOWN;
+    }
+
+    @Override
+    public Boolean isExtended() {
+        return PackedDateTime.has(fields(), PackedDateTime.EXTENDED);
+    }
+
+    @Override
+    public Boolean hasFractionalSecond() {
+        return PackedDateTime.has(fields(), PackedDateTime.FRACTIONAL_SECOND);
+    }
+
+    @Override
+    public String asString() {
+        return Iso8601Formatter.toString(this);
+    }
+
+    @Override
+    public int formatTo(byte[] bytes, int offset) {
+        return Iso8601Formatter.dateTime(bytes, offset, fields(), nanosAndOffset());
+    }
+
+    @Override
+    public Iso8601DateTime add(Object aDiff) {
+        return null;
+    }
+
+    @Override
+    public Iso8601DateTime subtract(Object aDiff) {
+        return null;
+    }
+
+    @Override
+    public Iso8601Duration diff(Object aDateTime) {
+        return null;
+    }
+
+    @Override
+    public Iso8601Date addNominal(Object aDiff) {
+        return null;
+    }
+
+    @Override
+    public Iso8601Date subtractNominal(Object aDiff) {
+        return null;
+    }
+
+    /**
+     * Orders the date/time values chronologically, after normalizing them to UTC. Values without timezone are treated
+     * as UTC. A partial value comes before the more precise values within the period which it denotes, e.g.
+     * <code>2023-01-01 &lt; 2023-01-01T00 &lt; 2023-01-01T00:00</code>.
+     */
+    static int compare(PackedIso8601DateTime dateTime, PackedIso8601DateTime other) {
+        int result = Long.compare(dateTime.sortKey(), other.sortKey());
+        if (result == 0) {
+            // The sort key has microsecond resolution
+            result = Integer.compare(dateTime.nanoAsInt() % 1000, other.nanoAsInt() % 1000);
+        }
+        return result;
+    }
+
+    @Override
+    public Boolean lessThan(Object other) {
+        if (other instanceof PackedIso8601DateTime otherDateTime) {
+            return compare(this, otherDateTime) < 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date/time", other.getClass());
+        }
+    }
+
+    @Override
+    public Boolean lessThanOrEqual(Object other) {
+        if (other instanceof PackedIso8601DateTime otherDateTime) {
+            return compare(this, otherDateTime) <= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date/time", other.getClass());
+        }
+    }
+
+    @Override
+    public Boolean greaterThan(Object other) {
+        if (other instanceof PackedIso8601DateTime otherDateTime) {
+            return compare(this, otherDateTime) > 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date/time", other.getClass());
+        }
+    }
+
+    @Override
+    public Boolean greaterThanOrEqual(Object other) {
+        if (other instanceof PackedIso8601DateTime otherDateTime) {
+            return compare(this, otherDateTime) >= 0;
+        } else {
+            throw new ComparisonTypeMismatchException("date/time", other.getClass());
+        }
+    }
+}
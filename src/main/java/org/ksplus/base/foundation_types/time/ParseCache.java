@@ -0,0 +1,142 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import lombok.NonNull;
+
+/**
+ * Bounded cache of parsed values by their declaration, for streams in which the same values repeat, e.g. the
+ * collection time of a batch of lab results. A value which has been seen before is returned as the same instance,
+ * which saves both the parsing and the memory for the duplicates.
+ *
+ * <p>The cache holds at most as many values as its capacity. When it is full, a value which has not been hit since
+ * the clock hand passed it last is evicted (CLOCK, i.e. second chance). A hit neither locks nor allocates; only the
+ * insertion of a new value locks the cache. Values which cannot be parsed are not cached, so their exception is
+ * thrown again on every call.</p>
+ *
+ * @param <T> an immutable type, so that the instances can be shared
+ */
+public final class ParseCache<T> {
+
+    private final Function<String, T> parser;
+
+    private final ConcurrentHashMap<String, Entry<T>> entries;
+
+    /**
+     * Clock of the cached entries, guarded by <code>this</code>
+     */
+    private final Entry<T>[] clock;
+
+    /**
+     * Position of the clock hand, guarded by <code>this</code>
+     */
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    private ParseCache(int capacity, Function<String, T> parser) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.parser = parser;
+        entries = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+        clock = (Entry<T>[]) new Entry<?>[capacity];
+    }
+
+    public static ParseCache<EhrDate> forDates(int capacity) {
+        return new ParseCache<>(capacity, EhrDate::new);
+    }
+
+    public static ParseCache<EhrDateTime> forDateTimes(int capacity) {
+        return new ParseCache<>(capacity, EhrDateTime::new);
+    }
+
+    public static ParseCache<EhrDuration> forDurations(int capacity) {
+        return new ParseCache<>(capacity, EhrDuration::new);
+    }
+
+    /**
+     * @return the cached instance for the value, or a new one which has been added to the cache
+     * @throws IllegalArgumentException if the value cannot be parsed
+     */
+    public T get(@NonNull String value) {
+        Entry<T> entry = entries.get(value);
+        if (entry != null) {
+            hits.increment();
+            // Checking before writing, so that a frequently hit entry does not bounce between the caches of the cores
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.value;
+        }
+        misses.increment();
+        // Parsing outside the lock, since it takes longer than the insertion
+        T parsed = parser.apply(value);
+        return insert(value, parsed);
+    }
+
+    private synchronized T insert(String value, T parsed) {
+        Entry<T> existing = entries.get(value);
+        if (existing != null) {
+            // Another thread has inserted the same value in the meantime
+            return existing.value;
+        }
+        while (clock[hand] != null && clock[hand].referenced) {
+            clock[hand].referenced = false;
+            hand = (hand + 1) % clock.length;
+        }
+        if (clock[hand] != null) {
+            entries.remove(clock[hand].key);
+        }
+        Entry<T> entry = new Entry<>(value, parsed);
+        clock[hand] = entry;
+        hand = (hand + 1) % clock.length;
+        entries.put(value, entry);
+        return parsed;
+    }
+
+    public int capacity() {
+        return clock.length;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of calls which returned a cached instance
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of calls which parsed the value, including the ones which failed
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private static final class Entry<T> {
+
+        private final String key;
+
+        private final T value;
+
+        /**
+         * Whether the entry has been hit since the clock hand passed it last. Lost updates between racing threads only
+         * affect the choice of the evicted entry, so the field does not need to be volatile.
+         */
+        private boolean referenced;
+
+        private Entry(String key, T value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
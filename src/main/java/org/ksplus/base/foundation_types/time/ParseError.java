@@ -0,0 +1,37 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Reason for which a value has been rejected by a <code>tryParse</code> factory, see {@link ParseResult}
+ */
+public enum ParseError {
+
+    /**
+     * A character which is not used by ISO 8601, e.g. a letter in a date/time
+     */
+    INVALID_CHARACTER("character not allowed by ISO 8601"),
+
+    /**
+     * A feature of ISO 8601 which is excluded by openEHR, e.g. a week date or a year with a sign
+     */
+    NOT_SUPPORTED_BY_OPENEHR("ISO 8601 feature not supported by openEHR"),
+
+    /**
+     * An unexpected character, or a missing one at the end of the value
+     */
+    INVALID_FORMAT("unexpected character or end of value"),
+
+    /**
+     * A well-formed field with a value out of its range, e.g. the month 13, February 30 or an offset of 19 hours
+     */
+    OUT_OF_RANGE("field out of range");
+
+    private final String reason;
+
+    ParseError(String reason) {
+        this.reason = reason;
+    }
+
+    public String reason() {
+        return reason;
+    }
+}
@@ -0,0 +1,52 @@
+package org.ksplus.base.foundation_types.time;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for the parsing of a value, which is committed when it is done. Since the event is only created once the
+ * value has been parsed, the parsing time is recorded in a field instead of the duration of the event.
+ */
+@Name("org.ksplus.time.Parse")
+@Label("Parse ISO 8601 Value")
+@Category({"openEHR", "Time"})
+@Description("Parsing of a date, time, date/time, duration or timezone")
+@StackTrace(false)
+final class ParseEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Length")
+    @Description("Number of characters of the value")
+    int length;
+
+    @Label("Parse Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseTime;
+
+    @Label("Format")
+    @Description("Basic or extended format, if the value is valid")
+    String format;
+
+    @Label("Failure")
+    @Description("Message of the exception, if the value is invalid")
+    String failure;
+
+    static void commit(ParseMetrics.Type type, int length, long parseTime, String format, RuntimeException failure) {
+        ParseEvent event = new ParseEvent();
+        if (event.shouldCommit()) {
+            event.type = type.name();
+            event.length = length;
+            event.parseTime = parseTime;
+            event.format = format;
+            event.failure = failure != null ? failure.getMessage() : null;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.ksplus.base.foundation_types.time;
+
+import jakarta.annotation.Nullable;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+/**
+ * Optional instrumentation of the parsing of dates, times, date/times, durations and timezones, which reports each
+ * parsed or rejected value to a {@link ParseMetrics} hook and as JFR event <code>org.ksplus.time.Parse</code>.
+ *
+ * <p>Both are disabled by default. The parsers then only read a volatile field twice per value, which is a plain load
+ * on common hardware. The JFR event is enabled like any other one, e.g. in a custom <code>.jfc</code> file or with
+ * {@link Recording#enable(String)}, and is picked up when a recording starts or stops. If the time is measured, i.e.
+ * for JFR or a {@link ParseMetrics#timed() timed} hook, this adds two reads of {@link System#nanoTime()} per
+ * value.</p>
+ *
+ * <p>Lazy values, e.g. {@link EhrDateTime#lazy(String)}, and timezones which are parsed as part of a date or time
+ * are not reported separately. Neither are the values of the <code>tryParse</code> factories, which are meant for
+ * bulk validation.</p>
+ */
+public final class ParseInstrumentation {
+
+    private static final int ENABLED = 1;
+
+    private static final int TIMED = 2;
+
+    /**
+     * Combination of {@link #ENABLED} and {@link #TIMED}, so that the parsers need a single read
+     */
+    private static volatile int state;
+
+    @Nullable
+    private static volatile ParseMetrics metrics;
+
+    private static volatile boolean eventEnabled;
+
+    static {
+        try {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recorderInitialized(FlightRecorder recorder) {
+                    updateEventEnabled();
+                }
+
+                @Override
+                public void recordingStateChanged(Recording recording) {
+                    updateEventEnabled();
+                }
+            });
+        } catch (LinkageError | SecurityException e) {
+            // A runtime image without the JFR module, so only the hook can be used
+        }
+    }
+
+    private ParseInstrumentation() {
+    }
+
+    /**
+     * @param metrics the hook to which every value is reported from now on, or <code>null</code> to remove the current
+     *     one
+     */
+    public static synchronized void setMetrics(@Nullable ParseMetrics metrics) {
+        ParseInstrumentation.metrics = metrics;
+        updateState();
+    }
+
+    @Nullable
+    public static ParseMetrics getMetrics() {
+        return metrics;
+    }
+
+    private static synchronized void updateEventEnabled() {
+        eventEnabled = EventType.getEventType(ParseEvent.class).isEnabled();
+        updateState();
+    }
+
+    private static void updateState() {
+        ParseMetrics currentMetrics = metrics;
+        int newState = 0;
+        if (currentMetrics != null || eventEnabled) {
+            newState |= ENABLED;
+        }
+        if (currentMetrics != null && currentMetrics.timed() || eventEnabled) {
+            newState |= TIMED;
+        }
+        state = newState;
+    }
+
+    /**
+     * @return the start time for {@link #parsed(ParseMetrics.Type, int, long, String)} or
+     *     {@link #failed(ParseMetrics.Type, int, long, RuntimeException)}, or 0 if the time is not measured
+     */
+    static long start() {
+        return (state & TIMED) != 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param format a constant which describes the format of the value, see {@link #format(boolean)}, or
+     *     <code>null</code>
+     */
+    static void parsed(ParseMetrics.Type type, int length, long start, @Nullable String format) {
+        if (state != 0) {
+            report(type, length, start, format, null);
+        }
+    }
+
+    static void failed(ParseMetrics.Type type, int length, long start, RuntimeException exception) {
+        if (state != 0) {
+            report(type, length, start, null, exception);
+        }
+    }
+
+    static String format(boolean extended) {
+        return extended ? "extended" : "basic";
+    }
+
+    private static void report(ParseMetrics.Type type, int length, long start, String format,
+        RuntimeException exception) {
+        long nanos = start != 0 ? System.nanoTime() - start : -1;
+        ParseMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            if (exception == null) {
+                currentMetrics.parsed(type, length, nanos);
+            } else {
+                currentMetrics.failed(type, length, nanos, exception);
+            }
+        }
+        if (eventEnabled) {
+            ParseEvent.commit(type, length, nanos, format, exception);
+        }
+    }
+}
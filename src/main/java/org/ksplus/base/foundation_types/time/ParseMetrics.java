@@ -0,0 +1,41 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Hook for the metrics of the parsing of values, e.g. to feed counters and timers of a metrics library, which is
+ * installed with {@link ParseInstrumentation#setMetrics(ParseMetrics)}.
+ *
+ * <p>The methods are called on the parsing thread, right after each value, so they need to be thread-safe and
+ * cheap, e.g. increment a {@link java.util.concurrent.atomic.LongAdder}. See {@link ParseStatistics} for an
+ * implementation which keeps the counters and histograms in memory.</p>
+ */
+public interface ParseMetrics {
+
+    enum Type {
+        DATE,
+        TIME,
+        DATE_TIME,
+        DURATION,
+        TIMEZONE,
+    }
+
+    /**
+     * @param length the number of characters of the value
+     * @param nanos the time taken for parsing the value, or -1 if it has not been measured, see {@link #timed()}
+     */
+    void parsed(Type type, int length, long nanos);
+
+    /**
+     * @param exception the exception which is about to be thrown for the invalid value, usually an
+     *     {@link IllegalArgumentException}
+     * @see #parsed(Type, int, long)
+     */
+    void failed(Type type, int length, long nanos, RuntimeException exception);
+
+    /**
+     * @return whether the parsing time is to be measured, which costs two reads of {@link System#nanoTime()} per
+     *     value. Without, the hook is called with -1 as time, unless the time is measured for JFR anyway.
+     */
+    default boolean timed() {
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Objects;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Outcome of a <code>tryParse</code> factory, e.g. {@link EhrDate#tryParse(String)}, which holds either the parsed
+ * value or the reason and the position of the rejection.
+ *
+ * <p>Unlike the constructors, the factories do not throw an exception for an invalid value, so that no stack trace is
+ * captured. This matters for inputs in which invalid values are common, e.g. when cleaning legacy data.</p>
+ *
+ * @param <T> the type of the parsed value
+ */
+public final class ParseResult<T> {
+
+    @Nullable
+    private final T value;
+
+    @Nullable
+    private final ParseError error;
+
+    private final int errorIndex;
+
+    @Nullable
+    private final String input;
+
+    private ParseResult(@Nullable T value, @Nullable ParseError error, int errorIndex, @Nullable String input) {
+        this.value = value;
+        this.error = error;
+        this.errorIndex = errorIndex;
+        this.input = input;
+    }
+
+    static <T> ParseResult<T> valid(T value) {
+        return new ParseResult<>(value, null, -1, null);
+    }
+
+    static <T> ParseResult<T> invalid(ParseError error, int errorIndex, String input) {
+        return new ParseResult<>(null, error, errorIndex, input);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * @return the parsed value, or <code>null</code> if the value is invalid
+     */
+    @Nullable
+    public T value() {
+        return value;
+    }
+
+    /**
+     * @return the reason of the rejection, or <code>null</code> if the value is valid
+     */
+    @Nullable
+    public ParseError error() {
+        return error;
+    }
+
+    /**
+     * @return the index of the character at which the value has been rejected, which is its length if it ended too
+     *     early, or -1 if the value is valid
+     */
+    public int errorIndex() {
+        return errorIndex;
+    }
+
+    public T orElse(@Nullable T other) {
+        return isValid() ? value : other;
+    }
+
+    /**
+     * @throws IllegalArgumentException with the reason and the position of the rejection if the value is invalid
+     */
+    @Nonnull
+    public T orElseThrow() {
+        if (!isValid()) {
+            throw new IllegalArgumentException(toString());
+        }
+        return Objects.requireNonNull(value);
+    }
+
+    @Override
+    public String toString() {
+        if (isValid()) {
+            return "Valid: " + value;
+        }
+        return "Invalid value, " + error.reason() + " at index " + errorIndex + ": " + input;
+    }
+}
@@ -0,0 +1,88 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.NonNull;
+
+/**
+ * Metrics hook which keeps the counters and the histograms of the parsing times per type in memory, e.g. to export
+ * them periodically.
+ *
+ * <p>The histograms have one bucket per power of two, i.e. bucket <code>i</code> counts the values which took at least
+ * <code>2^(i-1)</code> and less than <code>2^i</code> nanoseconds, and bucket 0 the ones which took no measurable time.
+ * Values which have not been timed are only counted.</p>
+ */
+public final class ParseStatistics implements ParseMetrics {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private static final int TYPES = Type.values().length;
+
+    private final LongAdder[] parsed = adders(TYPES);
+
+    private final LongAdder[] failed = adders(TYPES);
+
+    private final LongAdder[] histograms = adders(TYPES * BUCKETS);
+
+    private final Map<String, LongAdder> failuresByException = new ConcurrentHashMap<>();
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] result = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new LongAdder();
+        }
+        return result;
+    }
+
+    @Override
+    public void parsed(Type type, int length, long nanos) {
+        parsed[type.ordinal()].increment();
+        record(type, nanos);
+    }
+
+    @Override
+    public void failed(Type type, int length, long nanos, RuntimeException exception) {
+        failed[type.ordinal()].increment();
+        record(type, nanos);
+        failuresByException.computeIfAbsent(exception.getClass().getSimpleName(), name -> new LongAdder())
+            .increment();
+    }
+
+    private void record(Type type, long nanos) {
+        if (nanos >= 0) {
+            histograms[type.ordinal() * BUCKETS + Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos))]
+                .increment();
+        }
+    }
+
+    public long parsedCount(@NonNull Type type) {
+        return parsed[type.ordinal()].sum();
+    }
+
+    public long failedCount(@NonNull Type type) {
+        return failed[type.ordinal()].sum();
+    }
+
+    /**
+     * @return the number of failures by the simple name of the exception class, e.g. <code>DateFormatException</code>
+     */
+    public Map<String, Long> failuresByException() {
+        Map<String, Long> result = new TreeMap<>();
+        failuresByException.forEach((name, count) -> result.put(name, count.sum()));
+        return result;
+    }
+
+    /**
+     * @return the counts of the buckets of the parsing times, see above
+     */
+    public long[] histogram(@NonNull Type type) {
+        long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = histograms[type.ordinal() * BUCKETS + i].sum();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Accessors for the fields of a date which do not box the results, next to the ones of
+ * {@link org.openehr.base.foundation_types.time.Iso8601Date}.
+ */
+public interface PrimitiveDateAccess {
+
+    int yearAsInt();
+
+    /**
+     * @return the month, or 0 if the month is unknown
+     */
+    int monthAsInt();
+
+    /**
+     * @return the day, or 0 if the day is unknown
+     */
+    int dayAsInt();
+
+    boolean monthUnknownAsBoolean();
+
+    boolean dayUnknownAsBoolean();
+}
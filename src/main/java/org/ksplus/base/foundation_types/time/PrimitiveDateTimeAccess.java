@@ -0,0 +1,8 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Accessors for the fields of a date/time which do not box the results, next to the ones of
+ * {@link org.openehr.base.foundation_types.time.Iso8601DateTime}.
+ */
+public interface PrimitiveDateTimeAccess extends PrimitiveDateAccess, PrimitiveTimeAccess {
+}
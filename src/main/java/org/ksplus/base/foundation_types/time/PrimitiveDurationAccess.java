@@ -0,0 +1,40 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Accessors for the fields of a duration which do not box the results, next to the ones of
+ * {@link org.openehr.base.foundation_types.time.Iso8601Duration}.
+ */
+public interface PrimitiveDurationAccess {
+
+    int yearsAsInt();
+
+    int monthsAsInt();
+
+    int weeksAsInt();
+
+    int daysAsInt();
+
+    int hoursAsInt();
+
+    int minutesAsInt();
+
+    /**
+     * @return the integral part of the seconds
+     */
+    int secondsAsInt();
+
+    /**
+     * @return the fractional part of the seconds in nanoseconds
+     */
+    int fractionalSecondsAsNanos();
+
+    /**
+     * @return the duration in whole seconds
+     */
+    long toSecondsAsLong();
+
+    /**
+     * @return the fraction of the second of {@link #toSecondsAsLong()} in nanoseconds
+     */
+    int nanoAsInt();
+}
@@ -0,0 +1,32 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Accessors for the fields of a time which do not box the results, next to the ones of
+ * {@link org.openehr.base.foundation_types.time.Iso8601Time}.
+ */
+public interface PrimitiveTimeAccess {
+
+    /**
+     * @return the hour, or 0 if the hour is unknown
+     */
+    int hourAsInt();
+
+    /**
+     * @return the minute, or 0 if the minute is unknown
+     */
+    int minuteAsInt();
+
+    /**
+     * @return the integral part of the second, or 0 if the second is unknown
+     */
+    int secondAsInt();
+
+    /**
+     * @return the fractional second in nanoseconds
+     */
+    int nanoAsInt();
+
+    boolean minuteUnknownAsBoolean();
+
+    boolean secondUnknownAsBoolean();
+}
@@ -0,0 +1,27 @@
+package org.ksplus.base.foundation_types.time;
+
+/**
+ * Accessors for the fields of a timezone which do not box the results, next to the ones of
+ * {@link org.openehr.base.foundation_types.time.Iso8601Timezone}.
+ */
+public interface PrimitiveTimezoneAccess {
+
+    int hourAsInt();
+
+    /**
+     * @return the minute, or 0 if the minute is unknown
+     */
+    int minuteAsInt();
+
+    /**
+     * @return -1 or +1
+     */
+    int signAsInt();
+
+    /**
+     * @return the offset from UTC in minutes, i.e. the hour and the minute with the sign
+     */
+    int offsetMinutesAsInt();
+
+    boolean minuteUnknownAsBoolean();
+}
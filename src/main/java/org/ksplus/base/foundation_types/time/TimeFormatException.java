@@ -0,0 +1,8 @@
+package org.ksplus.base.foundation_types.time;
+
+class TimeFormatException extends IllegalArgumentException {
+
+    TimeFormatException(String value) {
+        super("Value does not look like a valid time: " + value);
+    }
+}
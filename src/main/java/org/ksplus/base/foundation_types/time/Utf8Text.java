@@ -0,0 +1,139 @@
+package org.ksplus.base.foundation_types.time;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read-only view of UTF-8 encoded bytes as characters, so that values can be parsed right from a byte array or a
+ * (memory-mapped) buffer without decoding them into a string first.
+ *
+ * <p>Besides ASCII, only the Unicode minus sign is recognized, which can be used for negative timezone offsets. Any
+ * other non-ASCII byte is seen as the replacement character <code>U+FFFD</code>, which none of the parsers accepts.
+ * The bytes are not copied, so they must not be changed while the view is in use.</p>
+ */
+final class Utf8Text implements CharSequence {
+
+    private static final char MINUS = '−';
+
+    private static final char REPLACEMENT = '�';
+
+    private static final byte[] MINUS_BYTES = String.valueOf(MINUS).getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] bytes;
+
+    private final ByteBuffer buffer;
+
+    private final int offset;
+
+    private final int byteLength;
+
+    private final int length;
+
+    private final boolean ascii;
+
+    private Utf8Text(byte[] bytes, ByteBuffer buffer, int offset, int byteLength) {
+        this.bytes = bytes;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.byteLength = byteLength;
+
+        int length = byteLength;
+        boolean ascii = true;
+        for (int i = 0; i < byteLength; i++) {
+            if (byteAt(i) < 0) {
+                ascii = false;
+                if (isMinusAt(i)) {
+                    length -= MINUS_BYTES.length - 1;
+                    i += MINUS_BYTES.length - 1;
+                }
+            }
+        }
+        this.length = length;
+        this.ascii = ascii;
+    }
+
+    static Utf8Text of(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return new Utf8Text(bytes, null, offset, length);
+    }
+
+    /**
+     * @return a view of the bytes between the position and the limit of the buffer, which are left unchanged
+     */
+    static Utf8Text of(ByteBuffer buffer) {
+        return new Utf8Text(null, buffer, buffer.position(), buffer.remaining());
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        if (ascii) {
+            return (char) byteAt(index);
+        }
+        int i = byteIndex(index);
+        byte b = byteAt(i);
+        if (b >= 0) {
+            return (char) b;
+        }
+        return isMinusAt(i) ? MINUS : REPLACEMENT;
+    }
+
+    /**
+     * @return a view of the bytes of the characters between the given indexes, so that the indexes are the same as for
+     *     {@link #charAt(int)}
+     */
+    @Override
+    public Utf8Text subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        int byteStart = byteIndex(start);
+        int byteEnd = byteIndex(end);
+        return new Utf8Text(bytes, buffer, offset + byteStart, byteEnd - byteStart);
+    }
+
+    /**
+     * @param index from 0 to the length, which stands for the end of the bytes
+     */
+    private int byteIndex(int index) {
+        if (ascii) {
+            return index;
+        }
+        // Walking from the start, since values with non-ASCII characters are rare and short
+        int i = 0;
+        for (int c = 0; c < index; c++) {
+            i += isMinusAt(i) ? MINUS_BYTES.length : 1;
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        if (bytes != null) {
+            return new String(bytes, offset, byteLength, StandardCharsets.UTF_8);
+        }
+        byte[] copy = new byte[byteLength];
+        buffer.get(offset, copy);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+    private byte byteAt(int index) {
+        return bytes != null ? bytes[offset + index] : buffer.get(offset + index);
+    }
+
+    private boolean isMinusAt(int index) {
+        if (index + MINUS_BYTES.length > byteLength) {
+            return false;
+        }
+        for (int i = 0; i < MINUS_BYTES.length; i++) {
+            if (byteAt(index + i) != MINUS_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class DateTimeArraysTest {
+
+    private static final String[] DATE_TIMES = {
+        "2023-07-28T16:22:34.000000002Z",
+        "2023-07-28T16:22:34.000000001Z",
+        "2023-07-28T18:22:34+02:00",
+        "2023-07",
+        "1999-12-31T23:59:59.999999999Z",
+        "2023-07-28",
+        "0000-01-01T00",
+        "2023-07-28T16:22",
+        "9999-12-31T23:59:59Z",
+        "2023",
+    };
+
+    private static EhrDateTime[] dateTimes(String... values) {
+        return Arrays.stream(values).map(EhrDateTime::new).toArray(EhrDateTime[]::new);
+    }
+
+    @Nested
+    @DisplayName("#sort")
+    class Sort {
+
+        @Test
+        void should_sort_date_times_like_compare_to() {
+            EhrDateTime[] values = dateTimes(DATE_TIMES);
+            EhrDateTime[] expected = values.clone();
+            Arrays.sort(expected);
+
+            DateTimeArrays.sort(values);
+
+            assertThat(values, equalTo(expected));
+        }
+
+        @Test
+        void should_keep_order_of_equal_values() {
+            EhrDateTime first = new EhrDateTime("2023-07-28T16:22Z");
+            EhrDateTime second = new EhrDateTime("2023-07-28T18:22+02:00");
+            EhrDateTime earlier = new EhrDateTime("2023-07-28T16:21Z");
+            EhrDateTime[] values = {first, second, earlier};
+
+            DateTimeArrays.sort(values);
+
+            assertThat(values, equalTo(new EhrDateTime[] {earlier, first, second}));
+        }
+
+        @Test
+        void should_sort_dates_like_compare_to() {
+            EhrDate[] values = Arrays.stream(new String[] {"2023-07-28", "2023", "1999-12-31", "2023-07", "0000-01-01"})
+                .map(EhrDate::new)
+                .toArray(EhrDate[]::new);
+            EhrDate[] expected = values.clone();
+            Arrays.sort(expected);
+
+            DateTimeArrays.sort(values);
+
+            assertThat(values, equalTo(expected));
+        }
+
+        @Test
+        void should_sort_random_keys() {
+            long[] keys = new Random(42).longs(10_000).toArray();
+            long[] expected = keys.clone();
+            Arrays.sort(expected);
+
+            int[] order = DateTimeArrays.sortedOrder(keys);
+
+            assertThat(Arrays.stream(order).mapToLong(i -> keys[i]).toArray(), equalTo(expected));
+        }
+
+        @Test
+        void should_handle_empty_array() {
+            assertThat(DateTimeArrays.sortedOrder(new long[0]).length, equalTo(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("#sortKey")
+    class SortKey {
+
+        @Test
+        void should_order_date_like_date_time_of_same_precision() {
+            assertThat(DateTimeArrays.sortKey(new EhrDate("2023-07-28")),
+                equalTo(DateTimeArrays.sortKey(new EhrDateTime("2023-07-28"))));
+        }
+    }
+
+    @Nested
+    @DisplayName("#lowerBound / #upperBound")
+    class Bounds {
+
+        private final long[] sortedKeys = sortedKeys();
+
+        private long[] sortedKeys() {
+            long[] result = DateTimeArrays.sortKeys(dateTimes(DATE_TIMES));
+            Arrays.sort(result);
+            return result;
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023, 2, 9",
+            "2023-07, 3, 9",
+            "2023-07-28, 4, 9",
+            "2023-07-28T16, 5, 9",
+            "2023-07-28T16:22, 5, 9",
+            "2023-07-28T16:22:34Z, 6, 9",
+            "2023-07-28T16:22:34.000000001Z, 6, 9",
+            "2023-07-28T16:22:35Z, 9, 9",
+            "1999, 1, 2",
+            "2024, 9, 9",
+        })
+        void should_find_values_within_period(String period, int lower, int upper) {
+            EhrDateTime dateTime = new EhrDateTime(period);
+
+            assertThat(DateTimeArrays.lowerBound(sortedKeys, dateTime), equalTo(lower));
+            assertThat(DateTimeArrays.upperBound(sortedKeys, dateTime), equalTo(upper));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023, 2, 9",
+            "2023-07, 3, 9",
+            "2023-12, 9, 9",
+            "2023-07-28, 4, 9",
+        })
+        void should_find_values_within_period_of_date(String period, int lower, int upper) {
+            EhrDate date = new EhrDate(period);
+
+            assertThat(DateTimeArrays.lowerBound(sortedKeys, date), equalTo(lower));
+            assertThat(DateTimeArrays.upperBound(sortedKeys, date), equalTo(upper));
+        }
+
+        @Test
+        void should_find_equal_keys() {
+            long[] keys = {1, 3, 3, 3, 5};
+
+            assertThat(DateTimeArrays.lowerBound(keys, 3), equalTo(1));
+            assertThat(DateTimeArrays.upperBound(keys, 3), equalTo(4));
+            assertThat(DateTimeArrays.lowerBound(keys, 6), equalTo(5));
+            assertThat(DateTimeArrays.upperBound(keys, 0), equalTo(0));
+            assertThat(DateTimeArrays.upperBound(keys, Long.MAX_VALUE), equalTo(5));
+        }
+    }
+}
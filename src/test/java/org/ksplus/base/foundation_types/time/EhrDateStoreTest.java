@@ -0,0 +1,216 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openehr.base.foundation_types.time.Iso8601Date;
+
+class EhrDateStoreTest {
+
+    private static final List<String> VALUES = List.of(
+        "2023-07-28",
+        "2023-07",
+        "2023",
+        "20230727",
+        "2024-02-29TZ",
+        "1969-12-31T−03:30",
+        "0001-01-01",
+        "9999-12-31"
+    );
+
+    @Nested
+    @DisplayName("#add")
+    class Add {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2023-07-28", "2023-07", "2023", "20230728", "202307", "2023-07-28T+02",
+            "2023-07-28T+0530", "2023-07-28T-03:30", "9999-12-31T+18:00"})
+        void should_provide_equal_values(String value) {
+            EhrDateStore store = EhrDateStore.allocate(1);
+
+            store.add(value);
+
+            EhrDate expected = new EhrDate(value);
+            Iso8601Date actual = store.get(0);
+            assertThat(actual.getValue(), equalTo(expected.getValue()));
+            assertThat(actual.year(), equalTo(expected.year()));
+            assertThat(actual.month(), equalTo(expected.month()));
+            assertThat(actual.day(), equalTo(expected.day()));
+            assertThat(actual.isExtended(), equalTo(expected.isExtended()));
+        }
+
+        @Test
+        void should_add_bytes() {
+            EhrDateStore store = EhrDateStore.allocate(2);
+            byte[] bytes = "2023-07-28T−02:00".getBytes(StandardCharsets.UTF_8);
+
+            store.add(bytes, 0, bytes.length);
+
+            assertThat(store.get(0).timezone().getValue(), equalTo("-02:00"));
+        }
+
+        @Test
+        void should_normalize_utc_timezone() {
+            EhrDateStore store = EhrDateStore.allocate(1);
+
+            store.add("2023-07-28TZ");
+
+            assertThat(store.get(0).getValue(), equalTo("2023-07-28T+00:00"));
+        }
+
+        @Test
+        void should_provide_primitive_fields() {
+            EhrDateStore store = EhrDateStore.allocate(2);
+            store.add("2023-07-28");
+            store.add("2023");
+
+            assertThat(store.year(0), equalTo(2023));
+            assertThat(store.month(0), equalTo(7));
+            assertThat(store.day(0), equalTo(28));
+            assertThat(store.month(1), equalTo(0));
+            assertThat(store.day(1), equalTo(0));
+        }
+
+        @Test
+        void should_reject_value_when_full() {
+            EhrDateStore store = EhrDateStore.allocate(1);
+            store.add("2023-07-28");
+
+            assertThrows(IllegalStateException.class, () -> store.add("2023-07-29"));
+            assertThat(store.size(), equalTo(1L));
+        }
+
+        @Test
+        void should_reject_invalid_value() {
+            EhrDateStore store = EhrDateStore.allocate(1);
+
+            assertThrows(IllegalArgumentException.class, () -> store.add("2023-02-29"));
+            assertThat(store.size(), equalTo(0L));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2023-08-14TUTC", "2023-08-14T+05:30:00"})
+        void should_reject_timezone_which_is_not_an_offset(String value) {
+            EhrDateStore store = EhrDateStore.allocate(1);
+            EhrDate date = new EhrDate(value);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> store.add(date));
+            assertThat(exception.getMessage(), containsString(value));
+            assertThat(store.size(), equalTo(0L));
+
+            store.add("2023-08-14");
+            assertThrows(IllegalArgumentException.class, () -> store.set(0, date));
+            assertThat(store.get(0).getValue(), equalTo("2023-08-14"));
+        }
+
+        @Test
+        void should_reject_index_out_of_bounds() {
+            EhrDateStore store = EhrDateStore.allocate(2);
+            store.add("2023-07-28");
+
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.set(1, new EhrDate("2023-07-28")));
+        }
+    }
+
+    @Nested
+    @DisplayName("#countInRange")
+    class CountInRange {
+
+        @Test
+        void should_count_values_in_range() {
+            EhrDateStore store = storeOf(VALUES);
+
+            assertThat(store.countInRange(new EhrDate("2023"), new EhrDate("2024")), equalTo(4L));
+            assertThat(store.countInRange(new EhrDate("2023-07"), new EhrDate("2023-07-28")), equalTo(2L));
+            assertThat(store.countInRange(new EhrDate("0001-01-01"), new EhrDate("9999-12-31")), equalTo(7L));
+            assertThat(store.countInRange(new EhrDate("2024"), new EhrDate("2023")), equalTo(0L));
+        }
+
+        @Test
+        void should_be_consistent_with_compare_to() {
+            EhrDateStore store = storeOf(VALUES);
+            EhrDate from = new EhrDate("2023-07");
+            EhrDate to = new EhrDate("2024-02-29");
+
+            long expected = VALUES.stream()
+                .map(EhrDate::new)
+                .filter(date -> date.compareTo(from) >= 0 && date.compareTo(to) < 0)
+                .count();
+            assertThat(store.countInRange(from, to), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#forEachInRange")
+    class ForEachInRange {
+
+        @Test
+        void should_pass_indexes_in_ascending_order() {
+            EhrDateStore store = storeOf(VALUES);
+            List<Long> indexes = new ArrayList<>();
+
+            store.forEachInRange(new EhrDate("2023"), new EhrDate("2024"), indexes::add);
+
+            assertThat(indexes, equalTo(List.of(0L, 1L, 2L, 3L)));
+        }
+    }
+
+    @Nested
+    @DisplayName("#open")
+    class Open {
+
+        @Test
+        void should_read_values_written_before(@TempDir Path directory) throws IOException {
+            Path file = directory.resolve("dates.bin");
+            try (EhrDateStore store = EhrDateStore.create(file, 16)) {
+                VALUES.forEach(store::add);
+                store.set(1, new EhrDate("2023-08"));
+            }
+
+            try (EhrDateStore store = EhrDateStore.open(file)) {
+                assertThat(store.size(), equalTo((long) VALUES.size()));
+                assertThat(store.capacity(), equalTo(16L));
+                assertThat(store.get(0).getValue(), equalTo("2023-07-28"));
+                assertThat(store.get(1).getValue(), equalTo("2023-08"));
+                assertThat(store.get(4).getValue(), equalTo("2024-02-29T+00:00"));
+                assertThat(store.get(5).getValue(), equalTo("1969-12-31T-03:30"));
+
+                store.add("2023-07-29");
+            }
+
+            try (EhrDateStore store = EhrDateStore.open(file)) {
+                assertThat(store.size(), equalTo(VALUES.size() + 1L));
+            }
+        }
+
+        @Test
+        void should_reject_other_file(@TempDir Path directory) throws IOException {
+            Path file = directory.resolve("dates.bin");
+            Files.write(file, new byte[24]);
+
+            assertThrows(IOException.class, () -> EhrDateStore.open(file));
+        }
+    }
+
+    private static EhrDateStore storeOf(List<String> values) {
+        EhrDateStore store = EhrDateStore.allocate(values.size());
+        values.forEach(store::add);
+        return store;
+    }
+}
@@ -1,11 +1,18 @@
 package org.ksplus.base.foundation_types.time;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,6 +25,52 @@ import org.openehr.base.foundation_types.time.Iso8601Timezone;
 
 class EhrDateTest {
 
+    @Nested
+    @DisplayName("#formatTo")
+    class FormatTo {
+
+        @ParameterizedTest
+        @CsvSource({
+            "20230819T-0200, 2023-08-19T-02:00",
+            "0001-01-01, 0001-01-01",
+            "202308, 2023-08",
+            "2023TZ, 2023T+00:00",
+        })
+        void should_write_canonical_representation(String value, String expected) {
+            EhrDate date = new EhrDate(value);
+            byte[] bytes = new byte[Iso8601Formattable.MAX_LENGTH + 2];
+            StringBuilder builder = new StringBuilder("date: ");
+
+            int end = date.formatTo(bytes, 2);
+            date.formatTo(builder);
+
+            assertThat(new String(bytes, 2, end - 2, StandardCharsets.US_ASCII), equalTo(expected));
+            assertThat(builder.toString(), equalTo("date: " + expected));
+            assertThat(date.asString(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("Primitive accessors")
+    class PrimitiveAccessors {
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-07-28, 2023, 7, 28",
+            "202307, 2023, 7, 0",
+            "2023TZ, 2023, 0, 0",
+        })
+        void should_be_equal_to_boxed_accessors(String value, int year, int month, int day) {
+            EhrDate date = new EhrDate(value);
+
+            assertThat(date.yearAsInt(), equalTo(year));
+            assertThat(date.monthAsInt(), equalTo(month));
+            assertThat(date.dayAsInt(), equalTo(day));
+            assertThat(date.monthUnknownAsBoolean(), equalTo(date.monthUnknown()));
+            assertThat(date.dayUnknownAsBoolean(), equalTo(date.dayUnknown()));
+        }
+    }
+
     @Nested
     class Constructor {
 
@@ -25,6 +78,8 @@ class EhrDateTest {
         @ValueSource(strings = {
             "2023-02-12",
             "2023-02-12T+03:00",
+            "2024-02-29",
+            "20240229",
         })
         void should_accept_valid_date(String value) {
             Iso8601Date date = new EhrDate(value);
@@ -40,6 +95,14 @@ class EhrDateTest {
             "2023-02-50",
             "2023-02-12T*03:00",
             "2023-02-12T03:00",
+            "2023-02-29",
+            "2100-02-29",
+            "2023-02-00",
+            "2023-13",
+            "2023-00",
+            "202313",
+            "2023/02/12",
+            "2023-0a-12",
         })
         void should_reject_invalid_date(String value) {
             assertThrows(
@@ -48,6 +111,103 @@ class EhrDateTest {
         }
     }
 
+    @Nested
+    @DisplayName("#parse")
+    class Parse {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2023", "2023-08", "20230814", "2023-08-14T+03:00", "2023-08-14T−03:00"})
+        void should_parse_same_as_constructor(String value) {
+            byte[] bytes = ("x," + value + ",y").getBytes(StandardCharsets.UTF_8);
+            int length = bytes.length - 4;
+
+            EhrDate fromBytes = EhrDate.parse(bytes, 2, length);
+            EhrDate fromBuffer = EhrDate.parse(ByteBuffer.wrap(bytes, 2, length));
+
+            for (EhrDate date : List.of(fromBytes, fromBuffer)) {
+                assertThat(date.getValue(), equalTo(value));
+                assertThat(date.compareTo(new EhrDate(value)), equalTo(0));
+                assertThat(date.asString(), equalTo(new EhrDate(value).asString()));
+            }
+        }
+
+        @Test
+        void should_reject_invalid_bytes() {
+            byte[] bytes = "2023-02-30".getBytes(StandardCharsets.UTF_8);
+
+            assertThrows(IllegalArgumentException.class, () -> EhrDate.parse(bytes, 0, bytes.length));
+            assertThrows(IllegalArgumentException.class, () -> EhrDate.parse(bytes, 0, 2));
+            assertThrows(IndexOutOfBoundsException.class, () -> EhrDate.parse(bytes, 4, bytes.length));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2020-01-01T+é1", "2020-01-01T+0é:00", "2020-01-01T−0é:00", "2020-01-01TEuropé"})
+        void should_reject_non_ascii_bytes_in_timezone(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            assertThrows(IllegalArgumentException.class, () -> EhrDate.parse(bytes, 0, bytes.length));
+            assertThrows(IllegalArgumentException.class, () -> EhrDate.parse(ByteBuffer.wrap(bytes)));
+        }
+    }
+
+    @Nested
+    @DisplayName("#tryParse")
+    class TryParse {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2023", "2023-08", "202308", "20230814", "2024-02-29", "2023-08-14T+03:00",
+            "2023-08-14T−03:00", "2023-08-14TZ", "2024-366", "2023001T+01"})
+        void should_parse_same_as_constructor(String value) {
+            ParseResult<EhrDate> result = EhrDate.tryParse(value);
+
+            assertTrue(result.isValid());
+            assertThat(result.value().getValue(), equalTo(value));
+            assertThat(result.value().compareTo(new EhrDate(value)), equalTo(0));
+            assertThat(result.value().asString(), equalTo(new EhrDate(value).asString()));
+            assertThat(result.value().isExtended(), equalTo(new EhrDate(value).isExtended()));
+            assertThat(result.errorIndex(), equalTo(-1));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "'', INVALID_FORMAT, 0",
+            "20x3-08-14, INVALID_FORMAT, 0",
+            "2023/08/14, INVALID_FORMAT, 4",
+            "2023-08/14, INVALID_FORMAT, 7",
+            "2023-0x-14, INVALID_FORMAT, 5",
+            "2023081x, INVALID_FORMAT, 6",
+            "2023-08-1, INVALID_FORMAT, 9",
+            "2023-08-144, INVALID_FORMAT, 10",
+            "2023-13-01, OUT_OF_RANGE, 5",
+            "2023-02-29, OUT_OF_RANGE, 8",
+            "20230800, OUT_OF_RANGE, 6",
+            "2023-08-14T+19:00, OUT_OF_RANGE, 12",
+            "2023-08-14T+02:0, INVALID_FORMAT, 15",
+            "2023-366, OUT_OF_RANGE, 5",
+            "2024000, OUT_OF_RANGE, 4",
+            "2024-3x6, INVALID_FORMAT, 5",
+        })
+        void should_report_error(String value, ParseError error, int errorIndex) {
+            ParseResult<EhrDate> result = EhrDate.tryParse(value);
+
+            assertFalse(result.isValid());
+            assertThat(result.error(), equalTo(error));
+            assertThat(result.errorIndex(), equalTo(errorIndex));
+            assertThat(result.value(), nullValue());
+            assertThrows(IllegalArgumentException.class, () -> new EhrDate(value));
+        }
+
+        @Test
+        void should_throw_on_demand() {
+            ParseResult<EhrDate> result = EhrDate.tryParse("2023-02-30");
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, result::orElseThrow);
+            assertThat(exception.getMessage(),
+                equalTo("Invalid value, field out of range at index 8: 2023-02-30"));
+            assertThat(result.orElse(null), nullValue());
+        }
+    }
+
     @Nested
     @DisplayName("#year")
     class Year {
@@ -210,6 +370,8 @@ class EhrDateTest {
                 "2023-08-14",
                 "202308",
                 "20230814",
+                "2023-226",
+                "2023226",
             })
             void should_return_original_value(String value) {
                 Iso8601Date date = new EhrDate(value);
@@ -295,6 +457,11 @@ class EhrDateTest {
                 "20230819, 2023-08-19",
                 "20230819T-0200, 2023-08-19T-02:00",
                 "20230819T+0300, 2023-08-19T+03:00",
+                "2023-231, 2023-08-19",
+                "2024060, 2024-02-29",
+                "2024-366T+0300, 2024-12-31T+03:00",
+                "2023-08-14TUTC, 2023-08-14TUTC",
+                "20230814T+05:30:00, 2023-08-14T+05:30:00",
             }, useHeadersInDisplayName = true)
             void should_format_transform_base_format_to_extended_format(String value, String expectedResult) {
                 Iso8601Date date = new EhrDate(value);
@@ -322,4 +489,199 @@ class EhrDateTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("#compareTo")
+    class CompareTo {
+
+        @ParameterizedTest
+        @CsvSource(value = {
+            "date, other date",
+            "2023-08-18, 2023-08-19",
+            "2023-08-31, 2023-09-01",
+            "2022-12-31, 2023-01-01",
+            "0000-01-01, 9999-12-31",
+            "2023, 2023-01",
+            "2023-01, 2023-01-01",
+            "2023, 20230101",
+            "2023-12, 2024",
+            "2023-08-18, 20230819T+01:00",
+        }, useHeadersInDisplayName = true)
+        void should_order_chronologically(String dateValue, String otherDateValue) {
+            EhrDate date = new EhrDate(dateValue);
+            EhrDate otherDate = new EhrDate(otherDateValue);
+
+            assertThat(date.compareTo(otherDate) < 0, equalTo(true));
+            assertThat(otherDate.compareTo(date) > 0, equalTo(true));
+        }
+
+        @ParameterizedTest
+        @CsvSource(value = {
+            "date, other date",
+            "2023-08-18, 20230818",
+            "2023-08, 202308",
+            "2023-08-18T+01:00, 2023-08-18T-05:00",
+        }, useHeadersInDisplayName = true)
+        void should_yield_zero_for_same_date(String dateValue, String otherDateValue) {
+            assertThat(new EhrDate(dateValue).compareTo(new EhrDate(otherDateValue)), equalTo(0));
+        }
+
+        @Test
+        void should_sort_dates() {
+            List<EhrDate> dates = new ArrayList<>(List.of(
+                new EhrDate("2023-08-18"),
+                new EhrDate("2023"),
+                new EhrDate("2022-12-31"),
+                new EhrDate("2023-08")
+            ));
+
+            Collections.sort(dates);
+
+            assertThat(dates.stream().map(EhrDate::getValue).toList(), contains(
+                "2022-12-31", "2023", "2023-08", "2023-08-18"
+            ));
+        }
+    }
+
+    @Nested
+    @DisplayName("#lessThan")
+    class LessThan {
+
+        @Test
+        void should_compare_dates() {
+            Iso8601Date date = new EhrDate("2023-08-18");
+
+            assertThat(date.lessThan(new EhrDate("2023-08-19")), equalTo(true));
+            assertThat(date.lessThan(new EhrDate("2023-08-18")), equalTo(false));
+            assertThat(date.lessThanOrEqual(new EhrDate("2023-08-18")), equalTo(true));
+            assertThat(date.greaterThan(new EhrDate("2023-08-17")), equalTo(true));
+            assertThat(date.greaterThan(new EhrDate("2023-08-18")), equalTo(false));
+            assertThat(date.greaterThanOrEqual(new EhrDate("2023-08-18")), equalTo(true));
+        }
+
+        @Test
+        void should_fail_for_other_type() {
+            Iso8601Date date = new EhrDate("2023-08-18");
+
+            assertThrows(RuntimeException.class, () -> date.lessThan("2023-08-19"));
+        }
+    }
+
+    @Nested
+    @DisplayName("#add")
+    class Add {
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-08-14, P1D, 2023-08-15",
+            "2023-12-31, P1D, 2024-01-01",
+            "2024-02-28, P1D, 2024-02-29",
+            "2023-08-14, P2W, 2023-08-28",
+            "2023-08-14, PT47H, 2023-08-15",
+            "2023-01-31, P1M, 2023-03-02",
+            "20230814, P1D, 20230815",
+            "2023-08-14T+02:00, P20D, 2023-09-03T+02:00",
+            "2023-01, P45D, 2023-02",
+            "2023, P400D, 2024",
+            "2023-08-14, -P14D, 2023-07-31",
+            "2023-365, P1D, 2024-001",
+            "2024059, P1D, 2024060",
+            "2023226T−0300, P1D, 2023227T−0300",
+        })
+        void should_add_duration(String date, String duration, String expected) {
+            EhrDate result = new EhrDate(date).add(new EhrDuration(duration));
+
+            assertThat(result.getValue(), equalTo(expected));
+            assertThat(result.compareTo(new EhrDate(expected)), equalTo(0));
+        }
+
+        @Test
+        void should_reject_result_out_of_range() {
+            var date = new EhrDate("9999-12-31");
+
+            assertThrows(ArithmeticException.class, () -> date.add(new EhrDuration("P1D")));
+        }
+    }
+
+    @Nested
+    @DisplayName("#subtract")
+    class Subtract {
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-08-14, P1D, 2023-08-13",
+            "2024-01-01, P1D, 2023-12-31",
+            "2024-03-01, P1D, 2024-02-29",
+            "2023-03, P1D, 2023-02",
+        })
+        void should_subtract_duration(String date, String duration, String expected) {
+            EhrDate result = new EhrDate(date).subtract(new EhrDuration(duration));
+
+            assertThat(result.getValue(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#diff")
+    class Diff {
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-08-14, 2023-08-14, PT0S",
+            "2023-08-14, 2023-07-05, P40D",
+            "2023-07-05, 2023-08-14, -P40D",
+            "2024-03-01, 2023-03-01, P366D",
+            "2024-01, 2022-11-15, P1Y2M",
+            "2024, 2022-11-15, P2Y",
+        })
+        void should_calculate_difference(String date, String other, String expected) {
+            var result = new EhrDate(date).diff(new EhrDate(other));
+
+            assertThat(result.getValue(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#addNominal")
+    class AddNominal {
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-08-14, P1Y, 2024-08-14",
+            "2024-02-29, P1Y, 2025-02-28",
+            "2023-01-31, P1M, 2023-02-28",
+            "2024-01-31, P1M, 2024-02-29",
+            "2023-03-31, P1M, 2023-04-30",
+            "2023-11-30, P3M, 2024-02-29",
+            "2023-01-31, P1M1D, 2023-03-01",
+            "2023-08-14, P40W, 2024-05-20",
+            "2023-08, P5M, 2024-01",
+            "2023, P18M, 2024",
+            "202308, P1M, 202309",
+        })
+        void should_add_nominal_duration(String date, String duration, String expected) {
+            EhrDate result = new EhrDate(date).addNominal(new EhrDuration(duration));
+
+            assertThat(result.getValue(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#subtractNominal")
+    class SubtractNominal {
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-08-14, P1Y, 2022-08-14",
+            "2024-02-29, P1Y, 2023-02-28",
+            "2023-03-31, P1M, 2023-02-28",
+            "2023-01-15, P1M, 2022-12-15",
+            "2023-03-01, P1M1D, 2023-01-31",
+        })
+        void should_subtract_nominal_duration(String date, String duration, String expected) {
+            EhrDate result = new EhrDate(date).subtractNominal(new EhrDuration(duration));
+
+            assertThat(result.getValue(), equalTo(expected));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.openehr.base.foundation_types.time.Iso8601DateTime;
+
+class EhrDateTimeColumnTest {
+
+    private static final List<String> VALUES = List.of(
+        "2023-07-28T16:22:34Z",
+        "2023-07-28T18:22:34.5+02:00",
+        "2023-07-28T16:22:34.000000001Z",
+        "2023-07-28",
+        "1969-12-31T23:59:59.999999Z",
+        "2023-07",
+        "2023-07-28T16",
+        "0001-01-01T00:00",
+        "9999-12-31T23:59:59,999999999Z",
+        "20230728T162234−0100"
+    );
+
+    @Nested
+    @DisplayName("#add")
+    class Add {
+
+        @Test
+        void should_provide_values_through_views() {
+            EhrDateTimeColumn column = new EhrDateTimeColumn(1);
+            column.add("2023-07-28T16:22:34.5+02:00");
+            column.add(new EhrDateTime("2023-??-28"));
+
+            assertThat(column.size(), equalTo(2));
+            Iso8601DateTime first = column.get(0);
+            assertThat(first.year(), equalTo(2023));
+            assertThat(first.month(), equalTo(7));
+            assertThat(first.day(), equalTo(28));
+            assertThat(first.hour(), equalTo(16));
+            assertThat(first.minute(), equalTo(22));
+            assertThat(first.second(), equalTo(34));
+            assertThat(first.fractionalSecond(), equalTo(0.5));
+            assertThat(column.get(1).month(), equalTo(0));
+        }
+
+        @Test
+        void should_add_bytes() {
+            EhrDateTimeColumn column = new EhrDateTimeColumn();
+            byte[] bytes = "2023-07-28T16:22:34−02:00".getBytes(StandardCharsets.UTF_8);
+
+            column.add(bytes, 0, bytes.length);
+
+            assertThat(column.get(0).lessThan(new EhrDateTime("2023-07-28T18:22:35Z")), equalTo(true));
+            assertThat(column.get(0).greaterThan(new EhrDateTime("2023-07-28T18:22:33Z")), equalTo(true));
+        }
+
+        @Test
+        void should_reject_invalid_value() {
+            EhrDateTimeColumn column = new EhrDateTimeColumn();
+            byte[] bytes = "2023-07-28T24:00".getBytes(StandardCharsets.UTF_8);
+
+            assertThrows(IllegalArgumentException.class, () -> column.add("2023-W30"));
+            assertThrows(IllegalArgumentException.class, () -> column.add(bytes, 0, bytes.length));
+            assertThat(column.size(), equalTo(0));
+        }
+
+        @Test
+        void should_reject_index_out_of_bounds() {
+            EhrDateTimeColumn column = column(VALUES);
+
+            assertThrows(IndexOutOfBoundsException.class, () -> column.get(VALUES.size()));
+        }
+    }
+
+    @Nested
+    @DisplayName("#indexOfMin")
+    class IndexOfMin {
+
+        @Test
+        void should_find_earliest_value() {
+            assertThat(column(VALUES).indexOfMin(), equalTo(7));
+        }
+
+        @Test
+        void should_yield_minus_one_for_empty_column() {
+            assertThat(new EhrDateTimeColumn().indexOfMin(), equalTo(-1));
+        }
+    }
+
+    @Nested
+    @DisplayName("#indexOfMax")
+    class IndexOfMax {
+
+        @Test
+        void should_find_latest_value() {
+            assertThat(column(VALUES).indexOfMax(), equalTo(8));
+        }
+
+        @Test
+        void should_yield_minus_one_for_empty_column() {
+            assertThat(new EhrDateTimeColumn().indexOfMax(), equalTo(-1));
+        }
+    }
+
+    @Nested
+    @DisplayName("#sort")
+    class Sort {
+
+        @Test
+        void should_sort_in_same_order_as_compare_to() {
+            List<String> values = new ArrayList<>(VALUES);
+            Random random = new Random(42);
+            for (int i = 0; i < 2000; i++) {
+                values.add(String.format("%04d-%02d-%02dT%02d:%02d:%02d.%09d%s",
+                    1900 + random.nextInt(200), 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                    random.nextInt(60), random.nextInt(60), random.nextInt(3) * 999, random.nextBoolean() ? "Z" : "+01:00"
+                ));
+            }
+            List<EhrDateTime> expected = new ArrayList<>(values.stream().map(EhrDateTime::new).toList());
+            Collections.sort(expected);
+            EhrDateTimeColumn column = column(values);
+
+            column.sort();
+
+            for (int i = 0; i < expected.size(); i++) {
+                EhrDateTime dateTime = expected.get(i);
+                Iso8601DateTime view = column.get(i);
+                assertThat(view.lessThanOrEqual(dateTime) && view.greaterThanOrEqual(dateTime), equalTo(true));
+            }
+            assertThat(column.indexOfMin(), equalTo(0));
+            assertThat(column.indexOfMax(), equalTo(values.size() - 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("#countInRange")
+    class CountInRange {
+
+        @Test
+        void should_count_values_in_range() {
+            EhrDateTimeColumn column = column(VALUES);
+            EhrDateTime from = new EhrDateTime("2023-07-28");
+            EhrDateTime to = new EhrDateTime("2023-07-28T16:22:35Z");
+
+            assertThat(column.countInRange(from, to), equalTo(5));
+            column.sort();
+            assertThat(column.countInRange(from, to), equalTo(5));
+            assertThat(column.countInRange(to, from), equalTo(0));
+            assertThat(column.countInRange(column.get(0), column.get(column.size() - 1)), equalTo(VALUES.size() - 1));
+        }
+    }
+
+    private static EhrDateTimeColumn column(List<String> values) {
+        EhrDateTimeColumn column = new EhrDateTimeColumn();
+        values.forEach(column::add);
+        return column;
+    }
+}
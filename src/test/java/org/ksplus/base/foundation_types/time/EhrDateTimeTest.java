@@ -4,15 +4,54 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.StringWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.openehr.base.foundation_types.time.Iso8601DateTime;
 
 class EhrDateTimeTest {
 
+    @Nested
+    @DisplayName("#formatTo")
+    class FormatTo {
+
+        @ParameterizedTest
+        @CsvSource({
+            "'20230728T162234,5+0100', 2023-07-28T16:22:34.5+01:00",
+            "2023-07-28T16:22:34.120Z, 2023-07-28T16:22:34.12Z",
+            "2023-07-28T16:22:34.000−02, 2023-07-28T16:22:34.0-02:00",
+            "2023-??-28T??:30, 2023-??-28T??:30",
+            "2023-07-28T16, 2023-07-28T16",
+            "0999-07, 0999-07",
+        })
+        void should_write_canonical_representation(String value, String expected) throws IOException {
+            EhrDateTime dateTime = new EhrDateTime(value);
+            byte[] bytes = new byte[Iso8601Formattable.MAX_LENGTH];
+            StringWriter writer = new StringWriter();
+
+            int end = dateTime.formatTo(bytes, 0);
+            dateTime.formatTo(writer);
+
+            assertThat(new String(bytes, 0, end, StandardCharsets.US_ASCII), equalTo(expected));
+            assertThat(writer.toString(), equalTo(expected));
+            assertThat(dateTime.asString(), equalTo(expected));
+        }
+    }
+
     @Nested
     @DisplayName("Constructor")
     class Constructor {
@@ -28,6 +67,300 @@ class EhrDateTimeTest {
             new EhrDateTime("2023-07-28T16:22:34-02:00");
             // test passes if no exception occurs
         }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "2024-02-29",
+            "2023-07-28T16:22:34Z",
+            "20230728T162234,5+0100",
+            "2023-07-28T16:22:34.123456789+14:00",
+            "2023-07-28T16+02",
+            "2024-366T23:59",
+            "2023209T1622",
+        })
+        void should_accept_valid_date_time(String value) {
+            new EhrDateTime(value);
+            // test passes if no exception occurs
+        }
+
+        @Test
+        void should_convert_ordinal_date() {
+            EhrDateTime dateTime = new EhrDateTime("2023-209T16:22Z");
+
+            assertThat(dateTime.monthAsInt(), equalTo(7));
+            assertThat(dateTime.dayAsInt(), equalTo(28));
+            assertThat(dateTime.getValue(), equalTo("2023-209T16:22Z"));
+            assertThat(dateTime.asString(), equalTo("2023-07-28T16:22Z"));
+            assertThat(dateTime.compareTo(new EhrDateTime("2023-07-28T16:22Z")), equalTo(0));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "2023-13",
+            "2023-02-29",
+            "2023-0728",
+            "2023-07-28T24:00",
+            "2023-07-28T12:60",
+            "2023-07-28T12:3",
+            "2023-07-28T12:3000",
+            "2023-07-28T12:30:00.",
+            "2023-07-28T12:30+19:00",
+            "2023-07-28T12:30-00:00",
+            "2023-07-28 12:30",
+            "2023-07-28T",
+            "2023-366T12",
+            "2024-000",
+        })
+        void should_reject_invalid_date_time(String value) {
+            assertThrows(
+                IllegalArgumentException.class, () -> new EhrDateTime(value)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("#parse")
+    class Parse {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "2023-07-28T16:22:34Z",
+            "20230728T162234,5+0100",
+            "2023-07-28T16:22:34.123456789−02:00",
+            "2023-??-28T16",
+        })
+        void should_parse_same_as_constructor(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 1).put(bytes).flip();
+
+            EhrDateTime fromBytes = EhrDateTime.parse(bytes, 0, bytes.length);
+            EhrDateTime fromBuffer = EhrDateTime.parse(buffer);
+
+            EhrDateTime expected = new EhrDateTime(value);
+            for (EhrDateTime dateTime : new EhrDateTime[]{fromBytes, fromBuffer}) {
+                assertThat(dateTime.compareTo(expected), equalTo(0));
+                assertThat(dateTime.monthAsInt(), equalTo(expected.monthAsInt()));
+                assertThat(dateTime.nanoAsInt(), equalTo(expected.nanoAsInt()));
+            }
+            assertThat(buffer.position(), equalTo(0));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2023-07-28T16:22:34×02:00", "2023-W30", "2023-07-28T24:00"})
+        void should_reject_invalid_bytes(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            assertThrows(IllegalArgumentException.class, () -> EhrDateTime.parse(bytes, 0, bytes.length));
+        }
+    }
+
+    @Nested
+    @DisplayName("#tryParse")
+    class TryParse {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "2023-07-28T16:22:34Z",
+            "20230728T162234,5+0100",
+            "2023-07-28T16:22:34.123456789−02:00",
+            "2023-??-28T16",
+        })
+        void should_parse_same_as_constructor(String value) {
+            ParseResult<EhrDateTime> result = EhrDateTime.tryParse(value);
+
+            EhrDateTime expected = new EhrDateTime(value);
+            assertThat(result.isValid(), equalTo(true));
+            assertThat(result.value().getValue(), equalTo(value));
+            assertThat(result.value().compareTo(expected), equalTo(0));
+            assertThat(result.value().monthAsInt(), equalTo(expected.monthAsInt()));
+            assertThat(result.value().nanoAsInt(), equalTo(expected.nanoAsInt()));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "'', INVALID_FORMAT, 0",
+            "2023-07-28T16:22:34×02:00, INVALID_CHARACTER, 19",
+            "+2023-07-28, NOT_SUPPORTED_BY_OPENEHR, 0",
+            "2023-W30, NOT_SUPPORTED_BY_OPENEHR, 5",
+            "2023-07-28T24:00, OUT_OF_RANGE, 11",
+            "2023-02-29T16, OUT_OF_RANGE, 8",
+            "2023-07-28T16:22:34+18:01, OUT_OF_RANGE, 23",
+            "2023-07-28T16:2, INVALID_FORMAT, 14",
+            "2023-07-28 16:22, INVALID_FORMAT, 10",
+        })
+        void should_report_error(String value, ParseError error, int errorIndex) {
+            ParseResult<EhrDateTime> result = EhrDateTime.tryParse(value);
+
+            assertThat(result.isValid(), equalTo(false));
+            assertThat(result.error(), equalTo(error));
+            assertThat(result.errorIndex(), equalTo(errorIndex));
+            assertThrows(IllegalArgumentException.class, () -> new EhrDateTime(value));
+        }
+    }
+
+    @Nested
+    @DisplayName("#lazy")
+    class Lazy {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "2023-07-28T16:22:34Z",
+            "20230728T162234,5+0100",
+            "2023-07-28T16:22:34.123456789−02:00",
+            "2023-??-28T16",
+            "0000",
+        })
+        void should_provide_same_fields_as_constructor(String value) {
+            PackedIso8601DateTime lazy = (PackedIso8601DateTime) EhrDateTime.lazy(value);
+
+            EhrDateTime expected = new EhrDateTime(value);
+            assertThat(lazy.getValue(), equalTo(value));
+            assertThat(PackedIso8601DateTime.compare(lazy, expected), equalTo(0));
+            assertThat(expected.lessThanOrEqual(lazy) && expected.greaterThanOrEqual(lazy), equalTo(true));
+            assertThat(DateTimeArrays.sortKey(lazy), equalTo(DateTimeArrays.sortKey(expected)));
+            assertThat(lazy.yearAsInt(), equalTo(expected.yearAsInt()));
+            assertThat(lazy.monthAsInt(), equalTo(expected.monthAsInt()));
+            assertThat(lazy.hourAsInt(), equalTo(expected.hourAsInt()));
+            assertThat(lazy.nanoAsInt(), equalTo(expected.nanoAsInt()));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2023-07-28 12:30h", "2023-W30", "-2023-07-28"})
+        void should_reject_structurally_invalid_value(String value) {
+            assertThrows(IllegalArgumentException.class, () -> EhrDateTime.lazy(value));
+        }
+
+        @Test
+        void should_defer_rejection_of_invalid_fields() {
+            PackedIso8601DateTime lazy = (PackedIso8601DateTime) EhrDateTime.lazy("2023-07-28T24:00");
+
+            assertThat(lazy.getValue(), equalTo("2023-07-28T24:00"));
+            assertThrows(IllegalArgumentException.class, lazy::hourAsInt);
+        }
+
+        @Test
+        void should_scan_invalid_value_only_once() {
+            PackedIso8601DateTime lazy = (PackedIso8601DateTime) EhrDateTime.lazy("2023-07-28T24:00");
+
+            IllegalArgumentException first = assertThrows(IllegalArgumentException.class, lazy::hourAsInt);
+            IllegalArgumentException second = assertThrows(IllegalArgumentException.class, lazy::asString);
+
+            assertThat(second.getCause(), sameInstance(first.getCause()));
+            assertThat(second.getMessage(), equalTo(first.getMessage()));
+        }
+
+        @Test
+        void should_provide_same_fields_to_racing_threads() {
+            PackedIso8601DateTime lazy = (PackedIso8601DateTime) EhrDateTime.lazy("2023-07-28T16:22:34.5+02:00");
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(CompletableFuture.supplyAsync(lazy::nanoAsInt));
+            }
+
+            for (CompletableFuture<Integer> future : futures) {
+                assertThat(future.join(), equalTo(500_000_000));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Flag accessors")
+    class FlagAccessors {
+
+        @ParameterizedTest
+        @CsvSource({
+            "'2023-07-28T16:22:34,5+02:00', false, true, true, true",
+            "20230728T162234, false, false, false, false",
+            "2023-07-28T16:22, true, true, false, false",
+            "2023-??-28T16:22:34, true, true, false, false",
+            "2023, true, false, false, false",
+        })
+        void should_read_flags(String value, boolean partial, boolean extended, boolean fractionalSecond,
+                               boolean decimalSignComma) {
+            EhrDateTime dateTime = new EhrDateTime(value);
+
+            assertThat(dateTime.isPartial(), equalTo(partial));
+            assertThat(dateTime.isExtended(), equalTo(extended));
+            assertThat(dateTime.hasFractionalSecond(), equalTo(fractionalSecond));
+            assertThat(dateTime.isDecimalSignComma(), equalTo(decimalSignComma));
+            assertThat(dateTime.getValue(), equalTo(value));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-07-28T16:22:34+02:00, +02:00",
+            "20230728T1622−0530, −0530",
+            "2023-07-28T16Z, +00:00",
+        })
+        void should_provide_timezone(String value, String expected) {
+            EhrDateTime dateTime = new EhrDateTime(value);
+
+            assertThat(dateTime.timezone().asString(), equalTo(new EhrTimezone(expected).asString()));
+            assertThat(dateTime.timezone().isExtended(), equalTo(new EhrTimezone(expected).isExtended()));
+        }
+
+        @Test
+        void should_yield_null_without_timezone() {
+            assertThat(new EhrDateTime("2023-07-28T16:22:34").timezone(), equalTo(null));
+        }
+
+        @Test
+        void should_provide_canonical_value_for_column_views() {
+            EhrDateTimeColumn column = new EhrDateTimeColumn();
+            column.add("20230728T162234,5+0200");
+
+            assertThat(column.get(0).getValue(), equalTo("2023-07-28T16:22:34.5+02:00"));
+            assertThat(column.get(0).isDecimalSignComma(), equalTo(true));
+        }
+    }
+
+    @Nested
+    @DisplayName("Primitive accessors")
+    class PrimitiveAccessors {
+
+        @Test
+        void should_read_all_fields() {
+            EhrDateTime dateTime = new EhrDateTime("2023-07-28T16:22:34.5+02:00");
+
+            assertThat(dateTime.yearAsInt(), equalTo(2023));
+            assertThat(dateTime.monthAsInt(), equalTo(7));
+            assertThat(dateTime.dayAsInt(), equalTo(28));
+            assertThat(dateTime.hourAsInt(), equalTo(16));
+            assertThat(dateTime.minuteAsInt(), equalTo(22));
+            assertThat(dateTime.secondAsInt(), equalTo(34));
+            assertThat(dateTime.nanoAsInt(), equalTo(500_000_000));
+        }
+
+        @Test
+        void should_yield_zero_for_unknown_fields() {
+            EhrDateTime dateTime = new EhrDateTime("9999-??-31T??");
+
+            assertThat(dateTime.yearAsInt(), equalTo(9999));
+            assertThat(dateTime.monthAsInt(), equalTo(0));
+            assertThat(dateTime.dayAsInt(), equalTo(31));
+            assertThat(dateTime.hourAsInt(), equalTo(0));
+            assertThat(dateTime.minuteAsInt(), equalTo(0));
+            assertThat(dateTime.secondAsInt(), equalTo(0));
+            assertThat(dateTime.nanoAsInt(), equalTo(0));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "2023-07-28T16:22:34, false, false, false, false",
+            "2023-??-28T16:??, true, false, true, true",
+            "2023-07, false, true, true, true",
+        })
+        void should_flag_unknown_fields(String value, boolean monthUnknown, boolean dayUnknown,
+                                        boolean minuteUnknown, boolean secondUnknown) {
+            EhrDateTime dateTime = new EhrDateTime(value);
+
+            assertThat(dateTime.monthUnknownAsBoolean(), equalTo(monthUnknown));
+            assertThat(dateTime.dayUnknownAsBoolean(), equalTo(dayUnknown));
+            assertThat(dateTime.minuteUnknownAsBoolean(), equalTo(minuteUnknown));
+            assertThat(dateTime.secondUnknownAsBoolean(), equalTo(secondUnknown));
+            assertThat(dateTime.monthUnknown(), equalTo(monthUnknown));
+            assertThat(dateTime.secondUnknown(), equalTo(secondUnknown));
+        }
     }
 
     @Nested
@@ -286,4 +619,71 @@ class EhrDateTimeTest {
             assertThat(dateTime.fractionalSecond(), equalTo(0.0));
         }
     }
+
+    @Nested
+    @DisplayName("#compareTo")
+    class CompareTo {
+
+        @ParameterizedTest
+        @CsvSource(value = {
+            "date time, other date time",
+            "2023-07-28T16:22:34, 2023-07-28T16:22:35",
+            "2023-07-28T16:22:34.1, 2023-07-28T16:22:34.2",
+            "2023-07-28T16:22:34.000000001, 2023-07-28T16:22:34.000000002",
+            "2023-07-28T23:59:59, 2023-07-29T00:00:00",
+            "2023-07-28T16:00+02:00, 2023-07-28T15:00Z",
+            "2023-07-28T16:00Z, 2023-07-28T16:00−01:00",
+            "2023-07-28T00:00+14:00, 2023-07-27T11:00-12:00",
+            "2023, 2023-01",
+            "2023-01-01, 2023-01-01T00",
+            "2023-01-01T00, 2023-01-01T00:00",
+            "2023-01-01T00:00, 2023-01-01T00:00:00",
+            "2023-??-31, 2023-01",
+            "2023-07-28T??, 2023-07-28T00",
+        }, useHeadersInDisplayName = true)
+        void should_order_chronologically(String dateTimeValue, String otherDateTimeValue) {
+            EhrDateTime dateTime = new EhrDateTime(dateTimeValue);
+            EhrDateTime otherDateTime = new EhrDateTime(otherDateTimeValue);
+
+            assertThat(dateTime.compareTo(otherDateTime) < 0, equalTo(true));
+            assertThat(otherDateTime.compareTo(dateTime) > 0, equalTo(true));
+        }
+
+        @ParameterizedTest
+        @CsvSource(value = {
+            "date time, other date time",
+            "2023-07-28T16:22:34, 20230728T162234",
+            "2023-07-28T16:22:34+02:00, 2023-07-28T14:22:34Z",
+            "'2023-07-28T16:22:34,5', 2023-07-28T16:22:34.500",
+        }, useHeadersInDisplayName = true)
+        void should_yield_zero_for_same_instant(String dateTimeValue, String otherDateTimeValue) {
+            EhrDateTime dateTime = new EhrDateTime(dateTimeValue);
+
+            assertThat(dateTime.compareTo(new EhrDateTime(otherDateTimeValue)), equalTo(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("#lessThan")
+    class LessThan {
+
+        @Test
+        void should_compare_date_times() {
+            Iso8601DateTime dateTime = new EhrDateTime("2023-07-28T16:22:34");
+
+            assertThat(dateTime.lessThan(new EhrDateTime("2023-07-28T16:22:35")), equalTo(true));
+            assertThat(dateTime.lessThan(new EhrDateTime("2023-07-28T16:22:34")), equalTo(false));
+            assertThat(dateTime.lessThanOrEqual(new EhrDateTime("2023-07-28T16:22:34")), equalTo(true));
+            assertThat(dateTime.greaterThan(new EhrDateTime("2023-07-28T16:22:33")), equalTo(true));
+            assertThat(dateTime.greaterThan(new EhrDateTime("2023-07-28T16:22:34")), equalTo(false));
+            assertThat(dateTime.greaterThanOrEqual(new EhrDateTime("2023-07-28T16:22:34")), equalTo(true));
+        }
+
+        @Test
+        void should_fail_for_other_type() {
+            Iso8601DateTime dateTime = new EhrDateTime("2023-07-28T16:22:34");
+
+            assertThrows(RuntimeException.class, () -> dateTime.lessThan(new EhrDate("2023-07-28")));
+        }
+    }
 }
@@ -2,16 +2,123 @@ package org.ksplus.base.foundation_types.time;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.openehr.base.foundation_types.time.Iso8601Duration;
 
 class EhrDurationTest {
 
+    @Nested
+    @DisplayName("#asString")
+    class AsString {
+
+        @ParameterizedTest
+        @CsvSource({
+            "P1Y2M3W4DT5H6M7.25S, P1Y2M3W4DT5H6M7.25S",
+            "'-PT0,5S', -PT0.5S",
+            "PT0S, PT0S",
+            "P0D, PT0S",
+            "P99999D, P99999D",
+        })
+        void should_write_canonical_representation(String value, String expected) {
+            EhrDuration duration = new EhrDuration(value);
+            byte[] bytes = new byte[Iso8601Formattable.MAX_LENGTH];
+
+            int end = duration.formatTo(bytes, 0);
+
+            assertThat(new String(bytes, 0, end, StandardCharsets.US_ASCII), equalTo(expected));
+            assertThat(duration.asString(), equalTo(expected));
+        }
+
+        @Test
+        void should_not_exceed_maximum_length() {
+            EhrDuration duration = EhrDuration.of(-1, -Integer.MAX_VALUE, 1);
+
+            byte[] bytes = new byte[Iso8601Formattable.MAX_LENGTH];
+
+            assertThat(duration.formatTo(bytes, 0) <= Iso8601Formattable.MAX_LENGTH, equalTo(true));
+        }
+    }
+
+    @Nested
+    @DisplayName("Primitive accessors")
+    class PrimitiveAccessors {
+
+        @Test
+        void should_be_equal_to_boxed_accessors() {
+            EhrDuration duration = new EhrDuration("P1Y2M3W4DT5H6M7.25S");
+
+            assertThat(duration.yearsAsInt(), equalTo(1));
+            assertThat(duration.monthsAsInt(), equalTo(2));
+            assertThat(duration.weeksAsInt(), equalTo(3));
+            assertThat(duration.daysAsInt(), equalTo(4));
+            assertThat(duration.hoursAsInt(), equalTo(5));
+            assertThat(duration.minutesAsInt(), equalTo(6));
+            assertThat(duration.secondsAsInt(), equalTo(7));
+            assertThat(duration.fractionalSecondsAsNanos(), equalTo(250_000_000));
+            assertThat(duration.nanoAsInt(), equalTo(250_000_000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "P1Y",
+            "P1M",
+            "P1W",
+            "P1D",
+            "PT1H",
+            "PT1M",
+            "PT1S",
+            "PT0,5S",
+            "P1Y2M3W4DT5H6M7.8S",
+        })
+        void should_accept_valid_duration(String value) {
+            new EhrDuration(value);
+            // test passes if no exception occurs
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "",
+            "P",
+            "PT",
+            "P1YT",
+            "1Y",
+            "P1",
+            "PY",
+            "P1H",
+            "PT1D",
+            "P1M1Y",
+            "PT1S1M",
+            "P1Y1Y",
+            "P1.5Y",
+            "PT1.S",
+            "PT.5S",
+            "P1DTT1H",
+            "P99999999999Y",
+            "P1Y ",
+        })
+        void should_reject_invalid_duration(String value) {
+            assertThrows(
+                IllegalArgumentException.class, () -> new EhrDuration(value)
+            );
+        }
+    }
+
     /**
      * @see <a href="https://en.wikipedia.org/wiki/ISO_8601#Durations">wikipedia.org</a>
      */
@@ -26,6 +133,18 @@ class EhrDurationTest {
         assertThat(duration.seconds(), equalTo(5));
     }
 
+    @Test
+    void should_yield_zero_for_missing_values() {
+        Iso8601Duration duration = new EhrDuration("PT30M");
+        assertThat(duration.years(), equalTo(0));
+        assertThat(duration.months(), equalTo(0));
+        assertThat(duration.weeks(), equalTo(0));
+        assertThat(duration.days(), equalTo(0));
+        assertThat(duration.hours(), equalTo(0));
+        assertThat(duration.seconds(), equalTo(0));
+        assertThat(duration.fractionalSeconds(), equalTo(0.0));
+    }
+
     @Test
     void should_disambiguate_month_and_minute() {
         Iso8601Duration duration = new EhrDuration("P12MT42M");
@@ -33,6 +152,36 @@ class EhrDurationTest {
         assertThat(duration.minutes(), equalTo(42));
     }
 
+    @Nested
+    @DisplayName("#parse")
+    class Parse {
+
+        @Test
+        void should_parse_bytes() {
+            byte[] bytes = "P1Y2M3W4DT5H6M7,8S;".getBytes(StandardCharsets.US_ASCII);
+
+            Iso8601Duration duration = EhrDuration.parse(bytes, 0, bytes.length - 1);
+
+            assertThat(duration.getValue(), equalTo("P1Y2M3W4DT5H6M7,8S"));
+            assertThat(duration.weeks(), equalTo(3));
+            assertThat(duration.isDecimalSignComma(), equalTo(true));
+        }
+
+        @Test
+        void should_parse_buffer() {
+            Iso8601Duration duration = EhrDuration.parse(ByteBuffer.wrap("PT42M".getBytes(StandardCharsets.US_ASCII)));
+
+            assertThat(duration.minutes(), equalTo(42));
+        }
+
+        @Test
+        void should_reject_invalid_bytes() {
+            byte[] bytes = "PT1.5M".getBytes(StandardCharsets.US_ASCII);
+
+            assertThrows(IllegalArgumentException.class, () -> EhrDuration.parse(bytes, 0, bytes.length));
+        }
+    }
+
     @Nested
     @DisplayName("#fractionalSeconds")
     class FractionalSeconds {
@@ -57,6 +206,13 @@ class EhrDurationTest {
             assertThat(duration.seconds(), equalTo(42));
             assertThat(duration.fractionalSeconds(), equalTo(0.5));
         }
+
+        @Test
+        void should_parse_fraction_without_rounding_error() {
+            Iso8601Duration duration = new EhrDuration("PT1.1S");
+            assertThat(duration.seconds(), equalTo(1));
+            assertThat(duration.fractionalSeconds(), equalTo(0.1));
+        }
     }
 
     @Nested
@@ -91,4 +247,248 @@ class EhrDurationTest {
             assertThat(duration.isDecimalSignComma(), equalTo(true));
         }
     }
+
+    @Nested
+    @DisplayName("#toSecondsAsLong")
+    class ToSecondsAsLong {
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT0S, 0",
+            "PT1M30.5S, 90",
+            "P1DT1H, 90000",
+            "P2W, 1209600",
+            "P1M, 2629746",
+            "P1Y, 31556952",
+            "-PT1H, -3600",
+        })
+        void should_count_seconds(String value, long seconds) {
+            assertThat(new EhrDuration(value).toSecondsAsLong(), equalTo(seconds));
+        }
+    }
+
+    @Nested
+    @DisplayName("#toSeconds")
+    class ToSeconds {
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT0S, 0",
+            "PT1M30.5S, 90.5",
+            "PT0.000000001S, 0.000000001",
+            "P1M, 2629746",
+            "-PT1H0.25S, -3600.25",
+        })
+        void should_keep_the_nanoseconds(String value, BigDecimal seconds) {
+            EhrReal real = (EhrReal) new EhrDuration(value).toSeconds();
+            assertThat(real.toBigDecimal().compareTo(seconds), equalTo(0));
+        }
+
+        @Test
+        void should_floor_towards_negative_infinity() {
+            assertThat(new EhrDuration("-PT1.5S").toSeconds().floor(), equalTo(-2));
+        }
+    }
+
+    @Nested
+    @DisplayName("#add")
+    class Add {
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT8H, PT30M, PT8H30M",
+            "PT0.7S, PT0.6S, PT1.3S",
+            "P1Y11M, P1M, P2Y",
+            "PT23H, PT1H, P1D",
+            "P1W, P1D, P8D",
+            "P1D, -P1D, PT0S",
+            "PT1S, -PT0.25S, PT0.75S",
+            "-PT1S, PT0.25S, -PT0.75S",
+            "P1M, -P1D, P29DT10H29M6S",
+            "-P1M, PT0.5S, -P30DT10H29M5.5S",
+        })
+        void should_add_durations(String value, String other, String expected) {
+            EhrDuration result = new EhrDuration(value).add(new EhrDuration(other));
+
+            assertThat(result.getValue(), equalTo(expected));
+            assertThat(result.asString(), equalTo(expected));
+            assertThat(new EhrDuration(result.getValue()).compareTo(result), equalTo(0));
+        }
+
+        @Test
+        void should_give_mixed_result_a_single_sign() {
+            EhrDuration result = new EhrDuration("P1M").add(new EhrDuration("-P1D"));
+
+            assertThat(result.toSecondsAsLong(), equalTo(2629746L - 86400L));
+            assertThat(result.months(), equalTo(0));
+            assertThat(result.days(), equalTo(29));
+        }
+
+        @Test
+        void should_provide_fields_of_result() {
+            EhrDuration result = new EhrDuration("P1Y6M").add(new EhrDuration("P7MT36H1.5S"));
+
+            assertThat(result.years(), equalTo(2));
+            assertThat(result.months(), equalTo(1));
+            assertThat(result.days(), equalTo(1));
+            assertThat(result.hours(), equalTo(12));
+            assertThat(result.seconds(), equalTo(1));
+            assertThat(result.fractionalSeconds(), equalTo(0.5));
+        }
+
+        @Test
+        void should_reject_other_type() {
+            var duration = new EhrDuration("P1D");
+
+            assertThrows(IllegalArgumentException.class, () -> duration.add("P1D"));
+        }
+    }
+
+    @Nested
+    @DisplayName("#subtract")
+    class Subtract {
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT8H, PT30M, PT7H30M",
+            "PT1S, PT0.001S, PT0.999S",
+            "P1Y, P1Y, PT0S",
+            "PT1H, PT2H, -PT1H",
+        })
+        void should_subtract_durations(String value, String other, String expected) {
+            EhrDuration result = new EhrDuration(value).subtract(new EhrDuration(other));
+
+            assertThat(result.getValue(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#multiply")
+    class Multiply {
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT8H, 3, P1D",
+            "P1Y2M, 2, P2Y4M",
+            "PT0.1S, 3, PT0.3S",
+            "PT1H, -2, -PT2H",
+        })
+        void should_multiply_with_integer(String value, int factor, String expected) {
+            assertThat(new EhrDuration(value).multiply(factor).getValue(), equalTo(expected));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT8H, 0.5, PT4H",
+            "PT0.1S, 0.1, PT0.01S",
+            "P1Y, 1.5, P1Y6M",
+            "P1M, 0.5, P15DT5H14M33S",
+        })
+        void should_multiply_with_decimal(String value, double factor, String expected) {
+            assertThat(new EhrDuration(value).multiply(factor).getValue(), equalTo(expected));
+        }
+
+        @Test
+        void should_multiply_with_big_decimal() {
+            var result = new EhrDuration("PT1S").multiply(new BigDecimal("0.000000001"));
+
+            assertThat(result.getValue(), equalTo("PT0.000000001S"));
+        }
+
+        @Test
+        void should_reject_other_type() {
+            var duration = new EhrDuration("P1D");
+
+            assertThrows(IllegalArgumentException.class, () -> duration.multiply("2"));
+            assertThrows(IllegalArgumentException.class, () -> duration.multiply(Double.NaN));
+        }
+    }
+
+    @Nested
+    @DisplayName("#divide")
+    class Divide {
+
+        @ParameterizedTest
+        @CsvSource({
+            "P1D, 4, PT6H",
+            "P2Y, 2, P1Y",
+            "PT1S, 3, PT0.333333333S",
+            "PT2S, 3, PT0.666666667S",
+            "P1M, 2, P15DT5H14M33S",
+            "PT1H, 0.5, PT2H",
+        })
+        void should_divide(String value, String divisor, String expected) {
+            Object number = divisor.contains(".") ? Double.valueOf(divisor) : Integer.valueOf(divisor);
+
+            assertThat(new EhrDuration(value).divide(number).getValue(), equalTo(expected));
+        }
+
+        @Test
+        void should_reject_division_by_zero() {
+            var duration = new EhrDuration("P1D");
+
+            assertThrows(ArithmeticException.class, () -> duration.divide(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("#negative")
+    class Negative {
+
+        @Test
+        void should_negate_duration() {
+            EhrDuration result = new EhrDuration("P1DT2.5S").negative();
+
+            assertThat(result.getValue(), equalTo("-P1DT2.5S"));
+            assertThat(result.days(), equalTo(-1));
+            assertThat(result.nanoAsInt(), equalTo(-500_000_000));
+            assertThat(result.negative().getValue(), equalTo("P1DT2.5S"));
+        }
+
+        @Test
+        void should_parse_negative_duration() {
+            EhrDuration duration = new EhrDuration("-PT42M");
+
+            assertThat(duration.minutes(), equalTo(-42));
+            assertThat(duration.getValue(), equalTo("-PT42M"));
+        }
+    }
+
+    @Nested
+    @DisplayName("#lessThan")
+    class LessThan {
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT59M, PT1H",
+            "PT1H, PT1H0.000000001S",
+            "P29D, P1M",
+            "P1M, P31D",
+            "-P1D, PT0S",
+            "P11M, P1Y",
+        })
+        void should_yield_true_for_less_than(String value, String other) {
+            assertThat(new EhrDuration(value).lessThan(new EhrDuration(other)), equalTo(true));
+            assertThat(new EhrDuration(other).greaterThan(new EhrDuration(value)), equalTo(true));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "PT60M, PT1H",
+            "P1W, P7D",
+            "P12M, P1Y",
+        })
+        void should_yield_false_for_equal(String value, String other) {
+            assertThat(new EhrDuration(value).lessThan(new EhrDuration(other)), equalTo(false));
+            assertThat(new EhrDuration(value).lessThanOrEqual(new EhrDuration(other)), equalTo(true));
+            assertThat(new EhrDuration(value).greaterThanOrEqual(new EhrDuration(other)), equalTo(true));
+        }
+
+        @Test
+        void should_reject_other_type() {
+            var duration = new EhrDuration("P1D");
+
+            assertThrows(ComparisonTypeMismatchException.class, () -> duration.lessThan("P1D"));
+        }
+    }
 }
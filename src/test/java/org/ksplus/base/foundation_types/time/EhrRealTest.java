@@ -0,0 +1,95 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class EhrRealTest {
+
+    private static final EhrReal ONE_AND_A_HALF = EhrReal.ofSeconds(1, 500_000_000);
+
+    @Nested
+    @DisplayName("#add")
+    class Add {
+
+        @Test
+        void should_add_reals_and_numbers() {
+            assertThat(ONE_AND_A_HALF.add(ONE_AND_A_HALF).toString(), equalTo("3.0"));
+            assertThat(ONE_AND_A_HALF.add(2).toString(), equalTo("3.5"));
+            assertThat(ONE_AND_A_HALF.add(new BigDecimal("0.25")).toString(), equalTo("1.75"));
+        }
+
+        @Test
+        void should_reject_other_types() {
+            assertThrows(OperandTypeMismatchException.class, () -> ONE_AND_A_HALF.add("1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("#divide")
+    class Divide {
+
+        @Test
+        void should_round_to_decimal128() {
+            assertThat(EhrReal.ofSeconds(1, 0).divide(3).toString(), equalTo("0." + "3".repeat(34)));
+        }
+
+        @Test
+        void should_reject_zero() {
+            assertThrows(ArithmeticException.class, () -> ONE_AND_A_HALF.divide(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("#exponent")
+    class Exponent {
+
+        @Test
+        void should_raise_exactly_to_natural_numbers() {
+            assertThat(ONE_AND_A_HALF.exponent(2), equalTo(EhrReal.ofSeconds(2, 250_000_000)));
+        }
+
+        @Test
+        void should_raise_to_fractions() {
+            assertThat(EhrReal.ofSeconds(4, 0).exponent(0.5), equalTo(EhrReal.ofSeconds(2, 0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("#lessThan")
+    class LessThan {
+
+        @Test
+        void should_compare_with_reals_and_numbers() {
+            assertThat(ONE_AND_A_HALF.lessThan(2), equalTo(true));
+            assertThat(ONE_AND_A_HALF.lessThan(ONE_AND_A_HALF.negative()), equalTo(false));
+            assertThat(ONE_AND_A_HALF.lessThanOrEqual(1.5), equalTo(true));
+            assertThat(ONE_AND_A_HALF.greaterThanOrEqual(1.5), equalTo(true));
+            assertThat(ONE_AND_A_HALF.greaterThan(1.5), equalTo(false));
+        }
+
+        @Test
+        void should_reject_other_types() {
+            assertThrows(ComparisonTypeMismatchException.class, () -> ONE_AND_A_HALF.lessThan("2"));
+        }
+    }
+
+    @Nested
+    @DisplayName("#equals")
+    class Equals {
+
+        @Test
+        void should_ignore_the_scale() {
+            EhrReal two = EhrReal.ofSeconds(2, 0);
+            EhrReal scaled = ONE_AND_A_HALF.add(new BigDecimal("0.500"));
+            assertThat(scaled, equalTo(two));
+            assertThat(scaled.hashCode(), equalTo(two.hashCode()));
+        }
+    }
+}
@@ -4,6 +4,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -64,6 +70,17 @@ class EhrTimeDefinitionsTest {
             assertThat(timeDefinitions.validDay(2000, 1, 0), equalTo(false));
             assertThat(timeDefinitions.validDay(2000, 1, 32), equalTo(false));
             assertThat(timeDefinitions.validDay(2000, 2, 30), equalTo(false));
+            assertThat(timeDefinitions.validDay(2000, 13, 1), equalTo(false));
+            assertThat(timeDefinitions.validDay(2000, 0, 1), equalTo(false));
+        }
+
+        @Test
+        void should_validate_leap_day() {
+            assertThat(timeDefinitions.validDay(2000, 2, 29), equalTo(true));
+            assertThat(timeDefinitions.validDay(2024, 2, 29), equalTo(true));
+            assertThat(timeDefinitions.validDay(1900, 2, 29), equalTo(false));
+            assertThat(timeDefinitions.validDay(2023, 2, 29), equalTo(false));
+            assertThat(timeDefinitions.validDay(12000, 2, 29), equalTo(true));
         }
     }
 
@@ -156,6 +173,9 @@ class EhrTimeDefinitionsTest {
 
             assertThat(timeDefinitions.validIso8601Date("2023-210"), equalTo(true));
             assertThat(timeDefinitions.validIso8601Date("2023210"), equalTo(true));
+            assertThat(timeDefinitions.validIso8601Date("2023-365"), equalTo(true));
+            assertThat(timeDefinitions.validIso8601Date("2024-366"), equalTo(true));
+            assertThat(timeDefinitions.validIso8601Date("2000366"), equalTo(true));
 
             assertThat(timeDefinitions.validIso8601Date("2023"), equalTo(true));
         }
@@ -178,6 +198,10 @@ class EhrTimeDefinitionsTest {
         void should_reject_invalid_iso8601_date() {
             assertThat(timeDefinitions.validIso8601Date("2"), equalTo(false));
             assertThat(timeDefinitions.validIso8601Date("99999"), equalTo(false));
+            assertThat(timeDefinitions.validIso8601Date("2023-366"), equalTo(false));
+            assertThat(timeDefinitions.validIso8601Date("1900366"), equalTo(false));
+            assertThat(timeDefinitions.validIso8601Date("2024-000"), equalTo(false));
+            assertThat(timeDefinitions.validIso8601Date("2024-367"), equalTo(false));
         }
     }
 
@@ -400,10 +424,43 @@ class EhrTimeDefinitionsTest {
             "14:39:22+06a00",
             "14.5.44",
             "16,25:23:48,444",
+            "",
+            "T",
+            "24",
+            "14:60",
+            "14:37:60",
+            "1437:23",
+            "14:37:23+19:00",
+            "14:37:23+02:60",
+            "14:37:23ZZ",
+            "??:37:23",
         })
         void should_reject_invalid_iso_8601_time(String time) {
             assertThat(timeDefinitions.validIso8601Time(time), equalTo(false));
         }
+
+        /**
+         * Values which were accepted before the validation was done by the date/time scanner, which requires two digits
+         * for the hours of an offset, at least one digit after the decimal sign and no seconds in the offset
+         */
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "18+6",
+            "T19-9",
+            "1358+4",
+            "14:37+2",
+            "14:37:23+2",
+            "14:37:23.",
+            "154826.",
+            "013417,",
+            "T14:37:23,",
+            "143723+020000",
+            "14:37:23-05:30:00",
+            "T1437+013000",
+        })
+        void should_reject_iso_8601_time_with_short_offset_empty_fraction_or_offset_seconds(String time) {
+            assertThat(timeDefinitions.validIso8601Time(time), equalTo(false));
+        }
     }
 
     @Nested
@@ -470,6 +527,10 @@ class EhrTimeDefinitionsTest {
             "2009-05-19 14.5.44",
             "2010-02-18T16:23.33.600",
             "2010-02-18T16,25:23:48,444",
+            "2010-02-18T",
+            "2010-02-18TT16:23",
+            "2010-02-18T16:23T17:00",
+            "T16:23",
         })
         void should_reject_invalid_iso_8601_date_time(String dateTime) {
             assertThat(timeDefinitions.validIso8601DateTime(dateTime), equalTo(false));
@@ -496,6 +557,72 @@ class EhrTimeDefinitionsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk validation")
+    class BulkValidation {
+
+        private final EhrTimeDefinitions bulkTimeDefinitions = new EhrTimeDefinitions();
+
+        @Test
+        void should_validate_array_of_dates() {
+            BitSet result = bulkTimeDefinitions.validIso8601Dates(
+                new CharSequence[]{"2023-07-29", "2023-W30", "202307", new StringBuilder("2023-210"), null, "2"}
+            );
+
+            assertThat(result, equalTo(bitSet(0, 2, 3)));
+        }
+
+        @Test
+        void should_validate_list_of_times() {
+            BitSet result = bulkTimeDefinitions.validIso8601Times(new LinkedList<>(List.of("14:37", "24:50", "T1437Z")));
+
+            assertThat(result, equalTo(bitSet(0, 2)));
+        }
+
+        @Test
+        void should_validate_stream_of_date_times() {
+            BitSet result = bulkTimeDefinitions.validIso8601DateTimes(
+                Stream.of("2009-05-19 14:39", "2009-05-19T14:39Z", "2007-04-05T24:50", "20090621T0545Z")
+            );
+
+            assertThat(result, equalTo(bitSet(1, 3)));
+        }
+
+        @Test
+        void should_validate_empty_input() {
+            assertThat(bulkTimeDefinitions.validIso8601Dates(List.of()).isEmpty(), equalTo(true));
+        }
+
+        @Test
+        void should_validate_large_input_in_same_way_as_single_values() {
+            String[] samples = {"2023-07-29", "2023-13-45", "2009-05-19T14:39Z", "14:37:23+02:00", "2009-000", "abc"};
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < 100_003; i++) {
+                values.add(samples[i % samples.length]);
+            }
+
+            BitSet dates = bulkTimeDefinitions.validIso8601Dates(values);
+            BitSet times = bulkTimeDefinitions.validIso8601Times(values);
+            BitSet dateTimes = bulkTimeDefinitions.validIso8601DateTimes(values);
+
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i);
+                assertThat(value, dates.get(i), equalTo(timeDefinitions.validIso8601Date(value)));
+                assertThat(value, times.get(i), equalTo(timeDefinitions.validIso8601Time(value)));
+                assertThat(value, dateTimes.get(i), equalTo(timeDefinitions.validIso8601DateTime(value)));
+            }
+            assertThat(dates.nextSetBit(values.size()), equalTo(-1));
+        }
+
+        private BitSet bitSet(int... indexes) {
+            BitSet result = new BitSet();
+            for (int index : indexes) {
+                result.set(index);
+            }
+            return result;
+        }
+    }
+
     @Nested
     @DisplayName("#xxxx")
     class ValidXxxx {
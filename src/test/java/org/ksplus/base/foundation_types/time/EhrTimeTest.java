@@ -0,0 +1,204 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EhrTimeTest {
+
+    @Nested
+    @DisplayName("Constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @CsvSource({
+            "14:37:23.508, 14, 37, 23, 508000000",
+            "'143723,5+0200', 14, 37, 23, 500000000",
+            "T14:37, 14, 37, 0, 0",
+            "14, 14, 0, 0, 0",
+            "T1237Z, 12, 37, 0, 0",
+            "23:59:59.999999999−18:00, 23, 59, 59, 999999999",
+        })
+        void should_scan_fields(String value, int hour, int minute, int second, int nano) {
+            EhrTime time = new EhrTime(value);
+
+            assertThat(time.hourAsInt(), equalTo(hour));
+            assertThat(time.minuteAsInt(), equalTo(minute));
+            assertThat(time.secondAsInt(), equalTo(second));
+            assertThat(time.nanoAsInt(), equalTo(nano));
+            assertThat(time.getValue(), equalTo(value));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"24:00", "12:60", "12:3", "12:30:00.", "12:30+19:00", "12:30-00:00", "??:30",
+            "12:30:00Z+01", "", "T"})
+        void should_reject_invalid_time(String value) {
+            assertThrows(IllegalArgumentException.class, () -> new EhrTime(value));
+        }
+    }
+
+    @Nested
+    @DisplayName("#parse")
+    class Parse {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"14:37:23,508549+02:00", "143723.5−0200", "T12Z"})
+        void should_parse_same_as_constructor(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            EhrTime fromBytes = EhrTime.parse(bytes, 0, bytes.length);
+            EhrTime fromBuffer = EhrTime.parse(ByteBuffer.wrap(bytes));
+
+            EhrTime expected = new EhrTime(value);
+            assertThat(fromBytes.compareTo(expected), equalTo(0));
+            assertThat(fromBuffer.asString(), equalTo(expected.asString()));
+        }
+
+        @Test
+        void should_reject_invalid_bytes() {
+            byte[] bytes = "14:37:23×02:00".getBytes(StandardCharsets.UTF_8);
+
+            assertThrows(IllegalArgumentException.class, () -> EhrTime.parse(bytes, 0, bytes.length));
+        }
+    }
+
+    @Nested
+    @DisplayName("Accessors")
+    class Accessors {
+
+        @Test
+        void should_flag_declared_parts() {
+            EhrTime time = new EhrTime("14:37:23,5+02");
+
+            assertThat(time.minuteUnknown(), equalTo(false));
+            assertThat(time.secondUnknown(), equalTo(false));
+            assertThat(time.isPartial(), equalTo(false));
+            assertThat(time.isExtended(), equalTo(true));
+            assertThat(time.isDecimalSignComma(), equalTo(true));
+            assertThat(time.hasFractionalSecond(), equalTo(true));
+            assertThat(time.fractionalSecond(), equalTo(0.5));
+            assertThat(time.timezone().getValue(), equalTo("+02"));
+        }
+
+        @Test
+        void should_flag_partial_time() {
+            EhrTime time = new EhrTime("1437");
+
+            assertThat(time.minuteUnknown(), equalTo(false));
+            assertThat(time.secondUnknown(), equalTo(true));
+            assertThat(time.isPartial(), equalTo(true));
+            assertThat(time.isExtended(), equalTo(false));
+            assertThat(time.hasFractionalSecond(), equalTo(false));
+            assertThat(time.timezone(), nullValue());
+        }
+    }
+
+    @Nested
+    @DisplayName("#asString")
+    class AsString {
+
+        @ParameterizedTest
+        @CsvSource({
+            "'143723,5+0200', 14:37:23.5+02:00",
+            "T1237Z, 12:37Z",
+            "14, 14",
+            "14:37:23.000, 14:37:23.0",
+            "14:37:23−03, 14:37:23-03:00",
+        })
+        void should_write_canonical_representation(String value, String expected) {
+            assertThat(new EhrTime(value).asString(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#add")
+    class Add {
+
+        @ParameterizedTest
+        @CsvSource({
+            "14:37:23, PT1H, 15:37:23",
+            "23:30, PT45M, 00:15",
+            "23:30, PT30S, 23:30",
+            "14:37:23, PT0.25S, 14:37:23.25",
+            "14:37:23Z, P1DT1S, 14:37:24Z",
+            "00:00:00, -PT1S, 23:59:59",
+        })
+        void should_add_duration(String time, String duration, String expected) {
+            assertThat(new EhrTime(time).add(new EhrDuration(duration)).getValue(), equalTo(expected));
+        }
+
+        @Test
+        void should_reject_other_operand() {
+            EhrTime time = new EhrTime("14:37");
+
+            assertThrows(IllegalArgumentException.class, () -> time.add("PT1H"));
+        }
+    }
+
+    @Nested
+    @DisplayName("#subtract")
+    class Subtract {
+
+        @ParameterizedTest
+        @CsvSource({
+            "14:37:23, PT1H, 13:37:23",
+            "00:15, PT30M, 23:45",
+            "14:37:23.25, PT0.5S, 14:37:22.75",
+        })
+        void should_subtract_duration(String time, String duration, String expected) {
+            assertThat(new EhrTime(time).subtract(new EhrDuration(duration)).getValue(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#diff")
+    class Diff {
+
+        @ParameterizedTest
+        @CsvSource({
+            "14:37:23, 13:37:23, PT1H",
+            "13:37:23, 14:37:23, -PT1H",
+            "14:00+02:00, 12:00Z, PT0S",
+            "14:37:23.5, 14:37:23.25, PT0.25S",
+        })
+        void should_calculate_difference(String time, String other, String expected) {
+            assertThat(new EhrTime(time).diff(new EhrTime(other)).getValue(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("#compareTo")
+    class CompareTo {
+
+        @ParameterizedTest
+        @CsvSource({
+            "12:00, 12:00:01, -1",
+            "14:00+02:00, 12:00Z, 0",
+            "14:00+02:00, 12:30Z, -1",
+            "12, 12:00, -1",
+            "12:00, 12:00:00, -1",
+            "12:00:00.5, 12:00:00, 1",
+        })
+        void should_order_times_chronologically(String time, String other, int expected) {
+            assertThat(Integer.signum(new EhrTime(time).compareTo(new EhrTime(other))), equalTo(expected));
+        }
+
+        @Test
+        void should_reject_comparison_with_other_type() {
+            EhrTime time = new EhrTime("12:00");
+
+            assertThrows(ComparisonTypeMismatchException.class, () -> time.lessThan(new EhrDate("2023-07-28")));
+        }
+    }
+}
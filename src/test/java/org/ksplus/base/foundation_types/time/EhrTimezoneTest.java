@@ -3,17 +3,205 @@ package org.ksplus.base.foundation_types.time;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.openehr.base.foundation_types.time.Iso8601Timezone;
 
 class EhrTimezoneTest {
 
+    @Nested
+    @DisplayName("#formatTo")
+    class FormatTo {
+
+        @ParameterizedTest
+        @CsvSource({
+            "−0330, -03:30",
+            "+14, +14:00",
+            "Z, +00:00",
+        })
+        void should_write_canonical_representation(String value, String expected) {
+            EhrTimezone timezone = new EhrTimezone(value);
+            StringBuilder builder = new StringBuilder();
+
+            timezone.formatTo(builder);
+
+            assertThat(builder.toString(), equalTo(expected));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "UTC, UTC",
+            "+05:30:00, +05:30:00",
+            "−01:00:00, -01:00:00",
+        })
+        void should_write_declared_value_if_not_an_offset_of_hours_and_minutes(String value, String expected) {
+            assertThat(new EhrTimezone(value).asString(), equalTo(expected));
+            assertThat(EhrTimezone.of(value).asString(), equalTo(expected));
+        }
+    }
+
+    @Nested
+    @DisplayName("Primitive accessors")
+    class PrimitiveAccessors {
+
+        @ParameterizedTest
+        @CsvSource({
+            "+02:00, 2, 0, 1, 120",
+            "−0330, 3, 30, -1, -210",
+            "-05, 5, 0, -1, -300",
+            "Z, 0, 0, 1, 0",
+        })
+        void should_be_equal_to_boxed_accessors(String value, int hour, int minute, int sign, int offsetMinutes) {
+            EhrTimezone timezone = new EhrTimezone(value);
+
+            assertThat(timezone.hourAsInt(), equalTo(hour));
+            assertThat(timezone.minuteAsInt(), equalTo(minute));
+            assertThat(timezone.signAsInt(), equalTo(sign));
+            assertThat(timezone.offsetMinutesAsInt(), equalTo(offsetMinutes));
+            assertThat(timezone.hour(), equalTo(hour));
+            assertThat(timezone.minute(), equalTo(minute));
+            assertThat(timezone.sign(), equalTo(sign));
+            assertThat(timezone.minuteUnknownAsBoolean(), equalTo(value.length() == 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("#of")
+    class Of {
+
+        @ParameterizedTest
+        @CsvSource({"+02:00", "-03:30", "+0530", "-0300", "+14", "-11", "+18:00", "-18:00"})
+        void should_share_instance_for_same_value(String value) {
+            EhrTimezone timezone = EhrTimezone.of(value);
+
+            assertThat(EhrTimezone.of(value), sameInstance(timezone));
+            assertThat(timezone.getValue(), equalTo(value));
+        }
+
+        @Test
+        void should_share_instance_for_Z_and_zero_offset() {
+            assertThat(EhrTimezone.of("Z"), sameInstance(EhrTimezone.of("+00:00")));
+            assertThat(EhrTimezone.of("Z").getValue(), equalTo("+00:00"));
+        }
+
+        @Test
+        void should_keep_format_of_value() {
+            assertThat(EhrTimezone.of("+0200").isExtended(), equalTo(false));
+            assertThat(EhrTimezone.of("+02:00").isExtended(), equalTo(true));
+            assertThat(EhrTimezone.of("+02").minuteUnknown(), equalTo(true));
+        }
+
+        @Test
+        void should_accept_unicode_minus_sign() {
+            EhrTimezone timezone = EhrTimezone.of("−04:00");
+
+            assertThat(timezone.sign(), equalTo(-1));
+            assertThat(timezone.hour(), equalTo(4));
+        }
+
+        @ParameterizedTest
+        @CsvSource({"+19:00", "+18:30", "-00:00", "-0000", "-00", "+05:60", "+05-30", "abc", "''"})
+        void should_reject_invalid_value(String value) {
+            assertThrows(IllegalArgumentException.class, () -> EhrTimezone.of(value));
+        }
+
+        @Test
+        void should_reject_null() {
+            assertThrows(IllegalArgumentException.class, () -> EhrTimezone.of(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("#parse")
+    class Parse {
+
+        @Test
+        void should_share_instance_with_string_value() {
+            byte[] bytes = "T+05:30".getBytes(StandardCharsets.UTF_8);
+
+            assertThat(EhrTimezone.parse(bytes, 1, 6), sameInstance(EhrTimezone.of("+05:30")));
+            assertThat(EhrTimezone.parse(ByteBuffer.wrap(bytes, 1, 6)), sameInstance(EhrTimezone.of("+05:30")));
+        }
+
+        @Test
+        void should_parse_unicode_minus_sign() {
+            byte[] bytes = "−03:00".getBytes(StandardCharsets.UTF_8);
+
+            EhrTimezone timezone = EhrTimezone.parse(bytes, 0, bytes.length);
+
+            assertThat(timezone.getValue(), equalTo("−03:00"));
+            assertThat(timezone.sign(), equalTo(-1));
+        }
+
+        @Test
+        void should_reject_invalid_bytes() {
+            byte[] bytes = "+19:00".getBytes(StandardCharsets.UTF_8);
+
+            assertThrows(IllegalArgumentException.class, () -> EhrTimezone.parse(bytes, 0, bytes.length));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"+0é:00", "+é1", "−0é:00", "é", "Europé/Berlin"})
+        void should_reject_non_ascii_bytes(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            assertThrows(IllegalArgumentException.class, () -> EhrTimezone.parse(bytes, 0, bytes.length));
+            assertThrows(IllegalArgumentException.class, () -> EhrTimezone.parse(ByteBuffer.wrap(bytes)));
+        }
+    }
+
+    @Nested
+    @DisplayName("#tryParse")
+    class TryParse {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"Z", "+05:30", "+0530", "+05", "-12:00", "−03:00", "+18:00", "UTC", "+01:00:00"})
+        void should_parse_same_as_of(String value) {
+            ParseResult<EhrTimezone> result = EhrTimezone.tryParse(value);
+
+            assertThat(result.isValid(), equalTo(true));
+            assertThat(result.value().getValue(), equalTo(EhrTimezone.of(value).getValue()));
+        }
+
+        @Test
+        void should_share_instance() {
+            assertThat(EhrTimezone.tryParse("+05:30").value(), sameInstance(EhrTimezone.of("+05:30")));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "'', INVALID_FORMAT, 0",
+            "+19:00, OUT_OF_RANGE, 1",
+            "+18:30, OUT_OF_RANGE, 4",
+            "+05:60, OUT_OF_RANGE, 4",
+            "-00:00, OUT_OF_RANGE, 4",
+            "-00, OUT_OF_RANGE, 1",
+            "+05-30, INVALID_FORMAT, 3",
+            "+05:3, INVALID_FORMAT, 4",
+            "Z1, INVALID_FORMAT, 1",
+            "abc, INVALID_FORMAT, 0",
+            "−19:00, OUT_OF_RANGE, 1",
+        })
+        void should_report_error(String value, ParseError error, int errorIndex) {
+            ParseResult<EhrTimezone> result = EhrTimezone.tryParse(value);
+
+            assertThat(result.isValid(), equalTo(false));
+            assertThat(result.error(), equalTo(error));
+            assertThat(result.errorIndex(), equalTo(errorIndex));
+            assertThrows(IllegalArgumentException.class, () -> EhrTimezone.of(value));
+        }
+    }
+
     @Nested
     @DisplayName("#hour")
     class Hour {
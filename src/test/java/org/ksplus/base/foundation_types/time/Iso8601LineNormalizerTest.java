@@ -0,0 +1,158 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class Iso8601LineNormalizerTest {
+
+    private static String normalize(Iso8601LineNormalizer normalizer, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        normalizer.normalize(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("#normalize")
+    class Normalize {
+
+        @ParameterizedTest
+        @CsvSource({
+            "20230728, 2023-07-28",
+            "202307, 2023-07",
+            "2023, 2023",
+            "2023-02-29, 2023-02-29",
+            "2023-210, 2023-07-29",
+            "2024366, 2024-12-31",
+            "2023-366, 2023-366",
+        })
+        void should_normalize_dates(String value, String expected) throws IOException {
+            assertThat(normalize(Iso8601LineNormalizer.forDates(), value), equalTo(expected));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "'20230728T162234,5+0200', 2023-07-28T16:22:34.5+02:00",
+            "2023-07-28T16Z, 2023-07-28T16Z",
+            "2023-07-28T1622−03, 2023-07-28T16:22-03:00",
+            "2023-07-28, 2023-07-28",
+            "2023-07-28T25, 2023-07-28T25",
+            "2023-209T16:22Z, 2023-07-28T16:22Z",
+            "2023-??-28, 2023-??-28",
+        })
+        void should_normalize_date_times(String value, String expected) throws IOException {
+            assertThat(normalize(Iso8601LineNormalizer.forDateTimes(), value), equalTo(expected));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "T162234.500, 16:22:34.5",
+            "1622+01, 16:22+01:00",
+            "16:60, 16:60",
+        })
+        void should_normalize_times(String value, String expected) throws IOException {
+            assertThat(normalize(Iso8601LineNormalizer.forTimes(), value), equalTo(expected));
+        }
+
+        @Test
+        void should_keep_lines_and_terminators() throws IOException {
+            String input = "20230728\r\n\ninvalid\n2023-07\n";
+
+            String output = normalize(Iso8601LineNormalizer.forDates(), input);
+
+            assertThat(output, equalTo("2023-07-28\r\n\ninvalid\n2023-07\n"));
+        }
+
+        @Test
+        void should_write_default_offset_for_values_with_time() throws IOException {
+            Iso8601LineNormalizer normalizer = Iso8601LineNormalizer.forDateTimes().withDefaultOffset(-90);
+
+            String output = normalize(normalizer, "20230728T1622\n2023-07-28\n2023-07-28T16:22Z\n");
+
+            assertThat(output, equalTo("2023-07-28T16:22-01:30\n2023-07-28\n2023-07-28T16:22Z\n"));
+        }
+
+        @Test
+        void should_handle_lines_across_buffers() throws IOException {
+            StringBuilder input = new StringBuilder();
+            StringBuilder expected = new StringBuilder();
+            for (int day = 1; day <= 28; day++) {
+                input.append(String.format("202302%02dT1622+0100\n", day));
+                expected.append(String.format("2023-02-%02dT16:22+01:00\n", day));
+            }
+            Iso8601LineNormalizer normalizer = Iso8601LineNormalizer.forDateTimes().withBufferSize(100);
+
+            assertThat(normalize(normalizer, input.toString()), equalTo(expected.toString()));
+        }
+
+        @Test
+        void should_write_overlong_line_unchanged() throws IOException {
+            String overlong = "2".repeat(250);
+            String input = "2023\n" + overlong + "\n20230728\n" + overlong;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Iso8601LineNormalizer normalizer = Iso8601LineNormalizer.forDates().withBufferSize(100);
+
+            Iso8601LineNormalizer.Statistics statistics =
+                normalizer.normalize(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8),
+                equalTo("2023\n" + overlong + "\n2023-07-28\n" + overlong));
+            assertThat(statistics.lines(), equalTo(4L));
+            assertThat(statistics.invalid(), equalTo(2L));
+            assertThat(statistics.firstInvalidLine(), equalTo(2L));
+        }
+
+        @Test
+        void should_count_formats() throws IOException {
+            String input = "2023-07-28T16:22:34Z\n20230728T162234\n2023-07-28T16+02\n\n2023-13\n2023-07";
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            Iso8601LineNormalizer.Statistics statistics = Iso8601LineNormalizer.forDateTimes()
+                .normalize(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+                    Channels.newChannel(out));
+
+            assertThat(statistics.lines(), equalTo(6L));
+            assertThat(statistics.empty(), equalTo(1L));
+            assertThat(statistics.valid(), equalTo(4L));
+            assertThat(statistics.invalid(), equalTo(1L));
+            assertThat(statistics.firstInvalidLine(), equalTo(5L));
+            assertThat(statistics.basic(), equalTo(1L));
+            assertThat(statistics.extended(), equalTo(3L));
+            assertThat(statistics.partial(), equalTo(2L));
+            assertThat(statistics.withTimezone(), equalTo(2L));
+        }
+
+        @Test
+        void should_handle_empty_input() throws IOException {
+            assertThat(normalize(Iso8601LineNormalizer.forDates(), ""), equalTo(""));
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration")
+    class Configuration {
+
+        @Test
+        void should_reject_small_buffer() {
+            assertThrows(IllegalArgumentException.class, () -> Iso8601LineNormalizer.forDates().withBufferSize(99));
+        }
+
+        @Test
+        void should_reject_offset_out_of_range() {
+            assertThrows(IllegalArgumentException.class,
+                () -> Iso8601LineNormalizer.forDateTimes().withDefaultOffset(18 * 60 + 1));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IsoCalendarTest {
+
+    @Nested
+    @DisplayName("#isLeapYear")
+    class IsLeapYear {
+
+        @Test
+        void should_match_java_time_for_all_years() {
+            for (int year = 0; year <= 12_000; year++) {
+                assertThat("Year " + year, IsoCalendar.isLeapYear(year), equalTo(Year.isLeap(year)));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("#isValidDate")
+    class IsValidDate {
+
+        @ParameterizedTest
+        @CsvSource({"2024, 2, 29", "2000, 2, 29", "2023, 12, 31", "0, 1, 1", "9999, 12, 31"})
+        void should_accept_valid_date(int year, int month, int day) {
+            assertThat(IsoCalendar.isValidDate(year, month, day), equalTo(true));
+        }
+
+        @ParameterizedTest
+        @CsvSource({"2023, 2, 29", "1900, 2, 29", "2023, 4, 31", "2023, 0, 1", "2023, 13, 1", "2023, 1, 0"})
+        void should_reject_invalid_date(int year, int month, int day) {
+            assertThat(IsoCalendar.isValidDate(year, month, day), equalTo(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Epoch day conversion")
+    class EpochDay {
+
+        @Test
+        void should_match_java_time_for_all_days() {
+            for (long epochDay = IsoCalendar.MIN_EPOCH_DAY; epochDay <= IsoCalendar.MAX_EPOCH_DAY; epochDay++) {
+                LocalDate expected = LocalDate.ofEpochDay(epochDay);
+                long fields = IsoCalendar.ofEpochDay(epochDay);
+                int year = PackedDateTime.year(fields);
+                int month = PackedDateTime.month(fields);
+                int day = PackedDateTime.day(fields);
+
+                if (year != expected.getYear() || month != expected.getMonthValue() || day != expected.getDayOfMonth()
+                    || IsoCalendar.epochDay(year, month, day) != epochDay
+                    || IsoCalendar.dayOfYear(year, month, day) != expected.getDayOfYear()
+                    || IsoCalendar.dayOfWeek(epochDay) != expected.getDayOfWeek().getValue()) {
+                    throw new AssertionError("Mismatch for " + expected);
+                }
+            }
+        }
+
+        @Test
+        void should_cover_openehr_years() {
+            assertThat(IsoCalendar.MIN_EPOCH_DAY, equalTo(LocalDate.of(0, 1, 1).toEpochDay()));
+            assertThat(IsoCalendar.MAX_EPOCH_DAY, equalTo(LocalDate.of(9999, 12, 31).toEpochDay()));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {10_000, 10_001, 12_345, 99_999})
+        void should_calculate_years_outside_of_tables(int year) {
+            assertThat(IsoCalendar.epochDay(year, 3, 1), equalTo(LocalDate.of(year, 3, 1).toEpochDay()));
+        }
+
+        @Test
+        void should_convert_ordinal_dates() {
+            for (int year : new int[]{1900, 2000, 2023, 2024}) {
+                for (int dayOfYear = 1; dayOfYear <= IsoCalendar.lengthOfYear(year); dayOfYear++) {
+                    LocalDate expected = LocalDate.ofYearDay(year, dayOfYear);
+                    long fields = IsoCalendar.ofDayOfYear(year, dayOfYear);
+
+                    assertThat(PackedDateTime.month(fields), equalTo(expected.getMonthValue()));
+                    assertThat(PackedDateTime.day(fields), equalTo(expected.getDayOfMonth()));
+                }
+            }
+        }
+
+        @Test
+        void should_convert_day_of_year() {
+            assertThat(IsoCalendar.epochDayOfYear(2024, 366), equalTo(LocalDate.of(2024, 12, 31).toEpochDay()));
+            assertThat(IsoCalendar.epochDayOfYear(2023, 60), equalTo(LocalDate.of(2023, 3, 1).toEpochDay()));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ParseCacheTest {
+
+    @Nested
+    @DisplayName("#get")
+    class Get {
+
+        @Test
+        void should_return_same_instance_for_same_value() {
+            ParseCache<EhrDateTime> cache = ParseCache.forDateTimes(4);
+
+            EhrDateTime first = cache.get("2023-07-28T16:22:34Z");
+            EhrDateTime second = cache.get(new String("2023-07-28T16:22:34Z"));
+
+            assertThat(second, sameInstance(first));
+            assertThat(cache.hitCount(), equalTo(1L));
+            assertThat(cache.missCount(), equalTo(1L));
+        }
+
+        @Test
+        void should_parse_with_type_of_cache() {
+            assertThat(ParseCache.forDates(1).get("2023-07-28").getValue(), equalTo("2023-07-28"));
+            assertThat(ParseCache.forDurations(1).get("P1D").daysAsInt(), equalTo(1));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"2023-02-29", "P1X", ""})
+        void should_not_cache_invalid_value(String value) {
+            ParseCache<EhrDuration> cache = ParseCache.forDurations(4);
+
+            assertThrows(IllegalArgumentException.class, () -> cache.get(value));
+            assertThrows(IllegalArgumentException.class, () -> cache.get(value));
+            assertThat(cache.size(), equalTo(0));
+            assertThat(cache.missCount(), equalTo(2L));
+        }
+
+        @Test
+        void should_evict_value_which_has_not_been_hit() {
+            ParseCache<EhrDate> cache = ParseCache.forDates(2);
+            EhrDate hit = cache.get("2023-07-28");
+            EhrDate notHit = cache.get("2023-07-29");
+            cache.get("2023-07-28");
+
+            cache.get("2023-07-30");
+
+            assertThat(cache.size(), equalTo(2));
+            assertThat(cache.get("2023-07-28"), sameInstance(hit));
+            assertThat(cache.get("2023-07-29"), not(sameInstance(notHit)));
+        }
+
+        @Test
+        void should_not_exceed_capacity() {
+            ParseCache<EhrDate> cache = ParseCache.forDates(3);
+
+            for (int day = 1; day <= 28; day++) {
+                cache.get(String.format("2023-02-%02d", day));
+            }
+
+            assertThat(cache.size(), equalTo(3));
+            assertThat(cache.capacity(), equalTo(3));
+        }
+
+        @Test
+        void should_return_same_instance_to_racing_threads() {
+            ParseCache<EhrDateTime> cache = ParseCache.forDateTimes(8);
+            List<CompletableFuture<EhrDateTime>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> cache.get("2023-07-28T16:22:34Z")));
+            }
+
+            EhrDateTime expected = cache.get("2023-07-28T16:22:34Z");
+            for (CompletableFuture<EhrDateTime> future : futures) {
+                assertThat(future.join(), sameInstance(expected));
+            }
+            assertThat(cache.hitCount() + cache.missCount(), equalTo(9L));
+        }
+
+        @Test
+        void should_reject_non_positive_capacity() {
+            assertThrows(IllegalArgumentException.class, () -> ParseCache.forDates(0));
+        }
+    }
+}
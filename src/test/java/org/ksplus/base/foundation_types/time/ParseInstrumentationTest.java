@@ -0,0 +1,189 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class ParseInstrumentationTest {
+
+    @Nested
+    @DisplayName("#setMetrics")
+    class SetMetrics {
+
+        @Test
+        void should_report_parsed_values_by_type() {
+            ParseStatistics statistics = new ParseStatistics();
+            ParseInstrumentation.setMetrics(statistics);
+            try {
+                new EhrDate("2023-07-28");
+                new EhrTime("16:22");
+                new EhrDateTime("2023-07-28T16:22");
+                EhrDateTime.parse(new byte[] {'2', '0', '2', '3'}, 0, 4);
+                new EhrDuration("P1D");
+                EhrTimezone.of("+02:00");
+                new EhrTimezone("Z");
+            } finally {
+                ParseInstrumentation.setMetrics(null);
+            }
+
+            assertThat(statistics.parsedCount(ParseMetrics.Type.DATE), equalTo(1L));
+            assertThat(statistics.parsedCount(ParseMetrics.Type.TIME), equalTo(1L));
+            assertThat(statistics.parsedCount(ParseMetrics.Type.DATE_TIME), equalTo(2L));
+            assertThat(statistics.parsedCount(ParseMetrics.Type.DURATION), equalTo(1L));
+            assertThat(statistics.parsedCount(ParseMetrics.Type.TIMEZONE), equalTo(2L));
+        }
+
+        @Test
+        void should_report_timezones_once() {
+            ParseStatistics statistics = new ParseStatistics();
+            ParseInstrumentation.setMetrics(statistics);
+            try {
+                EhrTimezone.of("Europe/Berlin");
+                EhrTimezone.of("+0530");
+                assertThrows(IllegalArgumentException.class, () -> EhrTimezone.of("+25:00"));
+                EhrTimezone.tryParse("UTC");
+            } finally {
+                ParseInstrumentation.setMetrics(null);
+            }
+
+            assertThat(statistics.parsedCount(ParseMetrics.Type.TIMEZONE), equalTo(2L));
+            assertThat(statistics.failedCount(ParseMetrics.Type.TIMEZONE), equalTo(1L));
+        }
+
+        @Test
+        void should_not_report_timezone_of_date_separately() {
+            ParseStatistics statistics = new ParseStatistics();
+            ParseInstrumentation.setMetrics(statistics);
+            try {
+                new EhrDate("2020-01-01TEurope/Berlin");
+                assertThrows(IllegalArgumentException.class, () -> new EhrDate("2020-01-01T+25:00"));
+            } finally {
+                ParseInstrumentation.setMetrics(null);
+            }
+
+            assertThat(statistics.parsedCount(ParseMetrics.Type.DATE), equalTo(1L));
+            assertThat(statistics.failedCount(ParseMetrics.Type.DATE), equalTo(1L));
+            assertThat(statistics.parsedCount(ParseMetrics.Type.TIMEZONE), equalTo(0L));
+            assertThat(statistics.failedCount(ParseMetrics.Type.TIMEZONE), equalTo(0L));
+        }
+
+        @Test
+        void should_not_report_lazy_values() {
+            ParseStatistics statistics = new ParseStatistics();
+            ParseInstrumentation.setMetrics(statistics);
+            try {
+                EhrDateTime.lazy("2023-07-28T16:22").hour();
+                assertThrows(IllegalArgumentException.class, () -> EhrDateTime.lazy("2023-07-28T25").hour());
+            } finally {
+                ParseInstrumentation.setMetrics(null);
+            }
+
+            assertThat(statistics.parsedCount(ParseMetrics.Type.DATE_TIME), equalTo(0L));
+            assertThat(statistics.failedCount(ParseMetrics.Type.DATE_TIME), equalTo(0L));
+        }
+
+        @Test
+        void should_report_failures_with_exception() {
+            ParseStatistics statistics = new ParseStatistics();
+            ParseInstrumentation.setMetrics(statistics);
+            try {
+                assertThrows(IllegalArgumentException.class, () -> new EhrDate("2023-02-30"));
+                assertThrows(IllegalArgumentException.class, () -> new EhrDateTime("2023-07-28T25"));
+                assertThrows(IllegalArgumentException.class, () -> new EhrDuration("P"));
+                assertThrows(IllegalArgumentException.class, () -> new EhrTime("24:00"));
+            } finally {
+                ParseInstrumentation.setMetrics(null);
+            }
+
+            assertThat(statistics.failedCount(ParseMetrics.Type.DATE), equalTo(1L));
+            assertThat(statistics.failedCount(ParseMetrics.Type.DATE_TIME), equalTo(1L));
+            assertThat(statistics.parsedCount(ParseMetrics.Type.DATE), equalTo(0L));
+            assertThat(statistics.failuresByException(), equalTo(Map.of("DateFormatException", 1L,
+                "IllegalArgumentException", 1L, "DurationFormatException", 1L, "TimeFormatException", 1L)));
+        }
+
+        @Test
+        void should_not_report_after_removal() {
+            ParseStatistics statistics = new ParseStatistics();
+            ParseInstrumentation.setMetrics(statistics);
+            ParseInstrumentation.setMetrics(null);
+
+            new EhrDate("2023-07-28");
+
+            assertThat(statistics.parsedCount(ParseMetrics.Type.DATE), equalTo(0L));
+            assertThat(ParseInstrumentation.getMetrics(), equalTo(null));
+        }
+
+        @Test
+        void should_not_measure_time_for_untimed_hook() {
+            List<Long> times = new ArrayList<>();
+            ParseInstrumentation.setMetrics(new ParseMetrics() {
+                @Override
+                public void parsed(Type type, int length, long nanos) {
+                    times.add(nanos);
+                }
+
+                @Override
+                public void failed(Type type, int length, long nanos, RuntimeException exception) {
+                    times.add(nanos);
+                }
+
+                @Override
+                public boolean timed() {
+                    return false;
+                }
+            });
+            try {
+                new EhrDuration("PT1H");
+            } finally {
+                ParseInstrumentation.setMetrics(null);
+            }
+
+            assertThat(times, equalTo(List.of(-1L)));
+        }
+    }
+
+    @Nested
+    @DisplayName("JFR event")
+    class JfrEvent {
+
+        @Test
+        void should_record_event_while_enabled(@TempDir Path directory) throws IOException {
+            Path file = directory.resolve("parse.jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("org.ksplus.time.Parse");
+                recording.start();
+                new EhrDateTime("20230728T1622");
+                assertThrows(IllegalArgumentException.class, () -> new EhrDate("2023-13"));
+                recording.stop();
+                recording.dump(file);
+            }
+            new EhrDate("2023-07-28");
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            assertThat(events.size(), equalTo(2));
+            assertThat(events.get(0).getString("type"), equalTo("DATE_TIME"));
+            assertThat(events.get(0).getInt("length"), equalTo(13));
+            assertThat(events.get(0).getString("format"), equalTo("basic"));
+            assertThat(events.get(1).getString("type"), equalTo("DATE"));
+            assertThat(events.get(1).getString("failure"),
+                equalTo("Value does not look like a valid date: 2023-13"));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.ksplus.base.foundation_types.time;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ParseStatisticsTest {
+
+    @Nested
+    @DisplayName("#histogram")
+    class Histogram {
+
+        @ParameterizedTest
+        @CsvSource({
+            "0, 0",
+            "1, 1",
+            "2, 2",
+            "3, 2",
+            "1000, 10",
+            "1024, 11",
+            "9223372036854775807, 63",
+        })
+        void should_count_time_in_power_of_two_bucket(long nanos, int bucket) {
+            ParseStatistics statistics = new ParseStatistics();
+
+            statistics.parsed(ParseMetrics.Type.DATE, 10, nanos);
+
+            long[] expected = new long[Long.SIZE];
+            expected[bucket] = 1;
+            assertThat(statistics.histogram(ParseMetrics.Type.DATE), equalTo(expected));
+            assertThat(statistics.histogram(ParseMetrics.Type.TIME), equalTo(new long[Long.SIZE]));
+        }
+
+        @Test
+        void should_only_count_value_which_has_not_been_timed() {
+            ParseStatistics statistics = new ParseStatistics();
+
+            statistics.failed(ParseMetrics.Type.DURATION, 1, -1, new DurationFormatException("P"));
+
+            assertThat(statistics.failedCount(ParseMetrics.Type.DURATION), equalTo(1L));
+            assertThat(statistics.histogram(ParseMetrics.Type.DURATION), equalTo(new long[Long.SIZE]));
+        }
+    }
+}